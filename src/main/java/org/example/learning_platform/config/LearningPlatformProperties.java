@@ -0,0 +1,105 @@
+package org.example.learning_platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "learning-platform")
+public class LearningPlatformProperties {
+
+    private final CourseCache courseCache = new CourseCache();
+    private final ResponseCache responseCache = new ResponseCache();
+    private final UserCache userCache = new UserCache();
+    private final AnswerKeyCache answerKeyCache = new AnswerKeyCache();
+    private final Seats seats = new Seats();
+    private final Jobs jobs = new Jobs();
+    private final Ingestion ingestion = new Ingestion();
+    private final Content content = new Content();
+    private final Grading grading = new Grading();
+
+    @Data
+    public static class CourseCache {
+        // Maximum number of cached course DTOs
+        private long maximumSize = 10_000;
+        // Maximum number of cached per-category/teacher ID lists
+        private long maximumListCount = 1_000;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class ResponseCache {
+        // Maximum number of cached serialized responses
+        private long maximumSize = 10_000;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class UserCache {
+        // Maximum number of cached user roles and names
+        private long maximumSize = 100_000;
+        private Duration expireAfterWrite = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class AnswerKeyCache {
+        // Maximum number of compiled quiz answer keys
+        private long maximumSize = 10_000;
+    }
+
+    @Data
+    public static class Seats {
+        // Atomics per in-memory seat counter
+        private int counterStripes = 8;
+        // In-memory counters are reloaded from the database at least this often
+        private Duration counterExpireAfterWrite = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Jobs {
+        // Rows read per keyset query and processed per transaction
+        private int chunkSize = 1_000;
+        // Chunks processed concurrently
+        private int parallelism = 2;
+        // ACTIVE enrollments without activity for this long are dropped
+        private Duration enrollmentExpireAfter = Duration.ofDays(180);
+    }
+
+    @Data
+    public static class Ingestion {
+        // When set, POST /api/assignments/{id}/submit queues the submission and answers 202
+        private boolean enabled = false;
+        private int queueCapacity = 10_000;
+        // A batch is written once it has this many submissions or is flushInterval old
+        private int batchSize = 200;
+        private Duration flushInterval = Duration.ofMillis(5);
+        // How long a request waits for queue space before it is turned away with 503
+        private Duration offerTimeout = Duration.ofMillis(100);
+        // How long the status of a tracking ID can be looked up
+        private Duration trackingExpireAfter = Duration.ofHours(1);
+        // Tracking IDs kept at most; beyond it some are forgotten before they expire
+        private long trackingMaxSize = 100_000;
+        // Assignment -> course lookups used to validate queued submissions
+        private long assignmentCacheMaxSize = 100_000;
+        private Duration assignmentCacheExpireAfter = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Content {
+        // Segment files of the submission content store
+        private Path directory = Path.of("data", "content");
+        // A new segment is started once the current one would exceed this size
+        private DataSize segmentSize = DataSize.ofMegabytes(256);
+        // Largest accepted submission body, UTF-8 encoded
+        private DataSize maxSize = DataSize.ofMegabytes(1);
+    }
+
+    @Data
+    public static class Grading {
+        // How long a claimed submission stays reserved for its grader
+        private Duration leaseDuration = Duration.ofMinutes(10);
+    }
+}
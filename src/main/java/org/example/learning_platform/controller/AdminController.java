@@ -0,0 +1,39 @@
+package org.example.learning_platform.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.dto.CacheStatsDTO;
+import org.example.learning_platform.dto.JobRunDTO;
+import org.example.learning_platform.service.ChunkedJobRunner;
+import org.example.learning_platform.service.CourseCache;
+import org.example.learning_platform.service.CourseStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final CourseStatsService statsService;
+    private final CourseCache courseCache;
+    private final ChunkedJobRunner jobRunner;
+
+    @PostMapping("/course-stats/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildCourseStats() {
+        return ResponseEntity.ok(Map.of("rebuiltCourses", statsService.rebuildAll()));
+    }
+
+    @GetMapping("/caches/courses")
+    public ResponseEntity<List<CacheStatsDTO>> getCourseCacheStats() {
+        return ResponseEntity.ok(courseCache.stats());
+    }
+
+    // Runs a batch job now, resuming from its checkpoint if the last run stopped early
+    @PostMapping("/jobs/{name}/run")
+    public ResponseEntity<JobRunDTO> runJob(@PathVariable String name) {
+        return ResponseEntity.ok(jobRunner.run(name));
+    }
+}
@@ -6,13 +6,22 @@ import org.example.learning_platform.dto.*;
 import org.example.learning_platform.model.Assignment;
 import org.example.learning_platform.model.Submission;
 import org.example.learning_platform.service.CourseContentService;
+import org.example.learning_platform.service.GradingQueueService;
+import org.example.learning_platform.service.SubmissionExportService;
+import org.example.learning_platform.service.SubmissionIngestionService;
 import org.example.learning_platform.service.SubmissionService;
+import org.example.learning_platform.service.SubmissionSimilarityService;
+import org.example.learning_platform.service.UserRoleCache;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api")
@@ -21,6 +30,11 @@ public class AssignmentController {
 
     private final CourseContentService contentService;
     private final SubmissionService submissionService;
+    private final UserRoleCache userRoleCache;
+    private final SubmissionIngestionService ingestionService;
+    private final SubmissionSimilarityService similarityService;
+    private final GradingQueueService gradingQueueService;
+    private final SubmissionExportService exportService;
 
     @PostMapping("/lessons/{lessonId}/assignments")
     public ResponseEntity<AssignmentDTO> createAssignment(
@@ -38,18 +52,33 @@ public class AssignmentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(toAssignmentDTO(createdAssignment));
     }
 
+    // With write-behind ingestion enabled the submission is queued and the
+    // answer is 202 with a ticket to poll
     @PostMapping("/assignments/{assignmentId}/submit")
-    public ResponseEntity<SubmissionDTO> submitAssignment(
+    public ResponseEntity<?> submitAssignment(
             @PathVariable Long assignmentId,
             @Valid @RequestBody SubmissionCreateRequest request) {
 
+        if (ingestionService.isEnabled()) {
+            SubmissionTicketDTO ticket = ingestionService.submit(
+                    assignmentId, request.getStudentId(), request.getContent());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/submissions/tracking/" + ticket.getTrackingId()))
+                    .body(ticket);
+        }
+
         Submission submission = submissionService.submitAssignment(
                 assignmentId,
                 request.getStudentId(),
                 request.getContent()
         );
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(toSubmissionDTO(submission));
+        return ResponseEntity.status(HttpStatus.CREATED).body(toSubmissionDTO(submission, request.getContent()));
+    }
+
+    @GetMapping("/submissions/tracking/{trackingId}")
+    public ResponseEntity<SubmissionTicketDTO> getSubmissionTicket(@PathVariable String trackingId) {
+        return ResponseEntity.ok(ingestionService.getTicket(trackingId));
     }
 
     @PutMapping("/submissions/{submissionId}/grade")
@@ -63,25 +92,82 @@ public class AssignmentController {
                 request.getFeedback()
         );
 
-        return ResponseEntity.ok(toSubmissionDTO(gradedSubmission));
+        return ResponseEntity.ok(toSubmissionDTO(gradedSubmission, null));
+    }
+
+    @PutMapping("/assignments/{assignmentId}/grades")
+    public ResponseEntity<BulkGradeResultDTO> gradeSubmissions(
+            @PathVariable Long assignmentId,
+            @Valid @RequestBody BulkGradeRequest request) {
+        return ResponseEntity.ok(submissionService.gradeSubmissions(assignmentId, request.getGrades()));
+    }
+
+    // Reserves the next ungraded submissions of the teacher's courses for the
+    // grader, earliest due date first
+    @PostMapping("/grading-queue/claim")
+    public ResponseEntity<List<GradingTaskDTO>> claimGradingTasks(
+            @RequestParam Long teacherId,
+            @RequestParam(required = false) Long graderId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(gradingQueueService.claim(
+                teacherId, graderId != null ? graderId : teacherId, limit));
+    }
+
+    @PostMapping("/grading-queue/release")
+    public ResponseEntity<Integer> releaseGradingTasks(
+            @RequestParam Long graderId,
+            @RequestBody List<Long> submissionIds) {
+        return ResponseEntity.ok(gradingQueueService.release(graderId, submissionIds));
     }
 
     @GetMapping("/students/{studentId}/submissions")
-    public ResponseEntity<List<SubmissionDTO>> getStudentSubmissions(@PathVariable Long studentId) {
-        List<Submission> submissions = submissionService.getStudentSubmissions(studentId);
-        List<SubmissionDTO> submissionDTOs = submissions.stream()
-                .map(this::toSubmissionDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(submissionDTOs);
+    public ResponseEntity<List<SubmissionDTO>> getStudentSubmissions(
+            @PathVariable Long studentId,
+            @RequestParam(defaultValue = "false") boolean includeContent) {
+        return ResponseEntity.ok(submissionService.getStudentSubmissions(studentId, includeContent));
     }
 
     @GetMapping("/assignments/{assignmentId}/submissions")
-    public ResponseEntity<List<SubmissionDTO>> getAssignmentSubmissions(@PathVariable Long assignmentId) {
-        List<Submission> submissions = submissionService.getAssignmentSubmissions(assignmentId);
-        List<SubmissionDTO> submissionDTOs = submissions.stream()
-                .map(this::toSubmissionDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(submissionDTOs);
+    public ResponseEntity<List<SubmissionDTO>> getAssignmentSubmissions(
+            @PathVariable Long assignmentId,
+            @RequestParam(defaultValue = "false") boolean includeContent) {
+        return ResponseEntity.ok(submissionService.getAssignmentSubmissions(assignmentId, includeContent));
+    }
+
+    @GetMapping("/assignments/{assignmentId}/submissions/export")
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(
+            @PathVariable Long assignmentId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "true") boolean includeContent,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        SubmissionExportService.Format exportFormat = SubmissionExportService.Format.parse(format);
+        exportService.requireAssignment(assignmentId);
+        StreamingResponseBody body = out -> exportService.writeExport(
+                assignmentId, exportFormat, includeContent, gzip, out);
+        String extension = exportFormat == SubmissionExportService.Format.CSV ? "csv" : "ndjson";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"assignment-" + assignmentId + "-submissions." + extension + "\"")
+                .contentType(exportFormat == SubmissionExportService.Format.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // Clusters of near-identical submissions, largest first
+    @GetMapping("/assignments/{assignmentId}/similar-submissions")
+    public ResponseEntity<List<SimilarityClusterDTO>> getSimilarSubmissions(
+            @PathVariable Long assignmentId,
+            @RequestParam(defaultValue = "" + SubmissionSimilarityService.DEFAULT_THRESHOLD) double threshold) {
+        return ResponseEntity.ok(similarityService.findSimilarSubmissions(assignmentId, threshold));
+    }
+
+    @GetMapping(value = "/submissions/{submissionId}/content", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getSubmissionContent(@PathVariable Long submissionId) {
+        return ResponseEntity.ok(submissionService.getSubmissionContent(submissionId));
     }
 
     private AssignmentDTO toAssignmentDTO(Assignment assignment) {
@@ -95,14 +181,15 @@ public class AssignmentController {
                 .build();
     }
 
-    private SubmissionDTO toSubmissionDTO(Submission submission) {
+    private SubmissionDTO toSubmissionDTO(Submission submission, String content) {
         return SubmissionDTO.builder()
                 .id(submission.getId())
                 .assignmentId(submission.getAssignment().getId())
                 .assignmentTitle(submission.getAssignment().getTitle())
                 .studentId(submission.getStudent().getId())
-                .studentName(submission.getStudent().getName())
-                .content(submission.getContent())
+                .studentName(userRoleCache.nameOf(submission.getStudent().getId()))
+                .content(content)
+                .contentSize(submission.getContentSize())
                 .score(submission.getScore())
                 .feedback(submission.getFeedback())
                 .status(submission.getStatus() != null ? submission.getStatus().name() : null)
@@ -0,0 +1,22 @@
+package org.example.learning_platform.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.dto.AutocompleteDTO;
+import org.example.learning_platform.service.AutocompleteService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+@RequiredArgsConstructor
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    @GetMapping
+    public ResponseEntity<AutocompleteDTO> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(q, limit));
+    }
+}
@@ -4,13 +4,26 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.learning_platform.dto.*;
 import org.example.learning_platform.model.*;
+import org.example.learning_platform.service.CourseCatalogService;
+import org.example.learning_platform.service.CourseContentService;
+import org.example.learning_platform.service.CourseImportService;
 import org.example.learning_platform.service.CourseReviewService;
+import org.example.learning_platform.service.CourseRosterService;
+import org.example.learning_platform.service.CourseSeatService;
 import org.example.learning_platform.service.CourseService;
+import org.example.learning_platform.service.CourseStatsService;
 import org.example.learning_platform.service.EnrollmentService;
+import org.example.learning_platform.service.UserRoleCache;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,6 +35,14 @@ public class CourseController {
     private final CourseService courseService;
     private final EnrollmentService enrollmentService;
     private final CourseReviewService reviewService;
+    private final CourseCatalogService catalogService;
+    private final CourseStatsService statsService;
+    private final CourseImportService importService;
+    private final CourseContentService contentService;
+    private final ETagResponseCache responseCache;
+    private final CourseSeatService seatService;
+    private final UserRoleCache userRoleCache;
+    private final CourseRosterService rosterService;
 
     @PostMapping
     public ResponseEntity<CourseDTO> createCourse(@Valid @RequestBody CourseCreateRequest request) {
@@ -32,28 +53,94 @@ public class CourseController {
                 .startDate(request.getStartDate())
                 .build();
 
-        Course createdCourse = courseService.createCourse(course, request.getCategoryId(), request.getTeacherId());
-
-        if (request.getTags() != null && !request.getTags().isEmpty()) {
-            createdCourse = courseService.addTagsToCourse(createdCourse.getId(), request.getTags());
-        }
+        Course createdCourse = courseService.createCourse(
+                course, request.getCategoryId(), request.getTeacherId(), request.getTags());
 
         return ResponseEntity.status(HttpStatus.CREATED).body(toCourseDTO(createdCourse));
     }
 
     @GetMapping
     public ResponseEntity<List<CourseDTO>> getAllCourses() {
-        List<Course> courses = courseService.getAllCourses();
-        List<CourseDTO> courseDTOs = courses.stream()
-                .map(this::toCourseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(courseDTOs);
+        return ResponseEntity.ok(catalogService.getCatalog());
+    }
+
+    @GetMapping(params = "categoryId")
+    public ResponseEntity<List<CourseDTO>> getCoursesByCategory(@RequestParam Long categoryId) {
+        return ResponseEntity.ok(catalogService.getCoursesByCategory(categoryId));
+    }
+
+    @GetMapping(params = "teacherId")
+    public ResponseEntity<List<CourseDTO>> getCoursesByTeacher(@RequestParam Long teacherId) {
+        return ResponseEntity.ok(catalogService.getCoursesByTeacher(teacherId));
+    }
+
+    @GetMapping(params = "tag")
+    public ResponseEntity<List<CourseDTO>> getCoursesByTag(@RequestParam String tag) {
+        return ResponseEntity.ok(catalogService.getCoursesByTag(tag));
+    }
+
+    @GetMapping(params = "tags")
+    public ResponseEntity<CursorPageDTO<CourseDTO>> getCoursesByTags(
+            @RequestParam List<String> tags,
+            @RequestParam(defaultValue = "all") String mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        boolean matchAll;
+        if ("all".equalsIgnoreCase(mode)) {
+            matchAll = true;
+        } else if ("any".equalsIgnoreCase(mode)) {
+            matchAll = false;
+        } else {
+            throw new IllegalArgumentException("Unsupported mode: " + mode);
+        }
+        return ResponseEntity.ok(catalogService.getCoursesByTags(tags, matchAll, cursor, size));
+    }
+
+    // One JSON course per line; lines that fail are reported without stopping the import
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResultDTO> importCourses(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importCourses(body));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<CourseDTO>> getCoursePage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "id") String sort) {
+        return ResponseEntity.ok(catalogService.getCatalogPage(
+                cursor, size, CourseCatalogService.CatalogOrder.from(sort)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<SearchPageDTO<CourseDTO>> searchCourses(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(catalogService.search(q, page, size));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamCourses() {
+        StreamingResponseBody body = catalogService::writeCatalog;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long id) {
-        Course course = courseService.getCourseById(id);
-        return ResponseEntity.ok(toCourseDTO(course));
+    public ResponseEntity<byte[]> getCourseById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.respond(ETagResponseCache.courseKey(id), ifNoneMatch,
+                () -> catalogService.loadCourse(id));
+    }
+
+    @GetMapping("/{id}/outline")
+    public ResponseEntity<CourseOutlineDTO> getCourseOutline(@PathVariable Long id) {
+        return ResponseEntity.ok(contentService.getCourseOutline(id));
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<CourseStatsDTO> getCourseStats(@PathVariable Long id) {
+        return ResponseEntity.ok(statsService.getStats(id));
     }
 
     @PutMapping("/{id}")
@@ -85,8 +172,54 @@ public class CourseController {
             @PathVariable Long id,
             @RequestParam Long studentId) {
 
-        Enrollment enrollment = enrollmentService.enrollStudent(studentId, id);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toEnrollmentDTO(enrollment));
+        EnrollmentService.EnrollmentRequest request = enrollmentService.enrollOrWaitlist(studentId, id);
+        if (request.isWaitlisted()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(EnrollmentDTO.builder()
+                    .studentId(studentId)
+                    .courseId(id)
+                    .status("WAITLISTED")
+                    .waitlistPosition(request.waitlistPosition())
+                    .build());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(toEnrollmentDTO(request.enrollment()));
+    }
+
+    @GetMapping("/{id}/seats")
+    public ResponseEntity<CourseSeatsDTO> getSeats(@PathVariable Long id) {
+        return ResponseEntity.ok(seatService.getSeats(id));
+    }
+
+    @PutMapping("/{id}/capacity")
+    public ResponseEntity<CourseSeatsDTO> setCapacity(@PathVariable Long id, @RequestParam long capacity) {
+        return ResponseEntity.ok(seatService.setCapacity(id, capacity));
+    }
+
+    @PostMapping(value = "/{id}/enrollments", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkEnrollmentResultDTO> enrollStudents(
+            @PathVariable Long id,
+            @Valid @RequestBody BulkEnrollmentRequest request) {
+        return ResponseEntity.ok(enrollmentService.enrollStudents(id, request.getStudentIds()));
+    }
+
+    @PostMapping(value = "/{id}/enrollments", consumes = "text/csv")
+    public ResponseEntity<BulkEnrollmentResultDTO> enrollStudentsFromCsv(
+            @PathVariable Long id,
+            @RequestBody String csv) {
+        return ResponseEntity.ok(enrollmentService.enrollStudentsFromCsv(id, csv));
+    }
+
+    @PostMapping("/{id}/enrollments/complete")
+    public ResponseEntity<EnrollmentTransitionDTO> completeEnrollments(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "ACTIVE") String status) {
+        return ResponseEntity.ok(enrollmentService.completeEnrollments(id, Enrollment.EnrollmentStatus.valueOf(status)));
+    }
+
+    @PostMapping("/{id}/enrollments/drop")
+    public ResponseEntity<EnrollmentTransitionDTO> dropEnrollments(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "ACTIVE") String status) {
+        return ResponseEntity.ok(enrollmentService.dropEnrollments(id, Enrollment.EnrollmentStatus.valueOf(status)));
     }
 
     @GetMapping("/{id}/students")
@@ -98,6 +231,28 @@ public class CourseController {
         return ResponseEntity.ok(students);
     }
 
+    @GetMapping("/{id}/roster")
+    public ResponseEntity<CursorPageDTO<RosterEntryDTO>> getRoster(
+            @PathVariable Long id,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(rosterService.getRosterPage(id, toEnrollmentStatus(status), cursor, size));
+    }
+
+    @GetMapping(value = "/{id}/roster", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportRoster(
+            @PathVariable Long id,
+            @RequestParam(required = false) String status) {
+        Enrollment.EnrollmentStatus filter = toEnrollmentStatus(status);
+        rosterService.requireCourse(id);
+        StreamingResponseBody body = out -> rosterService.writeRosterCsv(id, filter, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"course-" + id + "-roster.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
     private CourseDTO toCourseDTO(Course course) {
         Double avgRating = reviewService.getCourseAverageRating(course.getId());
 
@@ -118,9 +273,9 @@ public class CourseController {
         return EnrollmentDTO.builder()
                 .id(enrollment.getId())
                 .studentId(enrollment.getStudent().getId())
-                .studentName(enrollment.getStudent().getName())
+                .studentName(userRoleCache.nameOf(enrollment.getStudent().getId()))
                 .courseId(enrollment.getCourse().getId())
-                .courseTitle(enrollment.getCourse().getTitle())
+                .courseTitle(catalogService.getCourse(enrollment.getCourse().getId()).getTitle())
                 .status(enrollment.getStatus().name())
                 .enrollDate(enrollment.getEnrollDate().toString())
                 .completedDate(enrollment.getCompletedDate() != null ?
@@ -128,6 +283,10 @@ public class CourseController {
                 .build();
     }
 
+    private static Enrollment.EnrollmentStatus toEnrollmentStatus(String status) {
+        return status == null ? null : Enrollment.EnrollmentStatus.valueOf(status);
+    }
+
     private UserDTO toUserDTO(User user) {
         return UserDTO.builder()
                 .id(user.getId())
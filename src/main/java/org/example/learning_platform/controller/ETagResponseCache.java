@@ -0,0 +1,133 @@
+package org.example.learning_platform.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.learning_platform.config.LearningPlatformProperties;
+import org.example.learning_platform.event.CourseChangedEvent;
+import org.example.learning_platform.event.QuizChangedEvent;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Serialized JSON of hot read endpoints, with a strong ETag built from a hash
+// of the bytes, so the tag changes whenever any field of the body does.
+// Entries are dropped by change events, so a cache hit, and a 304 for a
+// matching If-None-Match, needs no database access.
+@Component
+public class ETagResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> entries;
+    // Bumped on every invalidation; loads that overlap one are not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    private record Entry(String etag, byte[] body) {
+    }
+
+    public ETagResponseCache(ObjectMapper objectMapper, LearningPlatformProperties properties) {
+        LearningPlatformProperties.ResponseCache config = properties.getResponseCache();
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .build();
+    }
+
+    public static String courseKey(Long courseId) {
+        return "course-" + courseId;
+    }
+
+    public static String quizKey(Long quizId) {
+        return "quiz-" + quizId;
+    }
+
+    public static String quizQuestionsKey(Long quizId) {
+        return "quiz-questions-" + quizId;
+    }
+
+    public static String quizDeliveryKey(Long quizId) {
+        return "quiz-delivery-" + quizId;
+    }
+
+    public <T> ResponseEntity<byte[]> respond(String key, String ifNoneMatch, Supplier<T> loader) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            long loadedAtGeneration = generation.get();
+            byte[] body = serialize(loader.get());
+            entry = new Entry("\"" + key + "-" + digest(body) + "\"", body);
+            entries.put(key, entry);
+            if (generation.get() != loadedAtGeneration) {
+                entries.invalidate(key);
+            }
+        }
+        if (matches(ifNoneMatch, entry.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(entry.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(entry.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.body());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        generation.incrementAndGet();
+        entries.invalidate(courseKey(event.getCourseId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        generation.incrementAndGet();
+        entries.invalidate(quizKey(event.getQuizId()));
+        entries.invalidate(quizQuestionsKey(event.getQuizId()));
+        entries.invalidate(quizDeliveryKey(event.getQuizId()));
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response", e);
+        }
+    }
+
+    // First 16 bytes of the SHA-256, plenty to tell versions of one resource apart
+    private static String digest(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // If-None-Match uses the weak comparison, so a W/ prefix still matches
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.RequiredArgsConstructor;
 import org.example.learning_platform.dto.*;
 import org.example.learning_platform.model.*;
 import org.example.learning_platform.service.QuizService;
+import org.example.learning_platform.service.UserRoleCache;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +19,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class QuizController {
     private final QuizService quizService;
+    private final ETagResponseCache responseCache;
+    private final UserRoleCache userRoleCache;
 
     @PostMapping("/modules/{moduleId}/quizzes")
     public ResponseEntity<QuizDTO> createQuiz(
@@ -26,6 +30,7 @@ public class QuizController {
                 .title(request.getTitle())
                 .timeLimit(request.getTimeLimit())
                 .passingScore(request.getPassingScore())
+                .maxAttempts(request.getMaxAttempts())
                 .build();
         Quiz createdQuiz = quizService.createQuiz(moduleId, quiz);
         return ResponseEntity.status(HttpStatus.CREATED).body(toQuizDTO(createdQuiz));
@@ -44,15 +49,32 @@ public class QuizController {
         return ResponseEntity.status(HttpStatus.CREATED).body(toQuestionDTO(createdQuestion));
     }
 
+    @PostMapping("/questions/{questionId}/options")
+    public ResponseEntity<AnswerOptionDTO> addAnswerOption(
+            @PathVariable Long questionId,
+            @Valid @RequestBody AnswerOptionCreateRequest request) {
+        AnswerOption option = AnswerOption.builder()
+                .text(request.getText())
+                .isCorrect(request.getIsCorrect())
+                .build();
+        AnswerOption createdOption = quizService.addAnswerOption(questionId, option);
+        return ResponseEntity.status(HttpStatus.CREATED).body(toAnswerOptionDTO(createdOption));
+    }
+
+    // Graded on the server from the selected options; a client score is only
+    // accepted for quizzes without questions
     @PostMapping("/quizzes/{quizId}/take")
     public ResponseEntity<QuizSubmissionDTO> takeQuiz(
             @PathVariable Long quizId,
             @Valid @RequestBody QuizTakeRequest request) {
-        QuizSubmission submission = quizService.submitQuiz(
-                quizId,
-                request.getStudentId(),
-                request.getScore()
-        );
+        QuizSubmission submission;
+        if (request.getAnswers() != null) {
+            submission = quizService.submitQuizAnswers(quizId, request.getStudentId(), request.getAnswers());
+        } else if (request.getScore() != null) {
+            submission = quizService.submitExternallyScoredQuiz(quizId, request.getStudentId(), request.getScore());
+        } else {
+            throw new IllegalArgumentException("Answers are required");
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(toQuizSubmissionDTO(submission));
     }
 
@@ -66,18 +88,29 @@ public class QuizController {
     }
 
     @GetMapping("/quizzes/{quizId}")
-    public ResponseEntity<QuizDTO> getQuiz(@PathVariable Long quizId) {
-        Quiz quiz = quizService.getQuizById(quizId);
-        return ResponseEntity.ok(toQuizDTO(quiz));
+    public ResponseEntity<byte[]> getQuiz(
+            @PathVariable Long quizId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.respond(ETagResponseCache.quizKey(quizId), ifNoneMatch,
+                () -> toQuizDTO(quizService.getQuizById(quizId)));
     }
 
     @GetMapping("/quizzes/{quizId}/questions")
-    public ResponseEntity<List<QuestionDTO>> getQuizQuestions(@PathVariable Long quizId) {
-        List<Question> questions = quizService.getQuizQuestions(quizId);
-        List<QuestionDTO> questionDTOs = questions.stream()
-                .map(this::toQuestionDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(questionDTOs);
+    public ResponseEntity<byte[]> getQuizQuestions(
+            @PathVariable Long quizId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.respond(ETagResponseCache.quizQuestionsKey(quizId), ifNoneMatch,
+                () -> quizService.getQuizQuestions(quizId));
+    }
+
+    // The quiz with its questions and options as one cached snapshot, so an
+    // exam start by many students is served without database access
+    @GetMapping("/quizzes/{quizId}/delivery")
+    public ResponseEntity<byte[]> getQuizDelivery(
+            @PathVariable Long quizId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.respond(ETagResponseCache.quizDeliveryKey(quizId), ifNoneMatch,
+                () -> quizService.getQuizDelivery(quizId));
     }
 
     private QuizDTO toQuizDTO(Quiz quiz) {
@@ -86,6 +119,7 @@ public class QuizController {
                 .title(quiz.getTitle())
                 .timeLimit(quiz.getTimeLimit())
                 .passingScore(quiz.getPassingScore())
+                .maxAttempts(quiz.getMaxAttempts())
                 .moduleTitle(quiz.getModule() != null ? quiz.getModule().getTitle() : null)
                 .build();
     }
@@ -96,6 +130,16 @@ public class QuizController {
                 .text(question.getText())
                 .type(question.getType().name())
                 .points(question.getPoints())
+                .options(question.getOptions().stream()
+                        .map(this::toAnswerOptionDTO)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private AnswerOptionDTO toAnswerOptionDTO(AnswerOption option) {
+        return AnswerOptionDTO.builder()
+                .id(option.getId())
+                .text(option.getText())
                 .build();
     }
 
@@ -105,8 +149,10 @@ public class QuizController {
                 .quizId(submission.getQuiz().getId())
                 .quizTitle(submission.getQuiz().getTitle())
                 .studentId(submission.getStudent().getId())
-                .studentName(submission.getStudent().getName())
+                .studentName(userRoleCache.nameOf(submission.getStudent().getId()))
                 .score(submission.getScore())
+                .pointsEarned(submission.getPointsEarned())
+                .maxPoints(submission.getMaxPoints())
                 .passed(submission.getPassed())
                 .attemptNumber(submission.getAttemptNumber())
                 .takenAt(submission.getTakenAt().toString())
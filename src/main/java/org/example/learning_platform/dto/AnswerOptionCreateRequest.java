@@ -0,0 +1,20 @@
+package org.example.learning_platform.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnswerOptionCreateRequest {
+    @NotBlank(message = "Option text is required")
+    private String text;
+
+    @NotNull(message = "Correct flag is required")
+    private Boolean isCorrect;
+}
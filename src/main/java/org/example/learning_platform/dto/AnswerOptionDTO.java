@@ -0,0 +1,15 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnswerOptionDTO {
+    private Long id;
+    private String text;
+}
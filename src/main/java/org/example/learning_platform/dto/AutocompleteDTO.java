@@ -0,0 +1,17 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteDTO {
+    private List<TagSuggestionDTO> tags;
+    private List<CourseSuggestionDTO> courses;
+}
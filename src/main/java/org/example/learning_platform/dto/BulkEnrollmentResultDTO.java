@@ -0,0 +1,20 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEnrollmentResultDTO {
+    private Long courseId;
+    private Long enrolled;
+    private Long skipped;
+    // One entry per distinct student ID, in request order
+    private List<EnrollmentOutcomeDTO> results;
+}
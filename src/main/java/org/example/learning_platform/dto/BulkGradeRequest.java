@@ -0,0 +1,20 @@
+package org.example.learning_platform.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkGradeRequest {
+    @NotEmpty(message = "Grades are required")
+    private List<@NotNull @Valid GradeItemRequest> grades;
+}
@@ -0,0 +1,20 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkGradeResultDTO {
+    private Long assignmentId;
+    private Long graded;
+    private Long skipped;
+    // One entry per item, in request order
+    private List<GradeOutcomeDTO> results;
+}
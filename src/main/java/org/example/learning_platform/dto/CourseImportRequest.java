@@ -0,0 +1,40 @@
+package org.example.learning_platform.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+// One NDJSON line of a bulk course import
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseImportRequest {
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    @Size(max = 2000, message = "Description must be at most 2000 characters")
+    private String description;
+
+    private String duration;
+
+    private LocalDate startDate;
+
+    @NotBlank(message = "Category name is required")
+    private String categoryName;
+
+    @NotBlank(message = "Teacher email is required")
+    private String teacherEmail;
+
+    private Set<@NotBlank(message = "Tag names must not be blank") String> tags;
+
+    private List<@Valid ModuleImportRequest> modules;
+}
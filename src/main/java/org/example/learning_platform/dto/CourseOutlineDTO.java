@@ -0,0 +1,17 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseOutlineDTO {
+    private CourseDTO course;
+    private List<ModuleOutlineDTO> modules;
+}
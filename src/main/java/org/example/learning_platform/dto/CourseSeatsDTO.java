@@ -0,0 +1,19 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSeatsDTO {
+    private Long courseId;
+    // Null when the course has no seat limit
+    private Long capacity;
+    private Long taken;
+    private Long available;
+    private Long waitlisted;
+}
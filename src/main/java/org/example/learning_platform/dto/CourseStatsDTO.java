@@ -0,0 +1,23 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseStatsDTO {
+    private Long courseId;
+    private Double averageRating;
+    private Long ratingCount;
+    private Map<Integer, Long> ratingHistogram;
+    private Long activeEnrollments;
+    private Long completedEnrollments;
+    private Long droppedEnrollments;
+    private Long submissionCount;
+}
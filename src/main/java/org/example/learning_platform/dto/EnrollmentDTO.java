@@ -18,5 +18,7 @@ public class EnrollmentDTO {
     private String status;
     private String enrollDate;
     private String completedDate;
+    // Set instead of an ID when the course was full and the student was waitlisted
+    private Long waitlistPosition;
 }
 
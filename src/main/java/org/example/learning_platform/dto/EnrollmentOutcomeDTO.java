@@ -0,0 +1,16 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentOutcomeDTO {
+    private Long studentId;
+    // ENROLLED, ALREADY_ENROLLED, STUDENT_NOT_FOUND, NOT_A_STUDENT or COURSE_FULL
+    private String outcome;
+}
@@ -0,0 +1,17 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentTransitionDTO {
+    private Long courseId;
+    private String fromStatus;
+    private String toStatus;
+    private Long updated;
+}
@@ -0,0 +1,24 @@
+package org.example.learning_platform.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeItemRequest {
+    @NotNull(message = "Submission ID is required")
+    private Long submissionId;
+
+    // Checked against the assignment's max score per item
+    @NotNull(message = "Score is required")
+    private Integer score;
+
+    @Size(max = 1000, message = "Feedback must not exceed 1000 characters")
+    private String feedback;
+}
@@ -0,0 +1,16 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeOutcomeDTO {
+    private Long submissionId;
+    // GRADED, SUBMISSION_NOT_FOUND, SCORE_OUT_OF_RANGE or DUPLICATE
+    private String outcome;
+}
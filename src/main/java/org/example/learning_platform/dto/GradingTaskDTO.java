@@ -0,0 +1,23 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradingTaskDTO {
+    private Long submissionId;
+    private Long assignmentId;
+    private String assignmentTitle;
+    private String dueDate;
+    private Long courseId;
+    private Long studentId;
+    private String studentName;
+    private String submittedAt;
+    // The submission is reserved for the grader until then
+    private String leaseExpiresAt;
+}
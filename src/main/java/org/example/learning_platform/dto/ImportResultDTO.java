@@ -0,0 +1,19 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+    private Long imported;
+    private Long failed;
+    // Only the first errors are listed; failed counts all of them
+    private List<ImportErrorDTO> errors;
+}
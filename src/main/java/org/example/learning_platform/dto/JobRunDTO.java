@@ -0,0 +1,19 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRunDTO {
+    private String job;
+    // Checkpoint the run started after; 0 for a fresh run
+    private Long resumedAfterId;
+    private Long chunks;
+    private Long scanned;
+    private Long updated;
+}
@@ -0,0 +1,22 @@
+package org.example.learning_platform.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonImportRequest {
+    @NotBlank(message = "Lesson title is required")
+    private String title;
+
+    @Size(max = 5000, message = "Lesson content must be at most 5000 characters")
+    private String content;
+
+    private String videoUrl;
+}
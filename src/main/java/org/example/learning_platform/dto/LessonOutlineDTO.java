@@ -0,0 +1,20 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonOutlineDTO {
+    private Long id;
+    private String title;
+    private String videoUrl;
+    private Integer orderIndex;
+    private List<AssignmentDTO> assignments;
+}
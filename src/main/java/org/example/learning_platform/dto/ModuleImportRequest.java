@@ -0,0 +1,25 @@
+package org.example.learning_platform.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModuleImportRequest {
+    @NotBlank(message = "Module title is required")
+    private String title;
+
+    @Size(max = 2000, message = "Module description must be at most 2000 characters")
+    private String description;
+
+    private List<@Valid LessonImportRequest> lessons;
+}
@@ -0,0 +1,21 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModuleOutlineDTO {
+    private Long id;
+    private String title;
+    private String description;
+    private Integer orderIndex;
+    private QuizDTO quiz;
+    private List<LessonOutlineDTO> lessons;
+}
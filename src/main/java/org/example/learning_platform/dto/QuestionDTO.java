@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,4 +16,6 @@ public class QuestionDTO {
     private String text;
     private String type;
     private Integer points;
+    // Without the correct flags; attempts are graded on the server
+    private List<AnswerOptionDTO> options;
 }
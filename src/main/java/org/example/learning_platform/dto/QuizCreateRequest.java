@@ -1,5 +1,6 @@
 package org.example.learning_platform.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -19,5 +20,8 @@ public class QuizCreateRequest {
     
     @NotNull(message = "Passing score is required")
     private Integer passingScore;
+
+    @Min(value = 1, message = "Max attempts must be at least 1")
+    private Integer maxAttempts;
 }
 
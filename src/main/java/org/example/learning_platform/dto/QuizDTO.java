@@ -14,5 +14,6 @@ public class QuizDTO {
     private String title;
     private Integer timeLimit;
     private Integer passingScore;
+    private Integer maxAttempts;
     private String moduleTitle;
 }
@@ -0,0 +1,22 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Everything a student needs to sit a quiz, without the correct answers
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizDeliveryDTO {
+    private Long id;
+    private String title;
+    private Integer timeLimit;
+    private Integer passingScore;
+    private Integer maxAttempts;
+    private List<QuestionDTO> questions;
+}
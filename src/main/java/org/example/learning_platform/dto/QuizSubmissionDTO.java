@@ -16,6 +16,8 @@ public class QuizSubmissionDTO {
     private Long studentId;
     private String studentName;
     private Integer score;
+    private Integer pointsEarned;
+    private Integer maxPoints;
     private Boolean passed;
     private Integer attemptNumber;
     private String takenAt;
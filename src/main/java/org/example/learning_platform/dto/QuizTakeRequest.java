@@ -6,6 +6,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+import java.util.Map;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,7 +17,10 @@ public class QuizTakeRequest {
     @NotNull(message = "Student ID is required")
     private Long studentId;
 
-    @NotNull(message = "Score is required")
+    // Selected answer option IDs by question ID; the attempt is graded on the server
+    private Map<Long, List<Long>> answers;
+
+    // Only for quizzes without questions
     private Integer score;
 }
 
@@ -0,0 +1,18 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterEntryDTO {
+    private Long studentId;
+    private String studentName;
+    private String email;
+    private String status;
+    private String enrollDate;
+}
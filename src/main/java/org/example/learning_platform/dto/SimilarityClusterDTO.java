@@ -0,0 +1,20 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarityClusterDTO {
+    // Lowest estimated similarity of the pairs that joined the cluster; 1.0 for identical bodies
+    private Double similarity;
+    private List<Long> submissionIds;
+    // Same order as submissionIds
+    private List<Long> studentIds;
+}
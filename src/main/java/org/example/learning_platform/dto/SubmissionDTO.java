@@ -15,7 +15,9 @@ public class SubmissionDTO {
     private String assignmentTitle;
     private Long studentId;
     private String studentName;
+    // Only filled in when the body was asked for
     private String content;
+    private Integer contentSize;
     private Integer score;
     private String feedback;
     private String status;
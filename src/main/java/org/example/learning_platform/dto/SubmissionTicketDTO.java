@@ -0,0 +1,20 @@
+package org.example.learning_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionTicketDTO {
+    private String trackingId;
+    // QUEUED, SAVED, REJECTED or FAILED
+    private String status;
+    // Set once the submission is SAVED
+    private Long submissionId;
+    // Reason for REJECTED or FAILED
+    private String message;
+}
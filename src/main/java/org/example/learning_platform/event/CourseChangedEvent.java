@@ -0,0 +1,26 @@
+package org.example.learning_platform.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Set;
+
+// Published by the services that change courses; listeners react after commit.
+@Value
+@Builder
+public class CourseChangedEvent {
+
+    public enum Type {
+        CREATED, TAGS_ADDED, RATING_CHANGED, TEACHER_RENAMED, DELETED
+    }
+
+    Long courseId;
+    Type type;
+    Long categoryId;
+    Long teacherId;
+    String title;
+    String description;
+    // CREATED: tags at creation, TAGS_ADDED: newly linked tags, DELETED: tags the course had
+    @Builder.Default
+    Set<String> tagNames = Set.of();
+}
@@ -0,0 +1,11 @@
+package org.example.learning_platform.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+// Published when a quiz or its questions change; listeners react after commit.
+@Value
+@Builder
+public class QuizChangedEvent {
+    Long quizId;
+}
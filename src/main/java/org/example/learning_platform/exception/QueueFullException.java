@@ -0,0 +1,10 @@
+package org.example.learning_platform.exception;
+
+// The request was valid but cannot be accepted right now; the client should
+// retry after a short delay.
+public class QueueFullException extends RuntimeException {
+
+    public QueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.learning_platform.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// MinHash signature of a stored submission body, keyed like the body itself,
+// so identical submissions share one row.
+@Entity
+@Table(name = "content_signatures")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentSignature {
+
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, length = 512)
+    private byte[] signature;
+}
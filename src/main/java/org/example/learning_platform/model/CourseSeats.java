@@ -0,0 +1,49 @@
+package org.example.learning_platform.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+// Seat limit of a course; courses without a row have no limit. `taken` counts
+// ACTIVE enrollments and only changes through conditional bulk updates.
+@Entity
+@Table(name = "course_seats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseSeats implements Persistable<Long> {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(nullable = false)
+    private Long capacity;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long taken = 0L;
+
+    // The ID is assigned from the course, so Spring Data cannot tell new rows apart by a null ID
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public Long getId() {
+        return courseId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.learning_platform.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+// Denormalized per-course counters maintained incrementally by the services
+// that change reviews, enrollments and submissions.
+@Entity
+@Table(name = "course_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseStats implements Persistable<Long> {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long ratingCount = 0L;
+
+    // Histogram of ratings 1-5
+    @Column(nullable = false)
+    @Builder.Default
+    private Long rating1 = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long rating2 = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long rating3 = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long rating4 = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long rating5 = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long activeEnrollments = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long completedEnrollments = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long droppedEnrollments = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long submissionCount = 0L;
+
+    // The ID is assigned from the course, so Spring Data cannot tell new rows apart by a null ID
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public Long getId() {
+        return courseId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+}
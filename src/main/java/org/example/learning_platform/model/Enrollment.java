@@ -8,6 +8,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "enrollments", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"student_id", "course_id"})
+}, indexes = {
+    // Roster pages walk a course's enrollments in id order
+    @Index(name = "idx_enrollments_course_id", columnList = "course_id, id")
 })
 @Getter
 @Setter
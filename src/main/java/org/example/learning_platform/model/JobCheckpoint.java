@@ -0,0 +1,31 @@
+package org.example.learning_platform.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Progress of a chunked batch job: the highest ID whose chunk was processed.
+// A run that stops early resumes after it; a finished run resets it to 0.
+@Entity
+@Table(name = "job_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobCheckpoint {
+
+    @Id
+    @Column(length = 100)
+    private String jobName;
+
+    @Column(nullable = false)
+    private Long lastId;
+
+    private LocalDateTime runStartedAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime lastCompletedAt;
+}
@@ -30,6 +30,9 @@ public class Quiz {
 
     private Integer passingScore;
 
+    // Attempts allowed per student; unlimited when null
+    private Integer maxAttempts;
+
     // One-to-Many: Quiz -> Questions
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @Builder.Default
@@ -0,0 +1,38 @@
+package org.example.learning_platform.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+// Number of attempts a student has taken at a quiz. Attempt numbers come from
+// incrementing this row, which also serializes concurrent takes by the student.
+@Entity
+@Table(name = "quiz_attempt_counters")
+@IdClass(QuizAttemptCounter.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizAttemptCounter {
+
+    @Id
+    @Column(name = "quiz_id")
+    private Long quizId;
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long quizId;
+        private Long studentId;
+    }
+}
@@ -6,7 +6,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "quiz_submissions")
+// The unique attempt number per student backs up the attempt counters
+@Table(name = "quiz_submissions", uniqueConstraints = @UniqueConstraint(
+        name = "uk_quiz_submissions_attempt", columnNames = {"quiz_id", "student_id", "attempt_number"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,9 +28,15 @@ public class QuizSubmission {
     @JoinColumn(name = "student_id", nullable = false)
     private User student;
 
+    // Percentage of the quiz's points when graded on the server
     @Column(nullable = false)
     private Integer score;
 
+    // Set for attempts graded from submitted answers
+    private Integer pointsEarned;
+
+    private Integer maxPoints;
+
     @Column(nullable = false)
     private LocalDateTime takenAt;
 
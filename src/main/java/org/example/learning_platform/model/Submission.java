@@ -8,6 +8,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "submissions", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"assignment_id", "student_id"})
+}, indexes = {
+    @Index(name = "idx_submissions_status_lease", columnList = "status, lease_expires_at")
 })
 @Getter
 @Setter
@@ -31,8 +33,16 @@ public class Submission {
     @Column(nullable = false)
     private LocalDateTime submittedAt;
 
-    @Column(length = 5000)
-    private String content;
+    // Key of the body in the ContentStore, and the body's size in bytes
+    @Column(length = 64)
+    private String contentHash;
+
+    private Integer contentSize;
+
+    // Inline body of submissions made before the content store; moved there
+    // by the submission-content-migration job
+    @Column(name = "content", length = 5000)
+    private String legacyContent;
 
     private Integer score;
 
@@ -42,6 +52,12 @@ public class Submission {
     @Enumerated(EnumType.STRING)
     private SubmissionStatus status;
 
+    // Grader holding the submission in the grading queue; the claim lapses
+    // at leaseExpiresAt and grading clears it
+    private Long leasedBy;
+
+    private LocalDateTime leaseExpiresAt;
+
     public enum SubmissionStatus {
         SUBMITTED, GRADED, RETURNED
     }
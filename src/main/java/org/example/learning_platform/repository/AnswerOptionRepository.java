@@ -1,12 +1,22 @@
 package org.example.learning_platform.repository;
 
 import org.example.learning_platform.model.AnswerOption;
+import org.example.learning_platform.repository.projection.AnswerOptionRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AnswerOptionRepository extends JpaRepository<AnswerOption, Long> {
     List<AnswerOption> findByQuestionId(Long questionId);
+
+    long countByQuestionId(Long questionId);
+
+    @Query("SELECT o.id AS id, o.question.id AS questionId, o.text AS text FROM AnswerOption o " +
+           "WHERE o.question.id IN :questionIds ORDER BY o.id")
+    List<AnswerOptionRow> findRowsByQuestionIds(@Param("questionIds") Collection<Long> questionIds);
 }
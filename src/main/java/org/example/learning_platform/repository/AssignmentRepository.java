@@ -1,12 +1,28 @@
 package org.example.learning_platform.repository;
 
 import org.example.learning_platform.model.Assignment;
+import org.example.learning_platform.repository.projection.AssignmentOutlineRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     List<Assignment> findByLessonId(Long lessonId);
+
+    // The module's course stays a proxy, but its ID is known without loading it
+    @Query("SELECT a FROM Assignment a JOIN FETCH a.lesson l JOIN FETCH l.module WHERE a.id = :assignmentId")
+    Optional<Assignment> findWithModuleById(@Param("assignmentId") Long assignmentId);
+
+    @Query("SELECT m.course.id FROM Assignment a JOIN a.lesson l JOIN l.module m WHERE a.id = :assignmentId")
+    Optional<Long> findCourseIdById(@Param("assignmentId") Long assignmentId);
+
+    @Query("SELECT a.id AS id, l.id AS lessonId, a.title AS title, a.description AS description, " +
+           "a.dueDate AS dueDate, a.maxScore AS maxScore " +
+           "FROM Assignment a JOIN a.lesson l JOIN l.module m WHERE m.course.id = :courseId ORDER BY a.id")
+    List<AssignmentOutlineRow> findOutlineByCourseId(@Param("courseId") Long courseId);
 }
@@ -0,0 +1,9 @@
+package org.example.learning_platform.repository;
+
+import org.example.learning_platform.model.ContentSignature;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContentSignatureRepository extends JpaRepository<ContentSignature, String>, ContentSignatureRepositoryCustom {
+}
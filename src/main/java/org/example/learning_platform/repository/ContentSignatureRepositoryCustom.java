@@ -0,0 +1,9 @@
+package org.example.learning_platform.repository;
+
+import java.util.Map;
+
+public interface ContentSignatureRepositoryCustom {
+
+    // One batched statement; hashes that already have a signature keep it
+    void insertMissing(Map<String, byte[]> signatures);
+}
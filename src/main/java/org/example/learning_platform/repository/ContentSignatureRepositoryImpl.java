@@ -0,0 +1,28 @@
+package org.example.learning_platform.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ContentSignatureRepositoryImpl implements ContentSignatureRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect sqlDialect;
+
+    @Override
+    public void insertMissing(Map<String, byte[]> signatures) {
+        if (signatures.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, byte[]>> rows = List.copyOf(signatures.entrySet());
+        jdbcTemplate.batchUpdate(
+                sqlDialect.insertIgnoringConflicts("content_signatures", "content_hash", "content_hash", "signature"),
+                rows, rows.size(), (statement, row) -> {
+                    statement.setString(1, row.getKey());
+                    statement.setBytes(2, row.getValue());
+                });
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.learning_platform.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+// Plain JDBC batches for bulk imports. The entities use IDENTITY keys, which
+// keep Hibernate from batching their inserts, so rows are written here and
+// the generated keys are read back from each batch.
+@Repository
+@RequiredArgsConstructor
+public class CourseImportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect sqlDialect;
+
+    public record CourseRow(String title, String description, String duration, LocalDate startDate,
+                            Long categoryId, Long teacherId) {
+    }
+
+    public record ModuleRow(Long courseId, String title, String description, int orderIndex) {
+    }
+
+    public record LessonRow(Long moduleId, String title, String content, String videoUrl, int orderIndex) {
+    }
+
+    public record TagLink(Long courseId, Long tagId) {
+    }
+
+    public List<Long> insertCourses(List<CourseRow> rows) {
+        return sqlDialect.insertReturningIds(jdbcTemplate,
+                "INSERT INTO courses (title, description, duration, start_date, category_id, teacher_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows, (statement, row) -> {
+                    statement.setString(1, row.title());
+                    statement.setString(2, row.description());
+                    statement.setString(3, row.duration());
+                    statement.setObject(4, row.startDate(), Types.DATE);
+                    statement.setLong(5, row.categoryId());
+                    statement.setLong(6, row.teacherId());
+                });
+    }
+
+    public List<Long> insertModules(List<ModuleRow> rows) {
+        return sqlDialect.insertReturningIds(jdbcTemplate,
+                "INSERT INTO modules (course_id, title, description, order_index) VALUES (?, ?, ?, ?)", rows, (statement, row) -> {
+                    statement.setLong(1, row.courseId());
+                    statement.setString(2, row.title());
+                    statement.setString(3, row.description());
+                    statement.setInt(4, row.orderIndex());
+                });
+    }
+
+    public void insertLessons(List<LessonRow> rows) {
+        batch("INSERT INTO lessons (module_id, title, content, video_url, order_index) VALUES (?, ?, ?, ?, ?)",
+                rows, (statement, row) -> {
+                    statement.setLong(1, row.moduleId());
+                    statement.setString(2, row.title());
+                    statement.setString(3, row.content());
+                    statement.setString(4, row.videoUrl());
+                    statement.setInt(5, row.orderIndex());
+                });
+    }
+
+    public void insertTagLinks(List<TagLink> rows) {
+        batch("INSERT INTO course_tags (course_id, tag_id) VALUES (?, ?)", rows, (statement, row) -> {
+            statement.setLong(1, row.courseId());
+            statement.setLong(2, row.tagId());
+        });
+    }
+
+    // Same starting point as CourseStatsService.initialize
+    public void insertEmptyStats(List<Long> courseIds) {
+        batch("INSERT INTO course_stats (course_id, rating_sum, rating_count, rating1, rating2, rating3, rating4, " +
+              "rating5, active_enrollments, completed_enrollments, dropped_enrollments, submission_count) " +
+              "VALUES (?, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0)", courseIds, (statement, courseId) -> statement.setLong(1, courseId));
+    }
+
+    private <T> void batch(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows, rows.size(), setter);
+        }
+    }
+}
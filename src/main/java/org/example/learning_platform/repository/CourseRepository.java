@@ -1,12 +1,23 @@
 package org.example.learning_platform.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.learning_platform.model.Course;
+import org.example.learning_platform.repository.projection.CourseCatalogRow;
+import org.example.learning_platform.repository.projection.CourseTagRow;
+import org.example.learning_platform.repository.projection.CourseTextRow;
+import org.example.learning_platform.repository.projection.CourseTitleRow;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
@@ -16,4 +27,68 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     @Query("SELECT c FROM Course c JOIN c.tags t WHERE t.name = :tagName")
     List<Course> findByTagName(@Param("tagName") String tagName);
+
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, c.duration AS duration, " +
+           "c.startDate AS startDate, cat.name AS categoryName, t.name AS teacherName " +
+           "FROM Course c LEFT JOIN c.category cat LEFT JOIN c.teacher t ORDER BY c.id")
+    List<CourseCatalogRow> findCatalogRows();
+
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, c.duration AS duration, " +
+           "c.startDate AS startDate, cat.name AS categoryName, t.name AS teacherName " +
+           "FROM Course c LEFT JOIN c.category cat LEFT JOIN c.teacher t ORDER BY c.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<CourseCatalogRow> streamCatalogRows();
+
+    @Query("SELECT c.id AS id, c.title AS title FROM Course c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<CourseTitleRow> streamCourseTitles();
+
+    @Query("SELECT c.id AS id, c.title AS title FROM Course c WHERE c.id IN :courseIds")
+    List<CourseTitleRow> findCourseTitlesByIds(@Param("courseIds") Collection<Long> courseIds);
+
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description FROM Course c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<CourseTextRow> streamCourseTexts();
+
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, c.duration AS duration, " +
+           "c.startDate AS startDate, cat.name AS categoryName, t.name AS teacherName " +
+           "FROM Course c LEFT JOIN c.category cat LEFT JOIN c.teacher t " +
+           "WHERE c.id > :afterId ORDER BY c.id")
+    List<CourseCatalogRow> findCatalogPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, c.duration AS duration, " +
+           "c.startDate AS startDate, cat.name AS categoryName, t.name AS teacherName " +
+           "FROM Course c LEFT JOIN c.category cat LEFT JOIN c.teacher t " +
+           "WHERE c.startDate IS NOT NULL ORDER BY c.startDate, c.id")
+    List<CourseCatalogRow> findCatalogPageByStartDate(Pageable pageable);
+
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, c.duration AS duration, " +
+           "c.startDate AS startDate, cat.name AS categoryName, t.name AS teacherName " +
+           "FROM Course c LEFT JOIN c.category cat LEFT JOIN c.teacher t " +
+           "WHERE c.startDate > :afterDate OR (c.startDate = :afterDate AND c.id > :afterId) " +
+           "ORDER BY c.startDate, c.id")
+    List<CourseCatalogRow> findCatalogPageAfterStartDate(@Param("afterDate") LocalDate afterDate,
+                                                         @Param("afterId") Long afterId,
+                                                         Pageable pageable);
+
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, c.duration AS duration, " +
+           "c.startDate AS startDate, cat.name AS categoryName, t.name AS teacherName " +
+           "FROM Course c LEFT JOIN c.category cat LEFT JOIN c.teacher t WHERE c.id IN :courseIds")
+    List<CourseCatalogRow> findCatalogRowsByIds(@Param("courseIds") Collection<Long> courseIds);
+
+    @Query("SELECT c.id FROM Course c WHERE c.category.id = :categoryId ORDER BY c.id")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT c.id FROM Course c WHERE c.teacher.id = :teacherId ORDER BY c.id")
+    List<Long> findIdsByTeacherId(@Param("teacherId") Long teacherId);
+
+    @Query("SELECT c.id FROM Course c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT c.id AS courseId, t.name AS tagName FROM Course c JOIN c.tags t")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<CourseTagRow> streamAllCourseTags();
+
+    @Query("SELECT c.id AS courseId, t.name AS tagName FROM Course c JOIN c.tags t WHERE c.id IN :courseIds")
+    List<CourseTagRow> findTagNamesByCourseIds(@Param("courseIds") Collection<Long> courseIds);
 }
@@ -1,10 +1,13 @@
 package org.example.learning_platform.repository;
 
 import org.example.learning_platform.model.CourseReview;
+import org.example.learning_platform.repository.projection.RatingCountRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,4 +18,8 @@ public interface CourseReviewRepository extends JpaRepository<CourseReview, Long
 
     @Query("SELECT AVG(r.rating) FROM CourseReview r WHERE r.course.id = :courseId")
     Double getAverageRatingByCourseId(Long courseId);
+
+    @Query("SELECT r.course.id AS courseId, r.rating AS rating, COUNT(r) AS total FROM CourseReview r " +
+           "WHERE r.course.id IN :courseIds GROUP BY r.course.id, r.rating")
+    List<RatingCountRow> countRatingsByCourseIds(@Param("courseIds") Collection<Long> courseIds);
 }
@@ -0,0 +1,51 @@
+package org.example.learning_platform.repository;
+
+import org.example.learning_platform.model.CourseSeats;
+import org.example.learning_platform.repository.projection.CourseSeatsView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CourseSeatsRepository extends JpaRepository<CourseSeats, Long> {
+
+    // Read through a projection, like the stats, so bulk updates are always visible
+    @Query("SELECT s.courseId AS courseId, s.capacity AS capacity, s.taken AS taken " +
+           "FROM CourseSeats s WHERE s.courseId = :courseId")
+    Optional<CourseSeatsView> findViewByCourseId(@Param("courseId") Long courseId);
+
+    // Takes the seats only if all of them are free; the row lock it acquires
+    // serializes competing reservations for the course
+    @Modifying
+    @Query("UPDATE CourseSeats s SET s.taken = s.taken + :seats " +
+           "WHERE s.courseId = :courseId AND s.taken + :seats <= s.capacity")
+    int reserve(@Param("courseId") Long courseId, @Param("seats") long seats);
+
+    // Locks the row without changing it; 0 when the course has no limit
+    @Modifying
+    @Query("UPDATE CourseSeats s SET s.taken = s.taken WHERE s.courseId = :courseId")
+    int lock(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("UPDATE CourseSeats s SET s.taken = s.taken - :seats WHERE s.courseId = :courseId AND s.taken >= :seats")
+    int release(@Param("courseId") Long courseId, @Param("seats") long seats);
+
+    @Modifying
+    @Query("UPDATE CourseSeats s SET s.capacity = :capacity, s.taken = :taken WHERE s.courseId = :courseId")
+    int updateCapacity(@Param("courseId") Long courseId,
+                       @Param("capacity") long capacity,
+                       @Param("taken") long taken);
+
+    @Modifying
+    @Query("DELETE FROM CourseSeats s WHERE s.courseId = :courseId")
+    void deleteByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT s.courseId FROM CourseSeats s WHERE s.taken < s.capacity " +
+           "AND EXISTS (SELECT 1 FROM WaitlistEntry w WHERE w.course.id = s.courseId)")
+    List<Long> findCourseIdsWithFreeSeatsAndWaitlist();
+}
@@ -0,0 +1,72 @@
+package org.example.learning_platform.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.learning_platform.model.CourseStats;
+import org.example.learning_platform.repository.projection.CourseStatsView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CourseStatsRepository extends JpaRepository<CourseStats, Long>, CourseStatsRepositoryCustom {
+
+    // Reads go through projections so they always see the counters in the database,
+    // not a managed instance left stale by the bulk updates below.
+    @Query("SELECT s.courseId AS courseId, s.ratingSum AS ratingSum, s.ratingCount AS ratingCount, " +
+           "s.rating1 AS rating1, s.rating2 AS rating2, s.rating3 AS rating3, s.rating4 AS rating4, " +
+           "s.rating5 AS rating5, s.activeEnrollments AS activeEnrollments, " +
+           "s.completedEnrollments AS completedEnrollments, s.droppedEnrollments AS droppedEnrollments, " +
+           "s.submissionCount AS submissionCount FROM CourseStats s WHERE s.courseId = :courseId")
+    Optional<CourseStatsView> findViewByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT s.courseId AS courseId, s.ratingSum AS ratingSum, s.ratingCount AS ratingCount, " +
+           "s.rating1 AS rating1, s.rating2 AS rating2, s.rating3 AS rating3, s.rating4 AS rating4, " +
+           "s.rating5 AS rating5, s.activeEnrollments AS activeEnrollments, " +
+           "s.completedEnrollments AS completedEnrollments, s.droppedEnrollments AS droppedEnrollments, " +
+           "s.submissionCount AS submissionCount FROM CourseStats s WHERE s.courseId IN :courseIds")
+    List<CourseStatsView> findViewsByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    // Rows locked in ID order, so concurrent rebuilds cannot deadlock; the
+    // delta updates wait until the recomputed counters are written
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CourseStats s WHERE s.courseId IN :courseIds ORDER BY s.courseId")
+    List<CourseStats> lockAllByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    @Modifying
+    @Query("UPDATE CourseStats s SET s.ratingSum = s.ratingSum + :sumDelta, " +
+           "s.ratingCount = s.ratingCount + :countDelta, " +
+           "s.rating1 = s.rating1 + :r1, s.rating2 = s.rating2 + :r2, s.rating3 = s.rating3 + :r3, " +
+           "s.rating4 = s.rating4 + :r4, s.rating5 = s.rating5 + :r5 WHERE s.courseId = :courseId")
+    int addRatings(@Param("courseId") Long courseId,
+                   @Param("sumDelta") long sumDelta,
+                   @Param("countDelta") long countDelta,
+                   @Param("r1") long r1,
+                   @Param("r2") long r2,
+                   @Param("r3") long r3,
+                   @Param("r4") long r4,
+                   @Param("r5") long r5);
+
+    @Modifying
+    @Query("UPDATE CourseStats s SET s.activeEnrollments = s.activeEnrollments + :active, " +
+           "s.completedEnrollments = s.completedEnrollments + :completed, " +
+           "s.droppedEnrollments = s.droppedEnrollments + :dropped WHERE s.courseId = :courseId")
+    int addEnrollments(@Param("courseId") Long courseId,
+                       @Param("active") long active,
+                       @Param("completed") long completed,
+                       @Param("dropped") long dropped);
+
+    @Modifying
+    @Query("UPDATE CourseStats s SET s.submissionCount = s.submissionCount + :delta WHERE s.courseId = :courseId")
+    int addSubmissions(@Param("courseId") Long courseId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("DELETE FROM CourseStats s WHERE s.courseId = :courseId")
+    void deleteByCourseId(@Param("courseId") Long courseId);
+}
@@ -0,0 +1,10 @@
+package org.example.learning_platform.repository;
+
+import java.util.Collection;
+
+public interface CourseStatsRepositoryCustom {
+
+    // Zeroed rows for the courses that have none; existing rows, including
+    // ones created concurrently, are left untouched
+    void insertMissing(Collection<Long> courseIds);
+}
@@ -0,0 +1,31 @@
+package org.example.learning_platform.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class CourseStatsRepositoryImpl implements CourseStatsRepositoryCustom {
+
+    private static final String[] COLUMNS = {
+            "course_id", "rating_sum", "rating_count", "rating1", "rating2", "rating3", "rating4", "rating5",
+            "active_enrollments", "completed_enrollments", "dropped_enrollments", "submission_count"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect sqlDialect;
+
+    @Override
+    public void insertMissing(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sqlDialect.insertIgnoringConflicts("course_stats", "course_id", COLUMNS),
+                courseIds, courseIds.size(), (statement, courseId) -> {
+                    statement.setLong(1, courseId);
+                    for (int i = 2; i <= COLUMNS.length; i++) {
+                        statement.setLong(i, 0L);
+                    }
+                });
+    }
+}
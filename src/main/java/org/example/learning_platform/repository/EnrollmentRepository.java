@@ -1,19 +1,126 @@
 package org.example.learning_platform.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.learning_platform.model.Enrollment;
+import org.example.learning_platform.model.Submission;
+import org.example.learning_platform.repository.projection.EnrollmentCourseRow;
+import org.example.learning_platform.repository.projection.EnrollmentStatusCountRow;
+import org.example.learning_platform.repository.projection.RosterRow;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>, EnrollmentRepositoryCustom {
     List<Enrollment> findByStudentId(Long studentId);
 
     List<Enrollment> findByCourseId(Long courseId);
 
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student WHERE e.course.id = :courseId")
+    List<Enrollment> findWithStudentByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT e.id AS enrollmentId, s.id AS studentId, s.name AS studentName, s.email AS email, " +
+           "e.status AS status, e.enrollDate AS enrollDate FROM Enrollment e JOIN e.student s " +
+           "WHERE e.course.id = :courseId AND e.id > :afterId AND (:status IS NULL OR e.status = :status) " +
+           "ORDER BY e.id")
+    List<RosterRow> findRosterPage(@Param("courseId") Long courseId,
+                                   @Param("status") Enrollment.EnrollmentStatus status,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    @Query("SELECT e.id AS enrollmentId, s.id AS studentId, s.name AS studentName, s.email AS email, " +
+           "e.status AS status, e.enrollDate AS enrollDate FROM Enrollment e JOIN e.student s " +
+           "WHERE e.course.id = :courseId AND (:status IS NULL OR e.status = :status) ORDER BY e.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<RosterRow> streamRoster(@Param("courseId") Long courseId,
+                                   @Param("status") Enrollment.EnrollmentStatus status);
+
     Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId);
 
+    boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+
     List<Enrollment> findByStatus(Enrollment.EnrollmentStatus status);
+
+    long countByCourseIdAndStatus(Long courseId, Enrollment.EnrollmentStatus status);
+
+    @Query("SELECT e.course.id AS courseId, e.status AS status, COUNT(e) AS total FROM Enrollment e " +
+           "WHERE e.course.id IN :courseIds GROUP BY e.course.id, e.status")
+    List<EnrollmentStatusCountRow> countStatusesByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.status = :to WHERE e.course.id = :courseId AND e.status = :from")
+    int updateStatusByCourseId(@Param("courseId") Long courseId,
+                               @Param("from") Enrollment.EnrollmentStatus from,
+                               @Param("to") Enrollment.EnrollmentStatus to);
+
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.status = :to, e.completedDate = :completedDate " +
+           "WHERE e.course.id = :courseId AND e.status = :from")
+    int updateStatusAndCompletedDateByCourseId(@Param("courseId") Long courseId,
+                                               @Param("from") Enrollment.EnrollmentStatus from,
+                                               @Param("to") Enrollment.EnrollmentStatus to,
+                                               @Param("completedDate") LocalDateTime completedDate);
+
+    @Query("SELECT e.id FROM Enrollment e WHERE e.status = :status AND e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsByStatusAfterId(@Param("status") Enrollment.EnrollmentStatus status,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    // ACTIVE enrollments started before the cutoff without any submission or
+    // quiz attempt in the course since then. Courses without assignments or
+    // quizzes give no activity to go by, so their enrollments never expire.
+    @Query("SELECT e.id AS id, e.course.id AS courseId FROM Enrollment e " +
+           "WHERE e.id IN :ids AND e.status = :active AND e.enrollDate < :cutoff " +
+           "AND (EXISTS (SELECT 1 FROM Assignment a WHERE a.lesson.module.course = e.course) " +
+           "OR EXISTS (SELECT 1 FROM Quiz z WHERE z.module.course = e.course)) " +
+           "AND NOT EXISTS (SELECT 1 FROM Submission s WHERE s.student = e.student " +
+           "AND s.assignment.lesson.module.course = e.course AND s.submittedAt >= :cutoff) " +
+           "AND NOT EXISTS (SELECT 1 FROM QuizSubmission q WHERE q.student = e.student " +
+           "AND q.quiz.module.course = e.course AND q.takenAt >= :cutoff)")
+    List<EnrollmentCourseRow> findInactiveAmong(@Param("ids") Collection<Long> ids,
+                                                @Param("active") Enrollment.EnrollmentStatus active,
+                                                @Param("cutoff") LocalDateTime cutoff);
+
+    // ACTIVE enrollments whose student passed every quiz and has every
+    // assignment of the course graded; courses without a quiz never qualify
+    @Query("SELECT e.id AS id, e.course.id AS courseId FROM Enrollment e " +
+           "WHERE e.id IN :ids AND e.status = :active " +
+           "AND EXISTS (SELECT 1 FROM Quiz q WHERE q.module.course = e.course) " +
+           "AND NOT EXISTS (SELECT 1 FROM Quiz q WHERE q.module.course = e.course " +
+           "AND NOT EXISTS (SELECT 1 FROM QuizSubmission qs WHERE qs.quiz = q AND qs.student = e.student " +
+           "AND qs.passed = true)) " +
+           "AND NOT EXISTS (SELECT 1 FROM Assignment a WHERE a.lesson.module.course = e.course " +
+           "AND NOT EXISTS (SELECT 1 FROM Submission s WHERE s.assignment = a AND s.student = e.student " +
+           "AND s.status = :graded))")
+    List<EnrollmentCourseRow> findFinishedAmong(@Param("ids") Collection<Long> ids,
+                                                @Param("active") Enrollment.EnrollmentStatus active,
+                                                @Param("graded") Submission.SubmissionStatus graded);
+
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.status = :to WHERE e.id IN :ids AND e.course.id = :courseId " +
+           "AND e.status = :from")
+    int updateStatusByIds(@Param("courseId") Long courseId,
+                          @Param("ids") Collection<Long> ids,
+                          @Param("from") Enrollment.EnrollmentStatus from,
+                          @Param("to") Enrollment.EnrollmentStatus to);
+
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.status = :to, e.completedDate = :completedDate " +
+           "WHERE e.id IN :ids AND e.course.id = :courseId AND e.status = :from")
+    int updateStatusAndCompletedDateByIds(@Param("courseId") Long courseId,
+                                          @Param("ids") Collection<Long> ids,
+                                          @Param("from") Enrollment.EnrollmentStatus from,
+                                          @Param("to") Enrollment.EnrollmentStatus to,
+                                          @Param("completedDate") LocalDateTime completedDate);
 }
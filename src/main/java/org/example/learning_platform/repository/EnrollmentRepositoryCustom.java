@@ -0,0 +1,12 @@
+package org.example.learning_platform.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EnrollmentRepositoryCustom {
+
+    // Enrolls the students as ACTIVE in one round trip; pairs that already
+    // exist are skipped by the unique constraint. Returns the students that
+    // were actually inserted.
+    List<Long> insertMissing(Long courseId, List<Long> studentIds, LocalDateTime enrollDate);
+}
@@ -0,0 +1,62 @@
+package org.example.learning_platform.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.model.Enrollment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class EnrollmentRepositoryImpl implements EnrollmentRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect sqlDialect;
+
+    @Override
+    public List<Long> insertMissing(Long courseId, List<Long> studentIds, LocalDateTime enrollDate) {
+        if (studentIds.isEmpty()) {
+            return List.of();
+        }
+        String status = Enrollment.EnrollmentStatus.ACTIVE.name();
+        if (sqlDialect.isPostgres()) {
+            // A single statement over an array parameter; RETURNING names the rows
+            // that were inserted, which batch update counts cannot once the driver
+            // rewrites the batch.
+            return jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(
+                        "INSERT INTO enrollments (student_id, course_id, enroll_date, status) " +
+                        "SELECT s.id, ?, ?, ? FROM unnest(?) AS s(id) " +
+                        "ON CONFLICT (student_id, course_id) DO NOTHING RETURNING student_id");
+                statement.setLong(1, courseId);
+                statement.setTimestamp(2, Timestamp.valueOf(enrollDate));
+                statement.setString(3, status);
+                statement.setArray(4, connection.createArrayOf("bigint", studentIds.toArray()));
+                return statement;
+            }, (row, rowNum) -> row.getLong(1));
+        }
+
+        // H2 reports an exact count per row of the batch
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "MERGE INTO enrollments e USING (SELECT CAST(? AS BIGINT) AS student_id) s " +
+                "ON e.student_id = s.student_id AND e.course_id = ? " +
+                "WHEN NOT MATCHED THEN INSERT (student_id, course_id, enroll_date, status) " +
+                "VALUES (s.student_id, ?, ?, ?)",
+                studentIds, studentIds.size(), (statement, studentId) -> {
+                    statement.setLong(1, studentId);
+                    statement.setLong(2, courseId);
+                    statement.setLong(3, courseId);
+                    statement.setTimestamp(4, Timestamp.valueOf(enrollDate));
+                    statement.setString(5, status);
+                });
+        List<Long> inserted = new ArrayList<>();
+        for (int i = 0; i < studentIds.size(); i++) {
+            if (counts[0][i] > 0) {
+                inserted.add(studentIds.get(i));
+            }
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.learning_platform.repository;
+
+import org.example.learning_platform.model.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
@@ -1,7 +1,10 @@
 package org.example.learning_platform.repository;
 
 import org.example.learning_platform.model.Lesson;
+import org.example.learning_platform.repository.projection.LessonOutlineRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +12,8 @@ import java.util.List;
 @Repository
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
     List<Lesson> findByModuleIdOrderByOrderIndex(Long moduleId);
+
+    @Query("SELECT l.id AS id, m.id AS moduleId, l.title AS title, l.videoUrl AS videoUrl, l.orderIndex AS orderIndex " +
+           "FROM Lesson l JOIN l.module m WHERE m.course.id = :courseId ORDER BY l.orderIndex, l.id")
+    List<LessonOutlineRow> findOutlineByCourseId(@Param("courseId") Long courseId);
 }
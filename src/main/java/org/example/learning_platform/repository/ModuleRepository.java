@@ -1,7 +1,10 @@
 package org.example.learning_platform.repository;
 
 import org.example.learning_platform.model.Module;
+import org.example.learning_platform.repository.projection.ModuleOutlineRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +12,8 @@ import java.util.List;
 @Repository
 public interface ModuleRepository extends JpaRepository<Module, Long> {
     List<Module> findByCourseIdOrderByOrderIndex(Long courseId);
+
+    @Query("SELECT m.id AS id, m.title AS title, m.description AS description, m.orderIndex AS orderIndex " +
+           "FROM Module m WHERE m.course.id = :courseId ORDER BY m.orderIndex, m.id")
+    List<ModuleOutlineRow> findOutlineByCourseId(@Param("courseId") Long courseId);
 }
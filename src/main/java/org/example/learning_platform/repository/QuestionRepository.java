@@ -1,7 +1,11 @@
 package org.example.learning_platform.repository;
 
 import org.example.learning_platform.model.Question;
+import org.example.learning_platform.repository.projection.AnswerKeyRow;
+import org.example.learning_platform.repository.projection.QuestionRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +13,12 @@ import java.util.List;
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findByQuizId(Long quizId);
+
+    @Query("SELECT q.id AS id, q.text AS text, q.type AS type, q.points AS points FROM Question q " +
+           "WHERE q.quiz.id = :quizId ORDER BY q.id")
+    List<QuestionRow> findRowsByQuizId(@Param("quizId") Long quizId);
+
+    @Query("SELECT q.id AS questionId, q.type AS type, q.points AS points, o.id AS optionId, o.isCorrect AS correct " +
+           "FROM Question q LEFT JOIN q.options o WHERE q.quiz.id = :quizId ORDER BY q.id, o.id")
+    List<AnswerKeyRow> findAnswerKeyRows(@Param("quizId") Long quizId);
 }
@@ -0,0 +1,38 @@
+package org.example.learning_platform.repository;
+
+import org.example.learning_platform.model.QuizAttemptCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface QuizAttemptCounterRepository
+        extends JpaRepository<QuizAttemptCounter, QuizAttemptCounter.Key>, QuizAttemptCounterRepositoryCustom {
+
+    // Counts one more attempt unless the limit is reached; the row lock it
+    // takes is held until commit, so concurrent takes are numbered one by one
+    @Modifying
+    @Query("UPDATE QuizAttemptCounter c SET c.attempts = c.attempts + 1 " +
+           "WHERE c.quizId = :quizId AND c.studentId = :studentId AND c.attempts < :maxAttempts")
+    int increment(@Param("quizId") Long quizId,
+                  @Param("studentId") Long studentId,
+                  @Param("maxAttempts") int maxAttempts);
+
+    @Query("SELECT c.attempts FROM QuizAttemptCounter c WHERE c.quizId = :quizId AND c.studentId = :studentId")
+    Optional<Integer> findAttempts(@Param("quizId") Long quizId, @Param("studentId") Long studentId);
+
+    // Counters have no foreign key, so they are removed with the quizzes they count
+    @Modifying
+    @Query("DELETE FROM QuizAttemptCounter c WHERE c.quizId IN " +
+           "(SELECT q.id FROM Quiz q WHERE q.module.id = :moduleId)")
+    void deleteByModuleId(@Param("moduleId") Long moduleId);
+
+    @Modifying
+    @Query("DELETE FROM QuizAttemptCounter c WHERE c.quizId IN " +
+           "(SELECT q.id FROM Quiz q WHERE q.module.course.id = :courseId)")
+    void deleteByCourseId(@Param("courseId") Long courseId);
+}
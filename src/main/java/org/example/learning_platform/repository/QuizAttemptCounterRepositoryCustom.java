@@ -0,0 +1,8 @@
+package org.example.learning_platform.repository;
+
+public interface QuizAttemptCounterRepositoryCustom {
+
+    // Creates the counter with the given value unless it already exists,
+    // including when another transaction has just created it
+    void insertIfMissing(Long quizId, Long studentId, int attempts);
+}
@@ -0,0 +1,19 @@
+package org.example.learning_platform.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+public class QuizAttemptCounterRepositoryImpl implements QuizAttemptCounterRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect sqlDialect;
+
+    @Override
+    public void insertIfMissing(Long quizId, Long studentId, int attempts) {
+        jdbcTemplate.update(
+                sqlDialect.insertIgnoringConflicts("quiz_attempt_counters", "quiz_id, student_id",
+                        "quiz_id", "student_id", "attempts"),
+                quizId, studentId, attempts);
+    }
+}
@@ -1,12 +1,24 @@
 package org.example.learning_platform.repository;
 
 import org.example.learning_platform.model.Quiz;
+import org.example.learning_platform.repository.projection.QuizOutlineRow;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
     Optional<Quiz> findByModuleId(Long moduleId);
+
+    @EntityGraph(attributePaths = "module")
+    Optional<Quiz> findWithModuleById(Long id);
+
+    @Query("SELECT q.id AS id, m.id AS moduleId, q.title AS title, q.timeLimit AS timeLimit, " +
+           "q.passingScore AS passingScore FROM Quiz q JOIN q.module m WHERE m.course.id = :courseId")
+    List<QuizOutlineRow> findOutlineByCourseId(@Param("courseId") Long courseId);
 }
@@ -2,6 +2,8 @@ package org.example.learning_platform.repository;
 
 import org.example.learning_platform.model.QuizSubmission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +15,8 @@ public interface QuizSubmissionRepository extends JpaRepository<QuizSubmission,
     List<QuizSubmission> findByStudentId(Long studentId);
 
     List<QuizSubmission> findByQuizIdAndStudentId(Long quizId, Long studentId);
+
+    @Query("SELECT COALESCE(MAX(s.attemptNumber), 0) FROM QuizSubmission s " +
+           "WHERE s.quiz.id = :quizId AND s.student.id = :studentId")
+    int findMaxAttemptNumber(@Param("quizId") Long quizId, @Param("studentId") Long studentId);
 }
@@ -0,0 +1,123 @@
+package org.example.learning_platform.repository;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// The few native statements whose syntax differs between PostgreSQL and the
+// embedded H2 database used by the tests.
+@Component
+public class SqlDialect {
+
+    private final boolean postgres;
+
+    public SqlDialect(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            this.postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot determine the database type", e);
+        }
+    }
+
+    public boolean isPostgres() {
+        return postgres;
+    }
+
+    // Both databases report a unique violation as SQLState 23505; a missing
+    // foreign key row is 23503 on PostgreSQL and 23506 on H2
+    public static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                return "23505".equals(sqlException.getSQLState());
+            }
+        }
+        return false;
+    }
+
+    // INSERT that silently skips rows whose key already exists, including rows
+    // committed concurrently by another transaction
+    public String insertIgnoringConflicts(String table, String keyColumns, String... columns) {
+        String columnList = String.join(", ", columns);
+        String values = String.join(", ", Collections.nCopies(columns.length, "?"));
+        if (postgres) {
+            return "INSERT INTO " + table + " (" + columnList + ") VALUES (" + values + ") " +
+                   "ON CONFLICT (" + keyColumns + ") DO NOTHING";
+        }
+        // H2's MERGE ... KEY would update an existing row, so only the
+        // not-matched branch of a standard MERGE is used
+        String condition = Arrays.stream(keyColumns.split(","))
+                .map(String::trim)
+                .map(column -> "existing." + column + " = incoming." + column)
+                .collect(Collectors.joining(" AND "));
+        String incomingList = Arrays.stream(columns)
+                .map(column -> "incoming." + column)
+                .collect(Collectors.joining(", "));
+        return "MERGE INTO " + table + " existing USING (VALUES (" + values + ")) incoming (" + columnList + ") " +
+               "ON " + condition + " WHEN NOT MATCHED THEN INSERT (" + columnList + ") VALUES (" + incomingList + ")";
+    }
+
+    // One JDBC batch of INSERTs into a table with an IDENTITY id; returns the
+    // generated ids in the order of the rows
+    public <T> List<Long> insertReturningIds(JdbcTemplate jdbcTemplate, String sql, List<T> rows,
+                                             ParameterizedPreparedStatementSetter<T> setter) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> prepareInsertReturningId(connection, sql),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        setter.setValues(statement, rows.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keys);
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.add(idOf(key));
+        }
+        if (ids.size() != rows.size()) {
+            throw new IllegalStateException("Expected " + rows.size() + " generated keys, got " + ids.size());
+        }
+        return ids;
+    }
+
+    // PostgreSQL would return every column for RETURN_GENERATED_KEYS, so the
+    // key column is named; H2 returns only the identity column either way.
+    private PreparedStatement prepareInsertReturningId(Connection connection, String sql) throws SQLException {
+        if (postgres) {
+            return connection.prepareStatement(sql, new String[]{"id"});
+        }
+        return connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+    }
+
+    private static Long idOf(Map<String, Object> key) {
+        for (Map.Entry<String, Object> column : key.entrySet()) {
+            if (column.getKey().equalsIgnoreCase("id")) {
+                return ((Number) column.getValue()).longValue();
+            }
+        }
+        throw new IllegalStateException("No generated id in " + key.keySet());
+    }
+}
@@ -1,17 +1,87 @@
 package org.example.learning_platform.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.learning_platform.model.Submission;
+import org.example.learning_platform.repository.projection.CourseCountRow;
+import org.example.learning_platform.repository.projection.GradingTaskRow;
+import org.example.learning_platform.repository.projection.SubmissionContentRow;
+import org.example.learning_platform.repository.projection.SubmissionExportRow;
+import org.example.learning_platform.repository.projection.SubmissionKeyRow;
+import org.example.learning_platform.repository.projection.SubmissionRow;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface SubmissionRepository extends JpaRepository<Submission, Long> {
+public interface SubmissionRepository extends JpaRepository<Submission, Long>, SubmissionRepositoryCustom {
     List<Submission> findByAssignmentId(Long assignmentId);
 
     List<Submission> findByStudentId(Long studentId);
 
     Optional<Submission> findByAssignmentIdAndStudentId(Long assignmentId, Long studentId);
+
+    // Listings never touch the body; see ContentStore
+    @Query("SELECT s.id AS id, a.id AS assignmentId, a.title AS assignmentTitle, s.student.id AS studentId, " +
+           "s.contentHash AS contentHash, s.contentSize AS contentSize, s.score AS score, s.feedback AS feedback, " +
+           "s.status AS status, s.submittedAt AS submittedAt FROM Submission s JOIN s.assignment a " +
+           "WHERE a.id = :assignmentId ORDER BY s.id")
+    List<SubmissionRow> findRowsByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    @Query("SELECT s.id AS id, a.id AS assignmentId, a.title AS assignmentTitle, s.student.id AS studentId, " +
+           "s.contentHash AS contentHash, s.contentSize AS contentSize, s.score AS score, s.feedback AS feedback, " +
+           "s.status AS status, s.submittedAt AS submittedAt FROM Submission s JOIN s.assignment a " +
+           "WHERE s.student.id = :studentId ORDER BY s.id")
+    List<SubmissionRow> findRowsByStudentId(@Param("studentId") Long studentId);
+
+    // One scrolled query for the export; bodies in the content store are read from there
+    @Query("SELECT s.id AS id, a.id AS assignmentId, a.title AS assignmentTitle, u.id AS studentId, " +
+           "u.name AS studentName, s.contentHash AS contentHash, s.contentSize AS contentSize, " +
+           "s.legacyContent AS legacyContent, s.score AS score, s.feedback AS feedback, s.status AS status, " +
+           "s.submittedAt AS submittedAt FROM Submission s JOIN s.assignment a JOIN s.student u " +
+           "WHERE a.id = :assignmentId ORDER BY s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<SubmissionExportRow> streamExportRows(@Param("assignmentId") Long assignmentId);
+
+    @Query("SELECT s.id AS id, s.legacyContent AS legacyContent FROM Submission s WHERE s.id IN :ids")
+    List<SubmissionContentRow> findLegacyContents(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.id FROM Submission s WHERE s.contentHash IS NULL AND s.legacyContent IS NOT NULL " +
+           "AND s.id > :afterId ORDER BY s.id")
+    List<Long> findIdsWithLegacyContentAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Submission s SET s.contentHash = :hash, s.contentSize = :size, s.legacyContent = NULL " +
+           "WHERE s.id = :id AND s.contentHash IS NULL")
+    int moveContent(@Param("id") Long id, @Param("hash") String hash, @Param("size") Integer size);
+
+    @Query("SELECT s.id AS submissionId, a.id AS assignmentId, a.title AS assignmentTitle, a.dueDate AS dueDate, " +
+           "m.course.id AS courseId, s.student.id AS studentId, s.submittedAt AS submittedAt, " +
+           "s.leaseExpiresAt AS leaseExpiresAt FROM Submission s JOIN s.assignment a JOIN a.lesson l JOIN l.module m " +
+           "WHERE s.id IN :ids ORDER BY a.dueDate NULLS LAST, s.submittedAt, s.id")
+    List<GradingTaskRow> findGradingTasks(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Submission s SET s.leasedBy = NULL, s.leaseExpiresAt = NULL " +
+           "WHERE s.id IN :ids AND s.leasedBy = :graderId")
+    int releaseLeases(@Param("graderId") Long graderId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.assignment.id AS assignmentId, s.student.id AS studentId FROM Submission s " +
+           "WHERE s.assignment.id IN :assignmentIds AND s.student.id IN :studentIds")
+    List<SubmissionKeyRow> findKeysAmong(@Param("assignmentIds") Collection<Long> assignmentIds,
+                                         @Param("studentIds") Collection<Long> studentIds);
+
+    @Query("SELECT m.course.id AS courseId, COUNT(s) AS total FROM Submission s " +
+           "JOIN s.assignment a JOIN a.lesson l JOIN l.module m " +
+           "WHERE m.course.id IN :courseIds GROUP BY m.course.id")
+    List<CourseCountRow> countByCourseIds(@Param("courseIds") Collection<Long> courseIds);
 }
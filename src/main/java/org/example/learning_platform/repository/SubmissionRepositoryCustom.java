@@ -0,0 +1,27 @@
+package org.example.learning_platform.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SubmissionRepositoryCustom {
+
+    record Grade(Long submissionId, Integer score, String feedback) {
+    }
+
+    record NewSubmission(Long assignmentId, Long studentId, String contentHash, int contentSize,
+                         LocalDateTime submittedAt) {
+    }
+
+    // Grades submissions of one assignment with JDBC batches of UPDATEs.
+    // Returns, per grade, whether a submission of that assignment was updated.
+    boolean[] updateGrades(Long assignmentId, List<Grade> grades);
+
+    // Inserts SUBMITTED rows with one JDBC batch and returns their IDs in order.
+    // A duplicate (assignment, student) pair fails the whole batch.
+    List<Long> insertSubmissions(List<NewSubmission> submissions);
+
+    // Leases up to `limit` ungraded submissions of the teacher's courses to the
+    // grader, earliest due date first, skipping submissions under a live lease.
+    // Concurrent claims never return the same submission.
+    List<Long> claimUngraded(Long teacherId, Long graderId, int limit, LocalDateTime now, LocalDateTime leaseUntil);
+}
@@ -0,0 +1,102 @@
+package org.example.learning_platform.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.model.Submission;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class SubmissionRepositoryImpl implements SubmissionRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect sqlDialect;
+
+    @Override
+    public boolean[] updateGrades(Long assignmentId, List<Grade> grades) {
+        boolean[] updated = new boolean[grades.size()];
+        if (grades.isEmpty()) {
+            return updated;
+        }
+        // The assignment condition keeps a submission ID of another assignment from being graded
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "UPDATE submissions SET score = ?, feedback = ?, status = ?, leased_by = NULL, lease_expires_at = NULL " +
+                "WHERE id = ? AND assignment_id = ?",
+                grades, BATCH_SIZE, (statement, grade) -> {
+                    statement.setInt(1, grade.score());
+                    if (grade.feedback() == null) {
+                        statement.setNull(2, Types.VARCHAR);
+                    } else {
+                        statement.setString(2, grade.feedback());
+                    }
+                    statement.setString(3, Submission.SubmissionStatus.GRADED.name());
+                    statement.setLong(4, grade.submissionId());
+                    statement.setLong(5, assignmentId);
+                });
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                updated[i++] = count > 0 || count == Statement.SUCCESS_NO_INFO;
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public List<Long> insertSubmissions(List<NewSubmission> submissions) {
+        return sqlDialect.insertReturningIds(jdbcTemplate,
+                "INSERT INTO submissions (assignment_id, student_id, content_hash, content_size, " +
+                "submitted_at, status) VALUES (?, ?, ?, ?, ?, ?)",
+                submissions, (statement, submission) -> {
+                    statement.setLong(1, submission.assignmentId());
+                    statement.setLong(2, submission.studentId());
+                    statement.setString(3, submission.contentHash());
+                    statement.setInt(4, submission.contentSize());
+                    statement.setTimestamp(5, Timestamp.valueOf(submission.submittedAt()));
+                    statement.setString(6, Submission.SubmissionStatus.SUBMITTED.name());
+                });
+    }
+
+    @Override
+    public List<Long> claimUngraded(Long teacherId, Long graderId, int limit,
+                                    LocalDateTime now, LocalDateTime leaseUntil) {
+        String candidates = "SELECT s.id FROM submissions s " +
+                "JOIN assignments a ON a.id = s.assignment_id " +
+                "JOIN lessons l ON l.id = a.lesson_id " +
+                "JOIN modules m ON m.id = l.module_id " +
+                "JOIN courses c ON c.id = m.course_id " +
+                "WHERE c.teacher_id = ? AND s.status = ? " +
+                "AND (s.lease_expires_at IS NULL OR s.lease_expires_at <= ?) " +
+                "ORDER BY a.due_date NULLS LAST, s.submitted_at, s.id LIMIT ?";
+        Object[] candidateArgs = {teacherId, Submission.SubmissionStatus.SUBMITTED.name(), Timestamp.valueOf(now), limit};
+        if (sqlDialect.isPostgres()) {
+            // Rows locked by a concurrent claim are skipped instead of waited for
+            return jdbcTemplate.queryForList(
+                    "UPDATE submissions SET leased_by = ?, lease_expires_at = ? " +
+                    "WHERE id IN (" + candidates + " FOR UPDATE OF s SKIP LOCKED) RETURNING id",
+                    Long.class, prepend(candidateArgs, graderId, Timestamp.valueOf(leaseUntil)));
+        }
+        // H2 has no SKIP LOCKED; the caller serializes claims instead
+        List<Long> ids = jdbcTemplate.queryForList(candidates, Long.class, candidateArgs);
+        jdbcTemplate.batchUpdate("UPDATE submissions SET leased_by = ?, lease_expires_at = ? WHERE id = ?",
+                ids, BATCH_SIZE, (statement, id) -> {
+                    statement.setLong(1, graderId);
+                    statement.setTimestamp(2, Timestamp.valueOf(leaseUntil));
+                    statement.setLong(3, id);
+                });
+        return ids;
+    }
+
+    private static Object[] prepend(Object[] args, Object... first) {
+        Object[] all = new Object[first.length + args.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(args, 0, all, first.length, args.length);
+        return all;
+    }
+}
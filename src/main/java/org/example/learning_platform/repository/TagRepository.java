@@ -1,12 +1,26 @@
 package org.example.learning_platform.repository;
 
 import org.example.learning_platform.model.Tag;
+import org.example.learning_platform.repository.projection.TagCountRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TagRepository extends JpaRepository<Tag, Long> {
+public interface TagRepository extends JpaRepository<Tag, Long>, TagRepositoryCustom {
     Optional<Tag> findByName(String name);
+
+    List<Tag> findByNameIn(Collection<String> names);
+
+    @Query("SELECT t.name AS name, COUNT(c) AS total FROM Tag t LEFT JOIN t.courses c GROUP BY t.name")
+    List<TagCountRow> countCoursesByTag();
+
+    @Query("SELECT t.name AS name, COUNT(c) AS total FROM Tag t LEFT JOIN t.courses c " +
+           "WHERE t.name IN :names GROUP BY t.name")
+    List<TagCountRow> countCoursesByTagNames(@Param("names") Collection<String> names);
 }
@@ -0,0 +1,9 @@
+package org.example.learning_platform.repository;
+
+import java.util.Collection;
+
+public interface TagRepositoryCustom {
+
+    // One batched statement; names that already exist are left untouched
+    void insertMissing(Collection<String> names);
+}
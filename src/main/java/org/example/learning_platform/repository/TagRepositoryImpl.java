@@ -0,0 +1,22 @@
+package org.example.learning_platform.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class TagRepositoryImpl implements TagRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect sqlDialect;
+
+    @Override
+    public void insertMissing(Collection<String> names) {
+        if (names.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sqlDialect.insertIgnoringConflicts("tags", "name", "name"),
+                names, names.size(), (statement, name) -> statement.setString(1, name));
+    }
+}
@@ -1,9 +1,13 @@
 package org.example.learning_platform.repository;
 
 import org.example.learning_platform.model.User;
+import org.example.learning_platform.repository.projection.UserRoleRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,7 +15,15 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
+    List<User> findByEmailIn(Collection<String> emails);
+
     List<User> findByRole(User.UserRole role);
 
+    @Query("SELECT u.id AS id, u.name AS name, u.role AS role FROM User u WHERE u.id IN :ids")
+    List<UserRoleRow> findRolesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id AS id, u.name AS name, u.role AS role FROM User u WHERE u.id = :id")
+    Optional<UserRoleRow> findRoleById(@Param("id") Long id);
+
     boolean existsByEmail(String email);
 }
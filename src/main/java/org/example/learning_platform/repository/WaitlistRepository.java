@@ -0,0 +1,31 @@
+package org.example.learning_platform.repository;
+
+import org.example.learning_platform.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long>, WaitlistRepositoryCustom {
+
+    Optional<WaitlistEntry> findFirstByCourseIdOrderByIdAsc(Long courseId);
+
+    long countByCourseId(Long courseId);
+
+    // 1-based place of the student in the course's waitlist, 0 if not on it
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.course.id = :courseId AND w.id <= " +
+           "(SELECT o.id FROM WaitlistEntry o WHERE o.course.id = :courseId AND o.student.id = :studentId)")
+    long findPosition(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.id = :id")
+    int deleteEntry(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.course.id = :courseId")
+    void deleteByCourseId(@Param("courseId") Long courseId);
+}
@@ -0,0 +1,9 @@
+package org.example.learning_platform.repository;
+
+import java.time.LocalDateTime;
+
+public interface WaitlistRepositoryCustom {
+
+    // Adds the student to the end of the waitlist unless already on it
+    void insertMissing(Long courseId, Long studentId, LocalDateTime createdAt);
+}
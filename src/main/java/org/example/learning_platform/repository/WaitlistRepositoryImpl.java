@@ -0,0 +1,21 @@
+package org.example.learning_platform.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class WaitlistRepositoryImpl implements WaitlistRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect sqlDialect;
+
+    @Override
+    public void insertMissing(Long courseId, Long studentId, LocalDateTime createdAt) {
+        jdbcTemplate.update(sqlDialect.insertIgnoringConflicts("waitlist_entries", "student_id, course_id",
+                        "student_id", "course_id", "created_at"),
+                studentId, courseId, Timestamp.valueOf(createdAt));
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.learning_platform.repository.projection;
+
+import org.example.learning_platform.model.Question;
+
+public interface AnswerKeyRow {
+    Long getQuestionId();
+
+    Question.QuestionType getType();
+
+    Integer getPoints();
+
+    // Null for a question without options
+    Long getOptionId();
+
+    Boolean getCorrect();
+}
@@ -0,0 +1,9 @@
+package org.example.learning_platform.repository.projection;
+
+public interface AnswerOptionRow {
+    Long getId();
+
+    Long getQuestionId();
+
+    String getText();
+}
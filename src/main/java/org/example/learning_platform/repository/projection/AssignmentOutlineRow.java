@@ -0,0 +1,17 @@
+package org.example.learning_platform.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface AssignmentOutlineRow {
+    Long getId();
+
+    Long getLessonId();
+
+    String getTitle();
+
+    String getDescription();
+
+    LocalDateTime getDueDate();
+
+    Integer getMaxScore();
+}
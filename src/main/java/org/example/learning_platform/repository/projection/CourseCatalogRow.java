@@ -0,0 +1,19 @@
+package org.example.learning_platform.repository.projection;
+
+import java.time.LocalDate;
+
+public interface CourseCatalogRow {
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getDuration();
+
+    LocalDate getStartDate();
+
+    String getCategoryName();
+
+    String getTeacherName();
+}
@@ -0,0 +1,7 @@
+package org.example.learning_platform.repository.projection;
+
+public interface CourseCountRow {
+    Long getCourseId();
+
+    Long getTotal();
+}
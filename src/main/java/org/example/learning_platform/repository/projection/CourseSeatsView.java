@@ -0,0 +1,9 @@
+package org.example.learning_platform.repository.projection;
+
+public interface CourseSeatsView {
+    Long getCourseId();
+
+    Long getCapacity();
+
+    Long getTaken();
+}
@@ -0,0 +1,27 @@
+package org.example.learning_platform.repository.projection;
+
+public interface CourseStatsView {
+    Long getCourseId();
+
+    Long getRatingSum();
+
+    Long getRatingCount();
+
+    Long getRating1();
+
+    Long getRating2();
+
+    Long getRating3();
+
+    Long getRating4();
+
+    Long getRating5();
+
+    Long getActiveEnrollments();
+
+    Long getCompletedEnrollments();
+
+    Long getDroppedEnrollments();
+
+    Long getSubmissionCount();
+}
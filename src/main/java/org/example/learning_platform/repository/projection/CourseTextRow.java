@@ -0,0 +1,9 @@
+package org.example.learning_platform.repository.projection;
+
+public interface CourseTextRow {
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+}
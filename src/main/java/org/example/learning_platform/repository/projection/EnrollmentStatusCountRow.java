@@ -0,0 +1,11 @@
+package org.example.learning_platform.repository.projection;
+
+import org.example.learning_platform.model.Enrollment;
+
+public interface EnrollmentStatusCountRow {
+    Long getCourseId();
+
+    Enrollment.EnrollmentStatus getStatus();
+
+    Long getTotal();
+}
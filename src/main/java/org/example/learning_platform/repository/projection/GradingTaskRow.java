@@ -0,0 +1,21 @@
+package org.example.learning_platform.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface GradingTaskRow {
+    Long getSubmissionId();
+
+    Long getAssignmentId();
+
+    String getAssignmentTitle();
+
+    LocalDateTime getDueDate();
+
+    Long getCourseId();
+
+    Long getStudentId();
+
+    LocalDateTime getSubmittedAt();
+
+    LocalDateTime getLeaseExpiresAt();
+}
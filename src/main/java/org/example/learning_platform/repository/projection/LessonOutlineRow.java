@@ -0,0 +1,13 @@
+package org.example.learning_platform.repository.projection;
+
+public interface LessonOutlineRow {
+    Long getId();
+
+    Long getModuleId();
+
+    String getTitle();
+
+    String getVideoUrl();
+
+    Integer getOrderIndex();
+}
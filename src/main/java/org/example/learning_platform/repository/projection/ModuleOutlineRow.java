@@ -0,0 +1,11 @@
+package org.example.learning_platform.repository.projection;
+
+public interface ModuleOutlineRow {
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    Integer getOrderIndex();
+}
@@ -0,0 +1,13 @@
+package org.example.learning_platform.repository.projection;
+
+import org.example.learning_platform.model.Question;
+
+public interface QuestionRow {
+    Long getId();
+
+    String getText();
+
+    Question.QuestionType getType();
+
+    Integer getPoints();
+}
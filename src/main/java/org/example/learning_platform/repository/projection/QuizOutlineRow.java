@@ -0,0 +1,13 @@
+package org.example.learning_platform.repository.projection;
+
+public interface QuizOutlineRow {
+    Long getId();
+
+    Long getModuleId();
+
+    String getTitle();
+
+    Integer getTimeLimit();
+
+    Integer getPassingScore();
+}
@@ -0,0 +1,9 @@
+package org.example.learning_platform.repository.projection;
+
+public interface RatingCountRow {
+    Long getCourseId();
+
+    Integer getRating();
+
+    Long getTotal();
+}
@@ -0,0 +1,19 @@
+package org.example.learning_platform.repository.projection;
+
+import org.example.learning_platform.model.Enrollment;
+
+import java.time.LocalDateTime;
+
+public interface RosterRow {
+    Long getEnrollmentId();
+
+    Long getStudentId();
+
+    String getStudentName();
+
+    String getEmail();
+
+    Enrollment.EnrollmentStatus getStatus();
+
+    LocalDateTime getEnrollDate();
+}
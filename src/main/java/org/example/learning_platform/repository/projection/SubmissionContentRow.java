@@ -0,0 +1,7 @@
+package org.example.learning_platform.repository.projection;
+
+public interface SubmissionContentRow {
+    Long getId();
+
+    String getLegacyContent();
+}
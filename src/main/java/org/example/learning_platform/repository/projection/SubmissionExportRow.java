@@ -0,0 +1,31 @@
+package org.example.learning_platform.repository.projection;
+
+import org.example.learning_platform.model.Submission;
+
+import java.time.LocalDateTime;
+
+public interface SubmissionExportRow {
+    Long getId();
+
+    Long getAssignmentId();
+
+    String getAssignmentTitle();
+
+    Long getStudentId();
+
+    String getStudentName();
+
+    String getContentHash();
+
+    Integer getContentSize();
+
+    String getLegacyContent();
+
+    Integer getScore();
+
+    String getFeedback();
+
+    Submission.SubmissionStatus getStatus();
+
+    LocalDateTime getSubmittedAt();
+}
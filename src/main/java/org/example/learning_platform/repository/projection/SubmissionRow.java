@@ -0,0 +1,27 @@
+package org.example.learning_platform.repository.projection;
+
+import org.example.learning_platform.model.Submission;
+
+import java.time.LocalDateTime;
+
+public interface SubmissionRow {
+    Long getId();
+
+    Long getAssignmentId();
+
+    String getAssignmentTitle();
+
+    Long getStudentId();
+
+    String getContentHash();
+
+    Integer getContentSize();
+
+    Integer getScore();
+
+    String getFeedback();
+
+    Submission.SubmissionStatus getStatus();
+
+    LocalDateTime getSubmittedAt();
+}
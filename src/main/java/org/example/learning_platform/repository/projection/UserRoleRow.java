@@ -0,0 +1,11 @@
+package org.example.learning_platform.repository.projection;
+
+import org.example.learning_platform.model.User;
+
+public interface UserRoleRow {
+    Long getId();
+
+    String getName();
+
+    User.UserRole getRole();
+}
@@ -0,0 +1,158 @@
+package org.example.learning_platform.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.learning_platform.dto.AutocompleteDTO;
+import org.example.learning_platform.dto.CourseSuggestionDTO;
+import org.example.learning_platform.dto.TagSuggestionDTO;
+import org.example.learning_platform.event.CourseChangedEvent;
+import org.example.learning_platform.repository.CourseRepository;
+import org.example.learning_platform.repository.TagRepository;
+import org.example.learning_platform.repository.projection.CourseTitleRow;
+import org.example.learning_platform.repository.projection.TagCountRow;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Type-ahead over tag names (weighted by course count) and course titles,
+// answered from in-memory prefix tries that follow course changes.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AutocompleteService {
+
+    public static final int MAX_LIMIT = PrefixIndex.CACHE_SIZE;
+
+    private final CourseRepository courseRepository;
+    private final TagRepository tagRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object writeLock = new Object();
+    // Replaced as a whole by rebuild(); guarded by writeLock for writers
+    private volatile PrefixIndex<String> tags = new PrefixIndex<>();
+    private volatile PrefixIndex<Long> courses = new PrefixIndex<>();
+    // Changes that arrive while a rebuild is loading; guarded by writeLock
+    private List<CourseChangedEvent> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (writeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        PrefixIndex<String> builtTags = new PrefixIndex<>();
+        PrefixIndex<Long> builtCourses = new PrefixIndex<>();
+        transactionTemplate.execute(status -> {
+            for (TagCountRow row : tagRepository.countCoursesByTag()) {
+                builtTags.put(row.getName(), row.getName(), row.getTotal());
+            }
+            try (Stream<CourseTitleRow> rows = courseRepository.streamCourseTitles()) {
+                rows.forEach(row -> builtCourses.put(row.getId(), row.getTitle(), 0));
+            }
+            return null;
+        });
+        // The snapshot may already include some of the changes that arrived
+        // meanwhile, and replaying a +1 would count them twice. Their tags and
+        // courses are read again instead, until no new change has come in.
+        while (true) {
+            List<CourseChangedEvent> changes;
+            synchronized (writeLock) {
+                if (pendingChanges.isEmpty()) {
+                    tags = builtTags;
+                    courses = builtCourses;
+                    pendingChanges = null;
+                    break;
+                }
+                changes = pendingChanges;
+                pendingChanges = new ArrayList<>();
+            }
+            reload(builtTags, builtCourses, changes);
+        }
+        log.info("Autocomplete index built for {} tags and {} courses", builtTags.size(), builtCourses.size());
+    }
+
+    private void reload(PrefixIndex<String> builtTags, PrefixIndex<Long> builtCourses,
+                        List<CourseChangedEvent> changes) {
+        Set<String> tagNames = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        for (CourseChangedEvent event : changes) {
+            tagNames.addAll(event.getTagNames());
+            courseIds.add(event.getCourseId());
+        }
+        transactionTemplate.execute(status -> {
+            if (!tagNames.isEmpty()) {
+                for (TagCountRow row : tagRepository.countCoursesByTagNames(tagNames)) {
+                    builtTags.put(row.getName(), row.getName(), row.getTotal());
+                }
+            }
+            Set<Long> missing = new HashSet<>(courseIds);
+            for (CourseTitleRow row : courseRepository.findCourseTitlesByIds(courseIds)) {
+                builtCourses.put(row.getId(), row.getTitle(), 0);
+                missing.remove(row.getId());
+            }
+            missing.forEach(builtCourses::remove);
+            return null;
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        synchronized (writeLock) {
+            apply(tags, courses, event);
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+        }
+    }
+
+    public AutocompleteDTO suggest(String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<String> words = CourseSearchIndex.tokenize(query);
+        return AutocompleteDTO.builder()
+                .tags(tags.lookup(words, limit).stream()
+                        .map(entry -> TagSuggestionDTO.builder()
+                                .name(entry.text())
+                                .courseCount(entry.weight())
+                                .build())
+                        .toList())
+                .courses(courses.lookup(words, limit).stream()
+                        .map(entry -> CourseSuggestionDTO.builder()
+                                .id(entry.key())
+                                .title(entry.text())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private static void apply(PrefixIndex<String> tags, PrefixIndex<Long> courses, CourseChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> {
+                courses.put(event.getCourseId(), event.getTitle(), 0);
+                event.getTagNames().forEach(tagName -> addCourseCount(tags, tagName, 1));
+            }
+            case TAGS_ADDED -> event.getTagNames().forEach(tagName -> addCourseCount(tags, tagName, 1));
+            case DELETED -> {
+                courses.remove(event.getCourseId());
+                event.getTagNames().forEach(tagName -> addCourseCount(tags, tagName, -1));
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static void addCourseCount(PrefixIndex<String> tags, String tagName, long delta) {
+        PrefixIndex.Entry<String> current = tags.get(tagName);
+        long count = current == null ? 0 : current.weight();
+        tags.put(tagName, tagName, Math.max(0, count + delta));
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.learning_platform.service;
+
+import java.util.List;
+
+// A batch job over rows with ascending IDs, run by ChunkedJobRunner. Each
+// chunk is processed in its own transaction and may be processed again after
+// an interrupted run, so process must be idempotent.
+public interface ChunkedJob {
+
+    String name();
+
+    // At most `limit` IDs greater than afterId, in ascending order
+    List<Long> nextChunk(long afterId, int limit);
+
+    // Called inside a transaction; returns the number of rows changed
+    long process(List<Long> ids);
+}
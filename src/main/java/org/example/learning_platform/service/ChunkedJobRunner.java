@@ -0,0 +1,182 @@
+package org.example.learning_platform.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.learning_platform.config.LearningPlatformProperties;
+import org.example.learning_platform.dto.JobRunDTO;
+import org.example.learning_platform.model.JobCheckpoint;
+import org.example.learning_platform.repository.JobCheckpointRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Runs ChunkedJobs: IDs are read in keyset chunks and every chunk is
+// processed in its own short transaction, so a job over millions of rows
+// never holds more than `parallelism` chunks in memory or a transaction open
+// for longer than one chunk. Chunks are processed in waves of `parallelism`;
+// the checkpoint moves past a wave once all of its chunks committed, and the
+// next run resumes from there if this one stops.
+@Slf4j
+@Service
+public class ChunkedJobRunner {
+
+    private final Map<String, ChunkedJob> jobs;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ExecutorService executor;
+    // Jobs running in this process; a second run of the same job is rejected
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public ChunkedJobRunner(List<ChunkedJob> jobs,
+                            JobCheckpointRepository checkpointRepository,
+                            TransactionTemplate transactionTemplate,
+                            LearningPlatformProperties properties) {
+        LearningPlatformProperties.Jobs config = properties.getJobs();
+        if (config.getChunkSize() < 1 || config.getParallelism() < 1) {
+            throw new IllegalArgumentException("Job chunk size and parallelism must be positive");
+        }
+        this.jobs = jobs.stream().collect(Collectors.toMap(ChunkedJob::name, Function.identity()));
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = config.getChunkSize();
+        this.parallelism = config.getParallelism();
+        this.executor = Executors.newFixedThreadPool(parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(cron = "${learning-platform.jobs.cron:-}")
+    public void runAll() {
+        for (String name : jobs.keySet()) {
+            try {
+                run(name);
+            } catch (RuntimeException e) {
+                log.error("Job {} failed; the next run resumes from its checkpoint", name, e);
+            }
+        }
+    }
+
+    public JobRunDTO run(String name) {
+        ChunkedJob job = jobs.get(name);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown job: " + name);
+        }
+        if (!running.add(name)) {
+            throw new IllegalArgumentException("Job is already running: " + name);
+        }
+        try {
+            return execute(job);
+        } finally {
+            running.remove(name);
+        }
+    }
+
+    private JobRunDTO execute(ChunkedJob job) {
+        long resumedAfterId = transactionTemplate.execute(status -> {
+            JobCheckpoint checkpoint = checkpointRepository.findById(job.name())
+                    .orElseGet(() -> JobCheckpoint.builder().jobName(job.name()).lastId(0L).build());
+            if (checkpoint.getLastId() == 0L) {
+                checkpoint.setRunStartedAt(LocalDateTime.now());
+            }
+            return checkpointRepository.save(checkpoint).getLastId();
+        });
+        long afterId = resumedAfterId;
+        long chunks = 0;
+        long scanned = 0;
+        long updated = 0;
+        boolean exhausted = false;
+        while (!exhausted) {
+            List<List<Long>> wave = new ArrayList<>(parallelism);
+            long waveEnd = afterId;
+            while (wave.size() < parallelism) {
+                long from = waveEnd;
+                List<Long> ids = transactionTemplate.execute(status -> job.nextChunk(from, chunkSize));
+                if (!ids.isEmpty()) {
+                    wave.add(ids);
+                    waveEnd = ids.get(ids.size() - 1);
+                }
+                if (ids.size() < chunkSize) {
+                    exhausted = true;
+                    break;
+                }
+            }
+            if (wave.isEmpty()) {
+                break;
+            }
+            List<Future<Long>> results = new ArrayList<>(wave.size());
+            for (List<Long> ids : wave) {
+                results.add(executor.submit(() -> transactionTemplate.execute(status -> job.process(ids))));
+            }
+            updated += awaitAll(job, results);
+            chunks += wave.size();
+            scanned += wave.stream().mapToLong(List::size).sum();
+            afterId = waveEnd;
+            saveCheckpoint(job.name(), afterId, false);
+        }
+        saveCheckpoint(job.name(), 0L, true);
+        log.info("Job {} processed {} rows in {} chunks and updated {}", job.name(), scanned, chunks, updated);
+        return JobRunDTO.builder()
+                .job(job.name())
+                .resumedAfterId(resumedAfterId)
+                .chunks(chunks)
+                .scanned(scanned)
+                .updated(updated)
+                .build();
+    }
+
+    private void saveCheckpoint(String name, long lastId, boolean completed) {
+        transactionTemplate.executeWithoutResult(status -> {
+            JobCheckpoint checkpoint = checkpointRepository.findById(name).orElseThrow();
+            LocalDateTime now = LocalDateTime.now();
+            checkpoint.setLastId(lastId);
+            checkpoint.setUpdatedAt(now);
+            if (completed) {
+                checkpoint.setLastCompletedAt(now);
+            }
+        });
+    }
+
+    // Waits for the whole wave even when a chunk fails, so no chunk is still
+    // running once the job is released. The checkpoint then stays before the
+    // wave and the next run redoes the chunks that did commit.
+    private static long awaitAll(ChunkedJob job, List<Future<Long>> results) {
+        long updated = 0;
+        RuntimeException failure = null;
+        for (Future<Long> result : results) {
+            try {
+                updated += result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while running job " + job.name(), e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause
+                            ? cause
+                            : new IllegalStateException("Job " + job.name() + " failed", e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,334 @@
+package org.example.learning_platform.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.learning_platform.config.LearningPlatformProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Content-addressed store for submission bodies. Each distinct body is kept
+// once under its SHA-256, deflate-compressed, in append-only segment files on
+// local disk; reads copy from memory-mapped segments. The hash index lives in
+// memory and is rebuilt by scanning the segments at startup, where every
+// record is checked against its hash and the segment is cut off at the first
+// one that does not match, e.g. a record torn by a crash.
+//
+// The write position and the index belong to this process, so the store is
+// single-node: the directory is locked while it is open and must not be
+// shared between application instances.
+//
+// Record layout: SHA-256 (32 bytes), raw length, compressed length, data.
+@Slf4j
+@Component
+public class ContentStore {
+
+    private static final int HASH_LENGTH = 32;
+    private static final int HEADER_LENGTH = HASH_LENGTH + 2 * Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final String LOCK_FILE = "store.lock";
+
+    public record StoredContent(String hash, int size) {
+    }
+
+    private record Location(int segment, long offset, int rawLength, int compressedLength) {
+    }
+
+    private final Path directory;
+    private final long segmentSize;
+    private final long maxSize;
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final Map<Integer, MappedByteBuffer> mappings = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private FileChannel lockChannel;
+    // Guarded by writeLock
+    private FileChannel active;
+    private int activeSegment;
+    private long activeSize;
+    private boolean dirty;
+
+    public ContentStore(LearningPlatformProperties properties) {
+        LearningPlatformProperties.Content config = properties.getContent();
+        this.directory = config.getDirectory();
+        this.segmentSize = config.getSegmentSize().toBytes();
+        this.maxSize = config.getMaxSize().toBytes();
+        // Offsets into a mapped segment are ints
+        if (segmentSize > Integer.MAX_VALUE || maxSize >= segmentSize) {
+            throw new IllegalArgumentException("Content segments must be below 2 GB and larger than the maximum content size");
+        }
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock directoryLock;
+        try {
+            directoryLock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            directoryLock = null;
+        }
+        if (directoryLock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("Content store " + directory + " is already open in another process");
+        }
+        List<Integer> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+        synchronized (writeLock) {
+            for (int segment : segments) {
+                activeSize = recover(segment);
+            }
+            activeSegment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+            active = FileChannel.open(segmentPath(activeSegment), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        }
+        log.info("Content store in {} opened with {} entries in {} segments", directory, index.size(), segments.size());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (active != null) {
+                active.force(false);
+                active.close();
+                active = null;
+            }
+            if (lockChannel != null) {
+                // Closing the channel releases the directory lock
+                lockChannel.close();
+                lockChannel = null;
+            }
+        }
+    }
+
+    // Stores the content unless identical content is already there. The write
+    // is not forced to disk; call sync() before committing a reference to it.
+    public StoredContent put(String content) {
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        if (raw.length > maxSize) {
+            throw new IllegalArgumentException("Content must not exceed " + maxSize + " bytes");
+        }
+        byte[] hash = sha256(raw);
+        String key = HexFormat.of().formatHex(hash);
+        if (!index.containsKey(key)) {
+            byte[] compressed = deflate(raw);
+            synchronized (writeLock) {
+                if (!index.containsKey(key)) {
+                    append(key, hash, raw.length, compressed);
+                }
+            }
+        }
+        return new StoredContent(key, raw.length);
+    }
+
+    // Forces everything written so far to disk; one call covers many puts
+    public void sync() {
+        synchronized (writeLock) {
+            if (dirty) {
+                try {
+                    active.force(false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot sync content segment " + activeSegment, e);
+                }
+                dirty = false;
+            }
+        }
+    }
+
+    public String get(String hash) {
+        Location location = index.get(hash);
+        if (location == null) {
+            throw new IllegalStateException("Content not found: " + hash);
+        }
+        long dataOffset = location.offset() + HEADER_LENGTH;
+        ByteBuffer segment = mapping(location.segment(), dataOffset + location.compressedLength());
+        byte[] compressed = new byte[location.compressedLength()];
+        // Absolute reads leave the shared buffer's position alone
+        segment.get((int) dataOffset, compressed);
+        return new String(inflate(compressed, location.rawLength()), StandardCharsets.UTF_8);
+    }
+
+    private void append(String key, byte[] hash, int rawLength, byte[] compressed) {
+        int recordLength = HEADER_LENGTH + compressed.length;
+        try {
+            if (activeSize > 0 && activeSize + recordLength > segmentSize) {
+                roll();
+            }
+            ByteBuffer record = ByteBuffer.allocate(recordLength)
+                    .put(hash)
+                    .putInt(rawLength)
+                    .putInt(compressed.length)
+                    .put(compressed)
+                    .flip();
+            // Positional writes: a failed append is overwritten by the next one
+            long offset = activeSize;
+            while (record.hasRemaining()) {
+                active.write(record, offset + record.position());
+            }
+            activeSize += recordLength;
+            dirty = true;
+            index.put(key, new Location(activeSegment, offset, rawLength, compressed.length));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to content segment " + activeSegment, e);
+        }
+    }
+
+    private void roll() throws IOException {
+        active.force(false);
+        active.close();
+        activeSegment++;
+        activeSize = 0;
+        dirty = false;
+        active = FileChannel.open(segmentPath(activeSegment), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    // Indexes the records of a segment whose data matches their hash and
+    // truncates the segment at the first one that does not
+    private long recover(int segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long position = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            while (position + HEADER_LENGTH <= size) {
+                header.clear();
+                while (header.hasRemaining()) {
+                    channel.read(header, position + header.position());
+                }
+                header.flip();
+                byte[] hash = new byte[HASH_LENGTH];
+                header.get(hash);
+                int rawLength = header.getInt();
+                int compressedLength = header.getInt();
+                if (rawLength < 0 || rawLength > maxSize || compressedLength < 0
+                        || position + HEADER_LENGTH + compressedLength > size) {
+                    break;
+                }
+                ByteBuffer data = ByteBuffer.allocate(compressedLength);
+                while (data.hasRemaining()) {
+                    channel.read(data, position + HEADER_LENGTH + data.position());
+                }
+                if (!matches(hash, data.array(), rawLength)) {
+                    break;
+                }
+                index.putIfAbsent(HexFormat.of().formatHex(hash),
+                        new Location(segment, position, rawLength, compressedLength));
+                position += HEADER_LENGTH + compressedLength;
+            }
+            if (position < size) {
+                log.warn("Truncating {} bytes from an incomplete or corrupt record in content segment {}",
+                        size - position, segment);
+                channel.truncate(position);
+                channel.force(false);
+            }
+            return position;
+        }
+    }
+
+    private static boolean matches(byte[] hash, byte[] compressed, int rawLength) {
+        try {
+            return MessageDigest.isEqual(hash, sha256(inflate(compressed, rawLength)));
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    // Segments are remapped when a read reaches past the mapped length, which
+    // only happens for the segment being appended to
+    private ByteBuffer mapping(int segment, long end) {
+        MappedByteBuffer buffer = mappings.get(segment);
+        if (buffer == null || buffer.capacity() < end) {
+            synchronized (mappings) {
+                buffer = mappings.get(segment);
+                if (buffer == null || buffer.capacity() < end) {
+                    try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+                        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Cannot map content segment " + segment, e);
+                    }
+                    mappings.put(segment, buffer);
+                }
+            }
+        }
+        return buffer;
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] buffer = new byte[Math.max(64, raw.length + raw.length / 1000 + 64)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, rawLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated content record");
+                }
+                length += inflated;
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt content record", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
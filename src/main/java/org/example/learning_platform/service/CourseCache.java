@@ -0,0 +1,118 @@
+package org.example.learning_platform.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.example.learning_platform.config.LearningPlatformProperties;
+import org.example.learning_platform.dto.CacheStatsDTO;
+import org.example.learning_platform.dto.CourseDTO;
+import org.example.learning_platform.event.CourseChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded (W-TinyLFU, size + TTL) cache of course DTOs and of the course ID
+// lists behind the per-category/teacher listings.
+@Component
+public class CourseCache {
+
+    private final Cache<Long, CourseDTO> courses;
+    private final Cache<String, List<Long>> idLists;
+    // Bumped on every invalidation; loads that overlap one are not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public CourseCache(LearningPlatformProperties properties) {
+        LearningPlatformProperties.CourseCache config = properties.getCourseCache();
+        this.courses = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.idLists = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumListCount())
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    public static String categoryKey(Long categoryId) {
+        return "category:" + categoryId;
+    }
+
+    public static String teacherKey(Long teacherId) {
+        return "teacher:" + teacherId;
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public CourseDTO getCourse(Long courseId) {
+        return courses.getIfPresent(courseId);
+    }
+
+    public Map<Long, CourseDTO> getCourses(Collection<Long> courseIds) {
+        return courses.getAllPresent(courseIds);
+    }
+
+    public List<Long> getIdList(String key) {
+        return idLists.getIfPresent(key);
+    }
+
+    // Values are written first and dropped again if an invalidation happened since
+    // the caller started loading, so a slow reader can never re-insert stale data.
+    public void putCourses(Map<Long, CourseDTO> loaded, long loadedAtGeneration) {
+        courses.putAll(loaded);
+        if (generation.get() != loadedAtGeneration) {
+            courses.invalidateAll(loaded.keySet());
+        }
+    }
+
+    public void putIdList(String key, List<Long> courseIds, long loadedAtGeneration) {
+        idLists.put(key, List.copyOf(courseIds));
+        if (generation.get() != loadedAtGeneration) {
+            idLists.invalidate(key);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        generation.incrementAndGet();
+        courses.invalidate(event.getCourseId());
+        // Neither changes which lists the course belongs to
+        if (event.getType() == CourseChangedEvent.Type.RATING_CHANGED
+                || event.getType() == CourseChangedEvent.Type.TEACHER_RENAMED) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        if (event.getCategoryId() != null) {
+            keys.add(categoryKey(event.getCategoryId()));
+        }
+        if (event.getTeacherId() != null) {
+            keys.add(teacherKey(event.getTeacherId()));
+        }
+        idLists.invalidateAll(keys);
+    }
+
+    public List<CacheStatsDTO> stats() {
+        return List.of(toStats("courses", courses), toStats("courseIdLists", idLists));
+    }
+
+    private static CacheStatsDTO toStats(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsDTO.builder()
+                .name(name)
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
@@ -0,0 +1,306 @@
+package org.example.learning_platform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.dto.CourseDTO;
+import org.example.learning_platform.dto.CursorPageDTO;
+import org.example.learning_platform.dto.SearchPageDTO;
+import org.example.learning_platform.repository.CourseRepository;
+import org.example.learning_platform.repository.projection.CourseCatalogRow;
+import org.example.learning_platform.repository.projection.CourseTagRow;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Read path for course listings: DTOs are assembled from a projection plus
+// lookups keyed by course IDs, so the query count does not grow per row.
+@Service
+@RequiredArgsConstructor
+public class CourseCatalogService {
+
+    // Keeps IN lists well below the bind parameter limits of the drivers
+    private static final int ID_BATCH_SIZE = 1000;
+    private static final int STREAM_CHUNK_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 200;
+    // Deeper search pages would need an ever larger top-k heap
+    private static final int MAX_SEARCH_WINDOW = 10_000;
+
+    private final CourseRepository courseRepository;
+    private final CourseStatsService statsService;
+    private final CourseCache courseCache;
+    private final TagIndex tagIndex;
+    private final CourseSearchIndex searchIndex;
+    private final ObjectMapper objectMapper;
+
+    public enum CatalogOrder {
+        ID, START_DATE;
+
+        public static CatalogOrder from(String value) {
+            if ("id".equalsIgnoreCase(value)) {
+                return ID;
+            }
+            if ("startDate".equalsIgnoreCase(value)) {
+                return START_DATE;
+            }
+            throw new IllegalArgumentException("Unsupported sort: " + value);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<CourseDTO> getCatalog() {
+        return toCourseDTOs(courseRepository.findCatalogRows());
+    }
+
+    // The cached reads below run without a surrounding transaction, so a cache
+    // hit never checks out a database connection.
+    public CourseDTO getCourse(Long courseId) {
+        CourseDTO cached = courseCache.getCourse(courseId);
+        if (cached != null) {
+            return cached;
+        }
+        List<CourseDTO> loaded = getCourses(List.of(courseId));
+        if (loaded.isEmpty()) {
+            throw new IllegalArgumentException("Course not found with id: " + courseId);
+        }
+        return loaded.get(0);
+    }
+
+    // Read from the database rather than the DTO cache, whose invalidation
+    // may not have happened yet when the response cache reloads
+    @Transactional(readOnly = true)
+    public CourseDTO loadCourse(Long courseId) {
+        List<CourseDTO> courses = toCourseDTOs(courseRepository.findCatalogRowsByIds(List.of(courseId)));
+        if (courses.isEmpty()) {
+            throw new IllegalArgumentException("Course not found with id: " + courseId);
+        }
+        return courses.get(0);
+    }
+
+    public List<CourseDTO> getCoursesByCategory(Long categoryId) {
+        return getCoursesByIdList(CourseCache.categoryKey(categoryId),
+                () -> courseRepository.findIdsByCategoryId(categoryId));
+    }
+
+    public List<CourseDTO> getCoursesByTeacher(Long teacherId) {
+        return getCoursesByIdList(CourseCache.teacherKey(teacherId),
+                () -> courseRepository.findIdsByTeacherId(teacherId));
+    }
+
+    public List<CourseDTO> getCoursesByTag(String tagName) {
+        return getCourses(tagIndex.courseIds(tagName));
+    }
+
+    // Tag filtering is resolved on the in-memory index; only the requested page
+    // of courses is hydrated.
+    public CursorPageDTO<CourseDTO> getCoursesByTags(List<String> tagNames, boolean matchAll,
+                                                     String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long afterId = cursor == null ? 0L : decodeCursor(cursor, CatalogOrder.ID).id();
+        BitSet matches = tagIndex.resolve(tagNames, matchAll);
+        List<Long> courseIds = TagIndex.page(matches, afterId, size + 1);
+
+        String nextCursor = null;
+        if (courseIds.size() > size) {
+            courseIds = courseIds.subList(0, size);
+            nextCursor = encodeIdCursor(courseIds.get(size - 1));
+        }
+        return CursorPageDTO.<CourseDTO>builder()
+                .items(getCourses(courseIds))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    public SearchPageDTO<CourseDTO> search(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long offset = (long) page * size;
+        if (page < 0 || offset + size > MAX_SEARCH_WINDOW) {
+            throw new IllegalArgumentException("Search results are limited to the first " + MAX_SEARCH_WINDOW + " hits");
+        }
+        CourseSearchIndex.Result result = searchIndex.search(query, (int) offset, size);
+        List<Long> courseIds = result.hits().stream().map(CourseSearchIndex.Hit::courseId).toList();
+        return SearchPageDTO.<CourseDTO>builder()
+                .items(getCourses(courseIds))
+                .page(page)
+                .size(size)
+                .totalHits(result.totalHits())
+                .build();
+    }
+
+    // Returns the courses in the order of the given IDs, skipping unknown ones
+    public List<CourseDTO> getCourses(List<Long> courseIds) {
+        Map<Long, CourseDTO> found = new HashMap<>(courseCache.getCourses(courseIds));
+        List<Long> missing = courseIds.stream().filter(id -> !found.containsKey(id)).distinct().toList();
+        if (!missing.isEmpty()) {
+            long generation = courseCache.generation();
+            Map<Long, CourseDTO> loaded = new HashMap<>();
+            for (int from = 0; from < missing.size(); from += ID_BATCH_SIZE) {
+                List<Long> batch = missing.subList(from, Math.min(from + ID_BATCH_SIZE, missing.size()));
+                for (CourseDTO course : toCourseDTOs(courseRepository.findCatalogRowsByIds(batch))) {
+                    loaded.put(course.getId(), course);
+                }
+            }
+            courseCache.putCourses(loaded, generation);
+            found.putAll(loaded);
+        }
+        return courseIds.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    private List<CourseDTO> getCoursesByIdList(String key, Supplier<List<Long>> loader) {
+        List<Long> courseIds = courseCache.getIdList(key);
+        if (courseIds == null) {
+            long generation = courseCache.generation();
+            courseIds = loader.get();
+            courseCache.putIdList(key, courseIds, generation);
+        }
+        return getCourses(courseIds);
+    }
+
+    // Courses without a start date are not part of the START_DATE ordering.
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CourseDTO> getCatalogPage(String cursor, int size, CatalogOrder order) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // One extra row tells whether another page exists
+        PageRequest limit = PageRequest.ofSize(size + 1);
+        List<CourseCatalogRow> rows;
+        if (order == CatalogOrder.ID) {
+            long afterId = cursor == null ? 0L : decodeCursor(cursor, order).id();
+            rows = courseRepository.findCatalogPageAfterId(afterId, limit);
+        } else if (cursor == null) {
+            rows = courseRepository.findCatalogPageByStartDate(limit);
+        } else {
+            CatalogCursor position = decodeCursor(cursor, order);
+            rows = courseRepository.findCatalogPageAfterStartDate(position.startDate(), position.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = encodeCursor(rows.get(size - 1), order);
+        }
+        return CursorPageDTO.<CourseDTO>builder()
+                .items(toCourseDTOs(rows))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Writes the whole catalog as a JSON array while scrolling the result set,
+    // so only one chunk of rows is held in memory at a time.
+    @Transactional(readOnly = true)
+    public void writeCatalog(OutputStream out) throws IOException {
+        // Flushed once per chunk; the mapper alone would flush after every course
+        try (Stream<CourseCatalogRow> rows = courseRepository.streamCatalogRows();
+             SequenceWriter array = objectMapper.writer()
+                     .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                     .writeValuesAsArray(out)) {
+            List<CourseCatalogRow> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            Iterator<CourseCatalogRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE || !iterator.hasNext()) {
+                    array.writeAll(toCourseDTOs(chunk));
+                    array.flush();
+                    chunk.clear();
+                }
+            }
+        }
+    }
+
+    List<CourseDTO> toCourseDTOs(List<CourseCatalogRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> courseIds = rows.stream().map(CourseCatalogRow::getId).toList();
+
+        Map<Long, Double> ratings = new HashMap<>();
+        Map<Long, Set<String>> tags = new HashMap<>();
+        for (int from = 0; from < courseIds.size(); from += ID_BATCH_SIZE) {
+            List<Long> batch = courseIds.subList(from, Math.min(from + ID_BATCH_SIZE, courseIds.size()));
+            ratings.putAll(statsService.getAverageRatings(batch));
+            for (CourseTagRow tag : courseRepository.findTagNamesByCourseIds(batch)) {
+                tags.computeIfAbsent(tag.getCourseId(), id -> new HashSet<>()).add(tag.getTagName());
+            }
+        }
+
+        List<CourseDTO> result = new ArrayList<>(rows.size());
+        for (CourseCatalogRow row : rows) {
+            result.add(CourseDTO.builder()
+                    .id(row.getId())
+                    .title(row.getTitle())
+                    .description(row.getDescription())
+                    .duration(row.getDuration())
+                    .startDate(row.getStartDate())
+                    .categoryName(row.getCategoryName())
+                    .teacherName(row.getTeacherName())
+                    .tags(Set.copyOf(tags.getOrDefault(row.getId(), Set.of())))
+                    .averageRating(ratings.get(row.getId()))
+                    .build());
+        }
+        return result;
+    }
+
+    private record CatalogCursor(LocalDate startDate, long id) {
+    }
+
+    private static String encodeCursor(CourseCatalogRow last, CatalogOrder order) {
+        if (order == CatalogOrder.ID) {
+            return encodeIdCursor(last.getId());
+        }
+        return encode(order.name() + "|" + last.getStartDate() + "|" + last.getId());
+    }
+
+    private static String encodeIdCursor(Long id) {
+        return encode(CatalogOrder.ID.name() + "|" + id);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CatalogCursor decodeCursor(String cursor, CatalogOrder order) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (!parts[0].equals(order.name())) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            if (order == CatalogOrder.ID && parts.length == 2) {
+                return new CatalogCursor(null, Long.parseLong(parts[1]));
+            }
+            if (order == CatalogOrder.START_DATE && parts.length == 3) {
+                return new CatalogCursor(LocalDate.parse(parts[1]), Long.parseLong(parts[2]));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+}
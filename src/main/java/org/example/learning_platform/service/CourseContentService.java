@@ -1,6 +1,12 @@
 package org.example.learning_platform.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.dto.AssignmentDTO;
+import org.example.learning_platform.dto.CourseDTO;
+import org.example.learning_platform.dto.CourseOutlineDTO;
+import org.example.learning_platform.dto.LessonOutlineDTO;
+import org.example.learning_platform.dto.ModuleOutlineDTO;
+import org.example.learning_platform.dto.QuizDTO;
 import org.example.learning_platform.model.Assignment;
 import org.example.learning_platform.model.Course;
 import org.example.learning_platform.model.Lesson;
@@ -8,10 +14,19 @@ import org.example.learning_platform.repository.AssignmentRepository;
 import org.example.learning_platform.repository.CourseRepository;
 import org.example.learning_platform.repository.LessonRepository;
 import org.example.learning_platform.repository.ModuleRepository;
+import org.example.learning_platform.repository.QuizAttemptCounterRepository;
+import org.example.learning_platform.repository.QuizRepository;
+import org.example.learning_platform.repository.projection.AssignmentOutlineRow;
+import org.example.learning_platform.repository.projection.LessonOutlineRow;
+import org.example.learning_platform.repository.projection.ModuleOutlineRow;
+import org.example.learning_platform.repository.projection.QuizOutlineRow;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +35,9 @@ public class CourseContentService {
     private final LessonRepository lessonRepository;
     private final AssignmentRepository assignmentRepository;
     private final CourseRepository courseRepository;
+    private final QuizRepository quizRepository;
+    private final QuizAttemptCounterRepository attemptCounterRepository;
+    private final CourseCatalogService catalogService;
 
     @Transactional
     public org.example.learning_platform.model.Module createModule(Long courseId, org.example.learning_platform.model.Module module) {
@@ -60,8 +78,71 @@ public class CourseContentService {
         return assignmentRepository.findByLessonId(lessonId);
     }
 
+    // The whole Course -> Module -> Lesson -> Assignment/Quiz tree with one
+    // query per level, each selecting every row of that level for the course.
+    @Transactional(readOnly = true)
+    public CourseOutlineDTO getCourseOutline(Long courseId) {
+        CourseDTO course = catalogService.getCourse(courseId);
+
+        Map<Long, QuizDTO> quizzes = new HashMap<>();
+        Map<Long, String> moduleTitles = new HashMap<>();
+        List<ModuleOutlineRow> moduleRows = moduleRepository.findOutlineByCourseId(courseId);
+        moduleRows.forEach(row -> moduleTitles.put(row.getId(), row.getTitle()));
+        for (QuizOutlineRow row : quizRepository.findOutlineByCourseId(courseId)) {
+            quizzes.put(row.getModuleId(), QuizDTO.builder()
+                    .id(row.getId())
+                    .title(row.getTitle())
+                    .timeLimit(row.getTimeLimit())
+                    .passingScore(row.getPassingScore())
+                    .moduleTitle(moduleTitles.get(row.getModuleId()))
+                    .build());
+        }
+
+        List<LessonOutlineRow> lessonRows = lessonRepository.findOutlineByCourseId(courseId);
+        Map<Long, String> lessonTitles = new HashMap<>();
+        lessonRows.forEach(row -> lessonTitles.put(row.getId(), row.getTitle()));
+        Map<Long, List<AssignmentDTO>> assignments = new HashMap<>();
+        for (AssignmentOutlineRow row : assignmentRepository.findOutlineByCourseId(courseId)) {
+            assignments.computeIfAbsent(row.getLessonId(), id -> new ArrayList<>()).add(AssignmentDTO.builder()
+                    .id(row.getId())
+                    .title(row.getTitle())
+                    .description(row.getDescription())
+                    .dueDate(row.getDueDate() != null ? row.getDueDate().toString() : null)
+                    .maxScore(row.getMaxScore())
+                    .lessonTitle(lessonTitles.get(row.getLessonId()))
+                    .build());
+        }
+
+        Map<Long, List<LessonOutlineDTO>> lessons = new HashMap<>();
+        for (LessonOutlineRow row : lessonRows) {
+            lessons.computeIfAbsent(row.getModuleId(), id -> new ArrayList<>()).add(LessonOutlineDTO.builder()
+                    .id(row.getId())
+                    .title(row.getTitle())
+                    .videoUrl(row.getVideoUrl())
+                    .orderIndex(row.getOrderIndex())
+                    .assignments(assignments.getOrDefault(row.getId(), List.of()))
+                    .build());
+        }
+
+        List<ModuleOutlineDTO> modules = moduleRows.stream()
+                .map(row -> ModuleOutlineDTO.builder()
+                        .id(row.getId())
+                        .title(row.getTitle())
+                        .description(row.getDescription())
+                        .orderIndex(row.getOrderIndex())
+                        .quiz(quizzes.get(row.getId()))
+                        .lessons(lessons.getOrDefault(row.getId(), List.of()))
+                        .build())
+                .toList();
+        return CourseOutlineDTO.builder()
+                .course(course)
+                .modules(modules)
+                .build();
+    }
+
     @Transactional
     public void deleteModule(Long moduleId) {
+        attemptCounterRepository.deleteByModuleId(moduleId);
         moduleRepository.deleteById(moduleId);
     }
 
@@ -0,0 +1,328 @@
+package org.example.learning_platform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.learning_platform.dto.CourseImportRequest;
+import org.example.learning_platform.dto.ImportErrorDTO;
+import org.example.learning_platform.dto.ImportResultDTO;
+import org.example.learning_platform.dto.LessonImportRequest;
+import org.example.learning_platform.dto.ModuleImportRequest;
+import org.example.learning_platform.event.CourseChangedEvent;
+import org.example.learning_platform.model.Category;
+import org.example.learning_platform.model.Tag;
+import org.example.learning_platform.model.User;
+import org.example.learning_platform.repository.CategoryRepository;
+import org.example.learning_platform.repository.CourseImportRepository;
+import org.example.learning_platform.repository.TagRepository;
+import org.example.learning_platform.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Bulk course import from NDJSON, one course per line. Lines are written in
+// chunks, one transaction per chunk; a failing chunk is retried line by line
+// so a bad record costs only its own line.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseImportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final CourseImportRepository importRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public ImportResultDTO importCourses(InputStream input) throws IOException {
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<ImportLine> chunk = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            CourseImportRequest record = parse(line, lineNumber, run);
+            if (record == null) {
+                continue;
+            }
+            chunk.add(new ImportLine(lineNumber, record));
+            if (chunk.size() == CHUNK_SIZE) {
+                writeChunk(chunk, run);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, run);
+        }
+        log.info("Course import finished: {} imported, {} failed", run.imported, run.failed);
+        run.errors.sort(Comparator.comparing(ImportErrorDTO::getLine));
+        return ImportResultDTO.builder()
+                .imported(run.imported)
+                .failed(run.failed)
+                .errors(run.errors)
+                .build();
+    }
+
+    private CourseImportRequest parse(String line, long lineNumber, ImportRun run) {
+        CourseImportRequest record;
+        try {
+            record = objectMapper.readValue(line, CourseImportRequest.class);
+        } catch (JsonProcessingException e) {
+            run.fail(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+            return null;
+        }
+        if (record == null) {
+            run.fail(lineNumber, "Invalid JSON: expected an object");
+            return null;
+        }
+        Set<ConstraintViolation<CourseImportRequest>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            run.fail(lineNumber, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return record;
+    }
+
+    private void writeChunk(List<ImportLine> chunk, ImportRun run) {
+        ChunkResult result;
+        try {
+            result = transactionTemplate.execute(status -> insertChunk(chunk, run));
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                run.fail(chunk.get(0).number(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            } else {
+                chunk.forEach(line -> writeChunk(List.of(line), run));
+            }
+            return;
+        }
+        // Resolved IDs are only reused once the transaction that may have created them committed
+        run.categoryIds.putAll(result.categoryIds);
+        run.teacherIds.putAll(result.teacherIds);
+        run.tagIds.putAll(result.tagIds);
+        run.imported += result.imported;
+        result.errors.forEach(error -> run.fail(error.getLine(), error.getMessage()));
+    }
+
+    private ChunkResult insertChunk(List<ImportLine> chunk, ImportRun run) {
+        ChunkResult result = new ChunkResult();
+        Map<String, Long> categoryIds = resolveCategories(chunk, run, result);
+        Map<String, Long> teacherIds = resolveTeachers(chunk, run, result);
+
+        List<ImportLine> accepted = new ArrayList<>(chunk.size());
+        for (ImportLine line : chunk) {
+            CourseImportRequest record = line.record();
+            if (!categoryIds.containsKey(record.getCategoryName())) {
+                result.errors.add(error(line, "Category not found: " + record.getCategoryName()));
+            } else if (!teacherIds.containsKey(record.getTeacherEmail())) {
+                result.errors.add(error(line, result.nonTeachers.contains(record.getTeacherEmail())
+                        ? "User is not a teacher: " + record.getTeacherEmail()
+                        : "Teacher not found: " + record.getTeacherEmail()));
+            } else {
+                accepted.add(line);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return result;
+        }
+        Map<String, Long> tagIds = resolveTags(accepted, run, result);
+
+        List<CourseImportRepository.CourseRow> courses = accepted.stream()
+                .map(ImportLine::record)
+                .map(record -> new CourseImportRepository.CourseRow(record.getTitle(), record.getDescription(),
+                        record.getDuration(), record.getStartDate(),
+                        categoryIds.get(record.getCategoryName()), teacherIds.get(record.getTeacherEmail())))
+                .toList();
+        List<Long> courseIds = importRepository.insertCourses(courses);
+
+        List<CourseImportRepository.TagLink> tagLinks = new ArrayList<>();
+        List<CourseImportRepository.ModuleRow> modules = new ArrayList<>();
+        List<List<LessonImportRequest>> moduleLessons = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            CourseImportRequest record = accepted.get(i).record();
+            Long courseId = courseIds.get(i);
+            tagNames(record).forEach(tagName -> tagLinks.add(
+                    new CourseImportRepository.TagLink(courseId, tagIds.get(tagName))));
+            List<ModuleImportRequest> recordModules = record.getModules() != null ? record.getModules() : List.of();
+            for (int m = 0; m < recordModules.size(); m++) {
+                ModuleImportRequest module = recordModules.get(m);
+                modules.add(new CourseImportRepository.ModuleRow(courseId, module.getTitle(),
+                        module.getDescription(), m + 1));
+                moduleLessons.add(module.getLessons() != null ? module.getLessons() : List.of());
+            }
+        }
+        importRepository.insertTagLinks(tagLinks);
+        List<Long> moduleIds = importRepository.insertModules(modules);
+
+        List<CourseImportRepository.LessonRow> lessons = new ArrayList<>();
+        for (int m = 0; m < moduleIds.size(); m++) {
+            List<LessonImportRequest> recordLessons = moduleLessons.get(m);
+            for (int l = 0; l < recordLessons.size(); l++) {
+                LessonImportRequest lesson = recordLessons.get(l);
+                lessons.add(new CourseImportRepository.LessonRow(moduleIds.get(m), lesson.getTitle(),
+                        lesson.getContent(), lesson.getVideoUrl(), l + 1));
+            }
+        }
+        importRepository.insertLessons(lessons);
+        importRepository.insertEmptyStats(courseIds);
+
+        for (int i = 0; i < accepted.size(); i++) {
+            CourseImportRequest record = accepted.get(i).record();
+            eventPublisher.publishEvent(CourseChangedEvent.builder()
+                    .courseId(courseIds.get(i))
+                    .type(CourseChangedEvent.Type.CREATED)
+                    .categoryId(categoryIds.get(record.getCategoryName()))
+                    .teacherId(teacherIds.get(record.getTeacherEmail()))
+                    .title(record.getTitle())
+                    .description(record.getDescription())
+                    .tagNames(tagNames(record))
+                    .build());
+        }
+        result.imported = accepted.size();
+        return result;
+    }
+
+    private Map<String, Long> resolveCategories(List<ImportLine> chunk, ImportRun run, ChunkResult result) {
+        Map<String, Long> resolved = new HashMap<>();
+        Set<String> unknown = new HashSet<>();
+        for (ImportLine line : chunk) {
+            String name = line.record().getCategoryName();
+            Long id = run.categoryIds.get(name);
+            if (id != null) {
+                resolved.put(name, id);
+            } else {
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            for (Category category : categoryRepository.findByNameIn(unknown)) {
+                resolved.put(category.getName(), category.getId());
+                result.categoryIds.put(category.getName(), category.getId());
+            }
+        }
+        return resolved;
+    }
+
+    private Map<String, Long> resolveTeachers(List<ImportLine> chunk, ImportRun run, ChunkResult result) {
+        Map<String, Long> resolved = new HashMap<>();
+        Set<String> unknown = new HashSet<>();
+        for (ImportLine line : chunk) {
+            String email = line.record().getTeacherEmail();
+            Long id = run.teacherIds.get(email);
+            if (id != null) {
+                resolved.put(email, id);
+            } else {
+                unknown.add(email);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            for (User user : userRepository.findByEmailIn(unknown)) {
+                if (user.getRole() == User.UserRole.TEACHER || user.getRole() == User.UserRole.ADMIN) {
+                    resolved.put(user.getEmail(), user.getId());
+                    result.teacherIds.put(user.getEmail(), user.getId());
+                } else {
+                    result.nonTeachers.add(user.getEmail());
+                }
+            }
+        }
+        return resolved;
+    }
+
+    // Same set-based path as CourseService: one IN query, one batch for the missing names
+    private Map<String, Long> resolveTags(List<ImportLine> lines, ImportRun run, ChunkResult result) {
+        Map<String, Long> resolved = new HashMap<>();
+        Set<String> unknown = new HashSet<>();
+        for (ImportLine line : lines) {
+            for (String tagName : tagNames(line.record())) {
+                Long id = run.tagIds.get(tagName);
+                if (id != null) {
+                    resolved.put(tagName, id);
+                } else {
+                    unknown.add(tagName);
+                }
+            }
+        }
+        if (unknown.isEmpty()) {
+            return resolved;
+        }
+        List<Tag> tags = new ArrayList<>(tagRepository.findByNameIn(unknown));
+        Set<String> missing = new HashSet<>(unknown);
+        tags.forEach(tag -> missing.remove(tag.getName()));
+        if (!missing.isEmpty()) {
+            tagRepository.insertMissing(missing);
+            tags.addAll(tagRepository.findByNameIn(missing));
+        }
+        for (Tag tag : tags) {
+            resolved.put(tag.getName(), tag.getId());
+            result.tagIds.put(tag.getName(), tag.getId());
+        }
+        return resolved;
+    }
+
+    private static Set<String> tagNames(CourseImportRequest record) {
+        return record.getTags() != null ? record.getTags() : Set.of();
+    }
+
+    private static ImportErrorDTO error(ImportLine line, String message) {
+        return ImportErrorDTO.builder().line(line.number()).message(message).build();
+    }
+
+    private record ImportLine(long number, CourseImportRequest record) {
+    }
+
+    // State of one import call; the caches live only as long as the import
+    private static final class ImportRun {
+        private final Map<String, Long> categoryIds = new HashMap<>();
+        private final Map<String, Long> teacherIds = new HashMap<>();
+        private final Map<String, Long> tagIds = new HashMap<>();
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(ImportErrorDTO.builder().line(line).message(message).build());
+            }
+        }
+    }
+
+    private static final class ChunkResult {
+        private final Map<String, Long> categoryIds = new HashMap<>();
+        private final Map<String, Long> teacherIds = new HashMap<>();
+        private final Map<String, Long> tagIds = new HashMap<>();
+        private final Set<String> nonTeachers = new HashSet<>();
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private int imported;
+    }
+}
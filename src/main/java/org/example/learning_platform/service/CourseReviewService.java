@@ -1,11 +1,13 @@
 package org.example.learning_platform.service;
 import lombok.RequiredArgsConstructor;
-import org.example.learning_platform.model.Course;
+import org.example.learning_platform.event.CourseChangedEvent;
 import org.example.learning_platform.model.CourseReview;
-import org.example.learning_platform.model.User;
 import org.example.learning_platform.repository.CourseRepository;
 import org.example.learning_platform.repository.CourseReviewRepository;
+import org.example.learning_platform.repository.SqlDialect;
 import org.example.learning_platform.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
@@ -16,26 +18,38 @@ public class CourseReviewService {
     private final CourseReviewRepository reviewRepository;
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
+    private final CourseStatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CourseCatalogService catalogService;
+    private final UserRoleCache userRoleCache;
     @Transactional
     public CourseReview createReview(Long courseId, Long studentId, Integer rating, String comment) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new IllegalArgumentException("Course not found"));
-        User student = userRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
-        if (student.getRole() != User.UserRole.STUDENT) {
-            throw new IllegalArgumentException("User is not a student");
-        }
         if (rating < 1 || rating > 5) {
             throw new IllegalArgumentException("Rating must be between 1 and 5");
         }
+        // Course and role come from caches; both are linked by reference
+        catalogService.getCourse(courseId);
+        userRoleCache.requireStudent(studentId);
         CourseReview review = CourseReview.builder()
-                .course(course)
-                .student(student)
+                .course(courseRepository.getReferenceById(courseId))
+                .student(userRepository.getReferenceById(studentId))
                 .rating(rating)
                 .comment(comment)
                 .createdAt(LocalDateTime.now())
                 .build();
-        return reviewRepository.save(review);
+        CourseReview savedReview;
+        try {
+            savedReview = reviewRepository.save(review);
+        } catch (DataIntegrityViolationException e) {
+            if (SqlDialect.isUniqueViolation(e)) {
+                throw new IllegalArgumentException("Student has already reviewed this course");
+            }
+            // The student or the course was deleted after the cache checks
+            throw new IllegalArgumentException("Student or course not found");
+        }
+        statsService.recordReview(courseId, rating, 1);
+        publishRatingChanged(courseId);
+        return savedReview;
     }
     @Transactional(readOnly = true)
     public List<CourseReview> getCourseReviews(Long courseId) {
@@ -43,10 +57,21 @@ public class CourseReviewService {
     }
     @Transactional(readOnly = true)
     public Double getCourseAverageRating(Long courseId) {
-        return reviewRepository.getAverageRatingByCourseId(courseId);
+        return statsService.getAverageRating(courseId);
     }
     @Transactional
     public void deleteReview(Long reviewId) {
-        reviewRepository.deleteById(reviewId);
+        CourseReview review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new IllegalArgumentException("Review not found"));
+        reviewRepository.delete(review);
+        statsService.recordReview(review.getCourse().getId(), review.getRating(), -1);
+        publishRatingChanged(review.getCourse().getId());
+    }
+    // The average rating is part of the course representation, so cached course responses are dropped
+    private void publishRatingChanged(Long courseId) {
+        eventPublisher.publishEvent(CourseChangedEvent.builder()
+                .courseId(courseId)
+                .type(CourseChangedEvent.Type.RATING_CHANGED)
+                .build());
     }
 }
@@ -0,0 +1,138 @@
+package org.example.learning_platform.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.dto.CursorPageDTO;
+import org.example.learning_platform.dto.RosterEntryDTO;
+import org.example.learning_platform.model.Enrollment;
+import org.example.learning_platform.repository.EnrollmentRepository;
+import org.example.learning_platform.repository.projection.RosterRow;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Students of a course read from a projection of enrollments joined to users,
+// paged by enrollment id, so neither a page nor the CSV export loads entities.
+@Service
+@RequiredArgsConstructor
+public class CourseRosterService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int CSV_FLUSH_ROWS = 1000;
+    private static final String CURSOR_PREFIX = "ROSTER|";
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseCatalogService catalogService;
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<RosterEntryDTO> getRosterPage(Long courseId, Enrollment.EnrollmentStatus status,
+                                                       String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        requireCourse(courseId);
+        long afterId = cursor == null ? 0L : decodeCursor(cursor);
+        // One extra row tells whether another page exists
+        List<RosterRow> rows = enrollmentRepository.findRosterPage(courseId, status, afterId, PageRequest.ofSize(size + 1));
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = encodeCursor(rows.get(size - 1).getEnrollmentId());
+        }
+        return CursorPageDTO.<RosterEntryDTO>builder()
+                .items(rows.stream().map(CourseRosterService::toRosterEntryDTO).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Throws before the response is committed, so an unknown course is still a 400
+    public void requireCourse(Long courseId) {
+        catalogService.getCourse(courseId);
+    }
+
+    // Writes the roster as CSV while scrolling the result set; memory use does
+    // not depend on the size of the course.
+    @Transactional(readOnly = true)
+    public void writeRosterCsv(Long courseId, Enrollment.EnrollmentStatus status, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("student_id,name,email,status,enroll_date\r\n");
+        try (Stream<RosterRow> rows = enrollmentRepository.streamRoster(courseId, status)) {
+            Iterator<RosterRow> iterator = rows.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                RosterRow row = iterator.next();
+                writer.write(row.getStudentId().toString());
+                writer.write(',');
+                writer.write(csvField(row.getStudentName()));
+                writer.write(',');
+                writer.write(csvField(row.getEmail()));
+                writer.write(',');
+                writer.write(row.getStatus().name());
+                writer.write(',');
+                writer.write(row.getEnrollDate().toString());
+                writer.write("\r\n");
+                if (++written % CSV_FLUSH_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private static RosterEntryDTO toRosterEntryDTO(RosterRow row) {
+        return RosterEntryDTO.builder()
+                .studentId(row.getStudentId())
+                .studentName(row.getStudentName())
+                .email(row.getEmail())
+                .status(row.getStatus().name())
+                .enrollDate(row.getEnrollDate().toString())
+                .build();
+    }
+
+    // RFC 4180 quoting; a leading formula character is neutralized for spreadsheets
+    static String csvField(String value) {
+        if (value != null && !value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        return csvQuoted(value);
+    }
+
+    // RFC 4180 quoting only, for values that must be exported unchanged
+    static String csvQuoted(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String encodeCursor(Long enrollmentId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + enrollmentId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(raw.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+}
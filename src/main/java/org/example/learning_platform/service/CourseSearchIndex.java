@@ -0,0 +1,346 @@
+package org.example.learning_platform.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.learning_platform.event.CourseChangedEvent;
+import org.example.learning_platform.repository.CourseRepository;
+import org.example.learning_platform.repository.projection.CourseTextRow;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory full-text index over course titles and descriptions, ranked with
+// BM25 (title matches weigh more). The last query term also matches as a
+// prefix, so a partially typed word still finds results.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double TITLE_BOOST = 2.0;
+    // Terms completed from a prefix count less than the term itself
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int MAX_QUERY_TERMS = 32;
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingLong(Hit::courseId).reversed());
+
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Both guarded by lock; pendingChanges collects events while a rebuild scans the database
+    private Index index = new Index();
+    private List<CourseChangedEvent> pendingChanges;
+
+    public record Hit(long courseId, double score) {
+    }
+
+    public record Result(List<Hit> hits, long totalHits) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index built = new Index();
+        transactionTemplate.execute(status -> {
+            try (Stream<CourseTextRow> rows = courseRepository.streamCourseTexts()) {
+                rows.forEach(row -> built.add(toIndex(row.getId()), row.getTitle(), row.getDescription()));
+            }
+            return null;
+        });
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach(event -> apply(built, event));
+            index = built;
+            pendingChanges = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index built for {} courses", built.documentCount());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Hits are ordered by descending score, ties by course ID
+    public Result search(String query, int offset, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+        boolean prefixLast = !Character.isWhitespace(query.charAt(query.length() - 1));
+        Result top;
+        lock.readLock().lock();
+        try {
+            top = index.search(terms, prefixLast, offset + limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Hit> hits = top.hits();
+        return new Result(offset >= hits.size() ? List.of() : hits.subList(offset, hits.size()), top.totalHits());
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (token.length() < MAX_TOKEN_LENGTH) {
+                    token.append(Character.toLowerCase(c));
+                }
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private static void apply(Index target, CourseChangedEvent event) {
+        if (event.getType() == CourseChangedEvent.Type.CREATED) {
+            target.add(toIndex(event.getCourseId()), event.getTitle(), event.getDescription());
+        } else if (event.getType() == CourseChangedEvent.Type.DELETED) {
+            target.remove(toIndex(event.getCourseId()));
+        }
+    }
+
+    private static int toIndex(long courseId) {
+        return Math.toIntExact(courseId);
+    }
+
+    private record Document(int titleLength, int descriptionLength, String[] terms) {
+    }
+
+    private static final class Index {
+
+        private final NavigableMap<String, Postings> postings = new TreeMap<>();
+        private final Map<Integer, Document> documents = new HashMap<>();
+        private long titleLengthSum;
+        private long descriptionLengthSum;
+
+        int documentCount() {
+            return documents.size();
+        }
+
+        void add(int courseId, String title, String description) {
+            remove(courseId);
+            List<String> titleTerms = tokenize(title);
+            List<String> descriptionTerms = tokenize(description);
+            Map<String, int[]> frequencies = new HashMap<>();
+            titleTerms.forEach(term -> frequencies.computeIfAbsent(term, t -> new int[2])[0]++);
+            descriptionTerms.forEach(term -> frequencies.computeIfAbsent(term, t -> new int[2])[1]++);
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new Postings())
+                    .put(courseId, Postings.pack(frequency[0], frequency[1])));
+
+            documents.put(courseId, new Document(titleTerms.size(), descriptionTerms.size(),
+                    frequencies.keySet().toArray(String[]::new)));
+            titleLengthSum += titleTerms.size();
+            descriptionLengthSum += descriptionTerms.size();
+        }
+
+        void remove(int courseId) {
+            Document document = documents.remove(courseId);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms()) {
+                Postings list = postings.get(term);
+                if (list != null && list.remove(courseId) && list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+            titleLengthSum -= document.titleLength();
+            descriptionLengthSum -= document.descriptionLength();
+        }
+
+        // Scores document-at-a-time over the postings of all query terms and
+        // keeps the best `limit` hits in a bounded heap.
+        Result search(List<String> terms, boolean prefixLast, int limit) {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return new Result(List.of(), 0);
+            }
+            Map<String, Double> weights = new LinkedHashMap<>();
+            terms.forEach(term -> weights.put(term, 1.0));
+            if (prefixLast) {
+                String prefix = terms.get(terms.size() - 1);
+                int expanded = 0;
+                for (String term : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).keySet()) {
+                    if (expanded++ == MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    weights.putIfAbsent(term, PREFIX_WEIGHT);
+                }
+            }
+
+            double averageTitle = Math.max(1.0, (double) titleLengthSum / documentCount);
+            double averageDescription = Math.max(1.0, (double) descriptionLengthSum / documentCount);
+            PriorityQueue<TermCursor> cursors = new PriorityQueue<>(Comparator.comparingInt(TermCursor::courseId));
+            weights.forEach((term, weight) -> {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    double idf = Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+                    cursors.add(new TermCursor(list, weight * idf));
+                }
+            });
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(WORST_FIRST);
+            long totalHits = 0;
+            while (!cursors.isEmpty()) {
+                int courseId = cursors.peek().courseId();
+                Document document = documents.get(courseId);
+                double score = 0;
+                while (!cursors.isEmpty() && cursors.peek().courseId() == courseId) {
+                    TermCursor cursor = cursors.poll();
+                    int frequency = cursor.frequency();
+                    score += cursor.weight * (TITLE_BOOST * bm25(Postings.titleFrequency(frequency),
+                            document.titleLength(), averageTitle)
+                            + bm25(Postings.descriptionFrequency(frequency),
+                            document.descriptionLength(), averageDescription));
+                    if (cursor.advance()) {
+                        cursors.add(cursor);
+                    }
+                }
+                totalHits++;
+                Hit hit = new Hit(courseId, score);
+                if (top.size() < limit) {
+                    top.add(hit);
+                } else if (limit > 0 && WORST_FIRST.compare(hit, top.peek()) > 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(WORST_FIRST.reversed());
+            return new Result(hits, totalHits);
+        }
+
+        private static double bm25(int frequency, int length, double averageLength) {
+            if (frequency == 0) {
+                return 0;
+            }
+            return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+        }
+    }
+
+    // Course IDs in ascending order with their term frequencies, packed as
+    // title << 16 | description.
+    private static final class Postings {
+
+        private int[] courseIds = new int[2];
+        private int[] frequencies = new int[2];
+        private int size;
+
+        static int pack(int titleFrequency, int descriptionFrequency) {
+            return Math.min(titleFrequency, 0xFFFF) << 16 | Math.min(descriptionFrequency, 0xFFFF);
+        }
+
+        static int titleFrequency(int packed) {
+            return packed >>> 16;
+        }
+
+        static int descriptionFrequency(int packed) {
+            return packed & 0xFFFF;
+        }
+
+        void put(int courseId, int frequency) {
+            // New courses get increasing IDs, so most inserts append
+            int position = size > 0 && courseIds[size - 1] < courseId
+                    ? -(size + 1)
+                    : Arrays.binarySearch(courseIds, 0, size, courseId);
+            if (position >= 0) {
+                frequencies[position] = frequency;
+                return;
+            }
+            position = -(position + 1);
+            if (size == courseIds.length) {
+                courseIds = Arrays.copyOf(courseIds, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(courseIds, position, courseIds, position + 1, size - position);
+            System.arraycopy(frequencies, position, frequencies, position + 1, size - position);
+            courseIds[position] = courseId;
+            frequencies[position] = frequency;
+            size++;
+        }
+
+        boolean remove(int courseId) {
+            int position = Arrays.binarySearch(courseIds, 0, size, courseId);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(courseIds, position + 1, courseIds, position, size - position - 1);
+            System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+
+    private static final class TermCursor {
+
+        private final Postings postings;
+        private final double weight;
+        private int position;
+
+        TermCursor(Postings postings, double weight) {
+            this.postings = postings;
+            this.weight = weight;
+        }
+
+        int courseId() {
+            return postings.courseIds[position];
+        }
+
+        int frequency() {
+            return postings.frequencies[position];
+        }
+
+        boolean advance() {
+            return ++position < postings.size;
+        }
+    }
+}
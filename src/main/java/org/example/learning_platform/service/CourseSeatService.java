@@ -0,0 +1,240 @@
+package org.example.learning_platform.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.example.learning_platform.config.LearningPlatformProperties;
+import org.example.learning_platform.dto.CourseSeatsDTO;
+import org.example.learning_platform.model.CourseSeats;
+import org.example.learning_platform.model.Enrollment;
+import org.example.learning_platform.model.WaitlistEntry;
+import org.example.learning_platform.repository.CourseRepository;
+import org.example.learning_platform.repository.CourseSeatsRepository;
+import org.example.learning_platform.repository.EnrollmentRepository;
+import org.example.learning_platform.repository.WaitlistRepository;
+import org.example.learning_platform.repository.projection.CourseSeatsView;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+
+// Seat limits and waitlists. The course_seats row is the source of truth and
+// only changes through conditional updates, so seats are never oversold. An
+// in-memory striped counter per course answers "full" without touching the
+// database, so a flash opening does not queue thousands of transactions on
+// the row lock once the seats are gone.
+@Slf4j
+@Service
+public class CourseSeatService {
+
+    private final CourseSeatsRepository seatsRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final CourseStatsService statsService;
+    private final TransactionTemplate transactionTemplate;
+    private final int stripeCount;
+    private final Cache<Long, SeatCounter> counters;
+
+    public CourseSeatService(CourseSeatsRepository seatsRepository,
+                             WaitlistRepository waitlistRepository,
+                             EnrollmentRepository enrollmentRepository,
+                             CourseRepository courseRepository,
+                             CourseStatsService statsService,
+                             TransactionTemplate transactionTemplate,
+                             LearningPlatformProperties properties) {
+        LearningPlatformProperties.Seats config = properties.getSeats();
+        this.seatsRepository = seatsRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseRepository = courseRepository;
+        this.statsService = statsService;
+        this.transactionTemplate = transactionTemplate;
+        this.stripeCount = config.getCounterStripes();
+        this.counters = Caffeine.newBuilder()
+                .expireAfterWrite(config.getCounterExpireAfterWrite())
+                .build();
+    }
+
+    // Takes one seat for an enrollment made in the caller's transaction. The
+    // in-memory permit is handed back if that transaction rolls back.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryReserve(Long courseId) {
+        SeatCounter counter = counters.get(courseId, this::loadCounter);
+        if (counter.isUnlimited()) {
+            return true;
+        }
+        if (!counter.tryAcquire()) {
+            return false;
+        }
+        afterCompletion(status -> {
+            if (status == TransactionSynchronization.STATUS_ROLLED_BACK) {
+                counter.release();
+            }
+        });
+        if (seatsRepository.reserve(courseId, 1) == 0) {
+            // Another node or a bulk operation took the seat; resync from the database
+            counters.invalidate(courseId);
+            return false;
+        }
+        return true;
+    }
+
+    // Locks the seats row for the rest of the transaction and returns the free
+    // seats, or Long.MAX_VALUE for a course without a limit
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long lockAvailableSeats(Long courseId) {
+        if (seatsRepository.reserve(courseId, 0) == 0) {
+            return seatsRepository.findViewByCourseId(courseId).isPresent() ? 0 : Long.MAX_VALUE;
+        }
+        CourseSeatsView seats = seatsRepository.findViewByCourseId(courseId).orElseThrow();
+        resyncAfterCommit(courseId);
+        return seats.getCapacity() - seats.getTaken();
+    }
+
+    // Counts seats taken while holding the lock from lockAvailableSeats
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void take(Long courseId, long seats) {
+        if (seats > 0) {
+            seatsRepository.reserve(courseId, seats);
+        }
+    }
+
+    // Frees the seats of enrollments that left ACTIVE and hands them to the
+    // head of the waitlist
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long courseId, long seats) {
+        if (seats == 0 || seatsRepository.release(courseId, seats) == 0) {
+            return;
+        }
+        promote(courseId, seats);
+        resyncAfterCommit(courseId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long joinWaitlist(Long courseId, Long studentId) {
+        waitlistRepository.insertMissing(courseId, studentId, LocalDateTime.now());
+        return waitlistRepository.findPosition(courseId, studentId);
+    }
+
+    @Transactional
+    public CourseSeatsDTO setCapacity(Long courseId, long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new IllegalArgumentException("Course not found");
+        }
+        // Counted only once the row is locked: a reservation still in flight
+        // has then either committed its enrollment or waits for this update
+        boolean limited = seatsRepository.lock(courseId) > 0;
+        long active = enrollmentRepository.countByCourseIdAndStatus(courseId, Enrollment.EnrollmentStatus.ACTIVE);
+        if (limited) {
+            seatsRepository.updateCapacity(courseId, capacity, active);
+        } else {
+            seatsRepository.save(CourseSeats.builder().courseId(courseId).capacity(capacity).taken(active).build());
+        }
+        if (capacity > active) {
+            promote(courseId, capacity - active);
+        }
+        resyncAfterCommit(courseId);
+        return getSeats(courseId);
+    }
+
+    @Transactional(readOnly = true)
+    public CourseSeatsDTO getSeats(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new IllegalArgumentException("Course not found");
+        }
+        Optional<CourseSeatsView> seats = seatsRepository.findViewByCourseId(courseId);
+        long waitlisted = waitlistRepository.countByCourseId(courseId);
+        if (seats.isEmpty()) {
+            long active = enrollmentRepository.countByCourseIdAndStatus(courseId, Enrollment.EnrollmentStatus.ACTIVE);
+            return CourseSeatsDTO.builder().courseId(courseId).taken(active).waitlisted(waitlisted).build();
+        }
+        return CourseSeatsDTO.builder()
+                .courseId(courseId)
+                .capacity(seats.get().getCapacity())
+                .taken(seats.get().getTaken())
+                .available(Math.max(0, seats.get().getCapacity() - seats.get().getTaken()))
+                .waitlisted(waitlisted)
+                .build();
+    }
+
+    @Transactional
+    public void remove(Long courseId) {
+        waitlistRepository.deleteByCourseId(courseId);
+        seatsRepository.deleteByCourseId(courseId);
+        resyncAfterCommit(courseId);
+    }
+
+    // Promotes waitlisted students into seats that are free, e.g. because a
+    // request saw a stale "full" counter while a seat was being released, and
+    // reloads the in-memory counters from the database.
+    @Scheduled(fixedDelayString = "${learning-platform.seats.reconcile-interval:PT30S}")
+    public void reconcile() {
+        List<Long> courseIds = transactionTemplate.execute(status -> seatsRepository.findCourseIdsWithFreeSeatsAndWaitlist());
+        for (Long courseId : courseIds) {
+            transactionTemplate.executeWithoutResult(status -> {
+                CourseSeatsView seats = seatsRepository.findViewByCourseId(courseId).orElse(null);
+                if (seats != null && seats.getCapacity() > seats.getTaken()) {
+                    promote(courseId, seats.getCapacity() - seats.getTaken());
+                }
+            });
+        }
+        counters.invalidateAll();
+        if (!courseIds.isEmpty()) {
+            log.info("Promoted waitlisted students in {} courses", courseIds.size());
+        }
+    }
+
+    // Each promotion reserves a seat first, which also serializes promoters of
+    // the same course on the seats row, then moves the head of the waitlist
+    // into an ACTIVE enrollment.
+    private void promote(Long courseId, long seats) {
+        long promoted = 0;
+        while (promoted < seats && seatsRepository.reserve(courseId, 1) > 0) {
+            Optional<WaitlistEntry> next = waitlistRepository.findFirstByCourseIdOrderByIdAsc(courseId);
+            if (next.isEmpty()) {
+                seatsRepository.release(courseId, 1);
+                break;
+            }
+            waitlistRepository.deleteEntry(next.get().getId());
+            Long studentId = next.get().getStudent().getId();
+            if (enrollmentRepository.insertMissing(courseId, List.of(studentId), LocalDateTime.now()).isEmpty()) {
+                // Enrolled in the meantime; the seat goes to the next in line
+                seatsRepository.release(courseId, 1);
+            } else {
+                promoted++;
+            }
+        }
+        statsService.recordEnrollmentTransitions(courseId, null, Enrollment.EnrollmentStatus.ACTIVE, promoted);
+    }
+
+    private SeatCounter loadCounter(Long courseId) {
+        return seatsRepository.findViewByCourseId(courseId)
+                .map(seats -> new SeatCounter(Math.max(0, seats.getCapacity() - seats.getTaken()), stripeCount))
+                .orElse(SeatCounter.UNLIMITED);
+    }
+
+    private void resyncAfterCommit(Long courseId) {
+        afterCompletion(status -> counters.invalidate(courseId));
+    }
+
+    private static void afterCompletion(IntConsumer callback) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status);
+            }
+        });
+    }
+}
@@ -1,19 +1,25 @@
 package org.example.learning_platform.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.event.CourseChangedEvent;
 import org.example.learning_platform.model.Category;
 import org.example.learning_platform.model.Course;
 import org.example.learning_platform.model.Tag;
 import org.example.learning_platform.model.User;
 import org.example.learning_platform.repository.CategoryRepository;
 import org.example.learning_platform.repository.CourseRepository;
+import org.example.learning_platform.repository.QuizAttemptCounterRepository;
 import org.example.learning_platform.repository.TagRepository;
 import org.example.learning_platform.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,9 +29,19 @@ public class CourseService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final TagRepository tagRepository;
+    private final QuizAttemptCounterRepository attemptCounterRepository;
+    private final CourseStatsService statsService;
+    private final CourseSeatService seatService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Course createCourse(Course course, Long categoryId, Long teacherId) {
+        return createCourse(course, categoryId, teacherId, Set.of());
+    }
+
+    // Course, tags and tag links are written in one transaction
+    @Transactional
+    public Course createCourse(Course course, Long categoryId, Long teacherId, Set<String> tagNames) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new IllegalArgumentException("Category not found"));
         User teacher = userRepository.findById(teacherId)
@@ -37,20 +53,58 @@ public class CourseService {
 
         course.setCategory(category);
         course.setTeacher(teacher);
-        return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        Set<String> addedTags = attachTags(savedCourse, tagNames);
+        statsService.initialize(savedCourse.getId());
+        eventPublisher.publishEvent(CourseChangedEvent.builder()
+                .courseId(savedCourse.getId())
+                .type(CourseChangedEvent.Type.CREATED)
+                .categoryId(categoryId)
+                .teacherId(teacherId)
+                .title(savedCourse.getTitle())
+                .description(savedCourse.getDescription())
+                .tagNames(addedTags)
+                .build());
+        return savedCourse;
     }
 
     @Transactional
     public Course addTagsToCourse(Long courseId, Set<String> tagNames) {
         Course course = getCourseById(courseId);
+        Set<String> addedTags = attachTags(course, tagNames);
+        eventPublisher.publishEvent(CourseChangedEvent.builder()
+                .courseId(courseId)
+                .type(CourseChangedEvent.Type.TAGS_ADDED)
+                .categoryId(course.getCategory() != null ? course.getCategory().getId() : null)
+                .teacherId(course.getTeacher() != null ? course.getTeacher().getId() : null)
+                .tagNames(addedTags)
+                .build());
+        return course;
+    }
 
-        for (String tagName : tagNames) {
-            Tag tag = tagRepository.findByName(tagName)
-                    .orElseGet(() -> tagRepository.save(Tag.builder().name(tagName).build()));
-            course.getTags().add(tag);
+    // Resolves all names with one IN query, creates the missing tags in one
+    // batch (tolerating concurrent creators) and links them through the managed
+    // collection, whose join-table rows Hibernate flushes as a JDBC batch.
+    // Returns the names that were not linked before.
+    private Set<String> attachTags(Course course, Set<String> tagNames) {
+        if (tagNames == null || tagNames.isEmpty()) {
+            return Set.of();
+        }
+        List<Tag> tags = new ArrayList<>(tagRepository.findByNameIn(tagNames));
+        Set<String> missing = new HashSet<>(tagNames);
+        tags.forEach(tag -> missing.remove(tag.getName()));
+        if (!missing.isEmpty()) {
+            tagRepository.insertMissing(missing);
+            tags.addAll(tagRepository.findByNameIn(missing));
         }
 
-        return courseRepository.save(course);
+        Set<String> addedTags = new HashSet<>();
+        for (Tag tag : tags) {
+            if (course.getTags().add(tag)) {
+                addedTags.add(tag.getName());
+            }
+        }
+        return addedTags;
     }
 
     @Transactional(readOnly = true)
@@ -81,7 +135,22 @@ public class CourseService {
 
     @Transactional
     public void deleteCourse(Long id) {
-        courseRepository.deleteById(id);
+        Course course = courseRepository.findById(id).orElse(null);
+        if (course == null) {
+            return;
+        }
+        Set<String> tagNames = course.getTags().stream().map(Tag::getName).collect(Collectors.toSet());
+        seatService.remove(id);
+        attemptCounterRepository.deleteByCourseId(id);
+        courseRepository.delete(course);
+        statsService.remove(id);
+        eventPublisher.publishEvent(CourseChangedEvent.builder()
+                .courseId(id)
+                .type(CourseChangedEvent.Type.DELETED)
+                .categoryId(course.getCategory() != null ? course.getCategory().getId() : null)
+                .teacherId(course.getTeacher() != null ? course.getTeacher().getId() : null)
+                .tagNames(tagNames)
+                .build());
     }
 }
 
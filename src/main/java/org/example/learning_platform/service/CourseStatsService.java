@@ -0,0 +1,250 @@
+package org.example.learning_platform.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.learning_platform.dto.CourseStatsDTO;
+import org.example.learning_platform.model.CourseStats;
+import org.example.learning_platform.model.Enrollment;
+import org.example.learning_platform.repository.CourseRepository;
+import org.example.learning_platform.repository.CourseReviewRepository;
+import org.example.learning_platform.repository.CourseStatsRepository;
+import org.example.learning_platform.repository.EnrollmentRepository;
+import org.example.learning_platform.repository.SubmissionRepository;
+import org.example.learning_platform.repository.projection.CourseCountRow;
+import org.example.learning_platform.repository.projection.CourseStatsView;
+import org.example.learning_platform.repository.projection.EnrollmentStatusCountRow;
+import org.example.learning_platform.repository.projection.RatingCountRow;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseStatsService {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final CourseStatsRepository statsRepository;
+    private final CourseRepository courseRepository;
+    private final CourseReviewRepository reviewRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final SubmissionRepository submissionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Transactional
+    public void initialize(Long courseId) {
+        statsRepository.save(CourseStats.builder().courseId(courseId).build());
+    }
+
+    @Transactional
+    public void remove(Long courseId) {
+        statsRepository.deleteByCourseId(courseId);
+    }
+
+    // The record* methods run after the underlying row has been written, so a
+    // missing stats row can be recomputed from the base tables instead. The
+    // rebuild creates the row with a conflict-ignoring insert, so concurrent
+    // callers cannot collide on it.
+    @Transactional
+    public void recordReview(Long courseId, int rating, int delta) {
+        int updated = statsRepository.addRatings(courseId, (long) rating * delta, delta,
+                rating == 1 ? delta : 0, rating == 2 ? delta : 0, rating == 3 ? delta : 0,
+                rating == 4 ? delta : 0, rating == 5 ? delta : 0);
+        if (updated == 0) {
+            rebuild(courseId);
+        }
+    }
+
+    @Transactional
+    public void recordEnrollmentTransition(Long courseId,
+                                           Enrollment.EnrollmentStatus from,
+                                           Enrollment.EnrollmentStatus to) {
+        recordEnrollmentTransitions(courseId, from, to, 1);
+    }
+
+    // Same as recordEnrollmentTransition for `count` enrollments moved by one bulk statement
+    @Transactional
+    public void recordEnrollmentTransitions(Long courseId,
+                                            Enrollment.EnrollmentStatus from,
+                                            Enrollment.EnrollmentStatus to,
+                                            long count) {
+        if (from == to || count == 0) {
+            return;
+        }
+        long[] delta = new long[Enrollment.EnrollmentStatus.values().length];
+        if (from != null) {
+            delta[from.ordinal()] -= count;
+        }
+        if (to != null) {
+            delta[to.ordinal()] += count;
+        }
+        int updated = statsRepository.addEnrollments(courseId,
+                delta[Enrollment.EnrollmentStatus.ACTIVE.ordinal()],
+                delta[Enrollment.EnrollmentStatus.COMPLETED.ordinal()],
+                delta[Enrollment.EnrollmentStatus.DROPPED.ordinal()]);
+        if (updated == 0) {
+            rebuild(courseId);
+        }
+    }
+
+    @Transactional
+    public void recordSubmission(Long courseId) {
+        recordSubmissions(courseId, 1);
+    }
+
+    @Transactional
+    public void recordSubmissions(Long courseId, long count) {
+        if (count > 0 && statsRepository.addSubmissions(courseId, count) == 0) {
+            rebuild(courseId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CourseStatsDTO getStats(Long courseId) {
+        CourseStatsView view = statsRepository.findViewByCourseId(courseId)
+                .orElseThrow(() -> new IllegalArgumentException("Course not found with id: " + courseId));
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, view.getRating1());
+        histogram.put(2, view.getRating2());
+        histogram.put(3, view.getRating3());
+        histogram.put(4, view.getRating4());
+        histogram.put(5, view.getRating5());
+        return CourseStatsDTO.builder()
+                .courseId(courseId)
+                .averageRating(averageOf(view))
+                .ratingCount(view.getRatingCount())
+                .ratingHistogram(histogram)
+                .activeEnrollments(view.getActiveEnrollments())
+                .completedEnrollments(view.getCompletedEnrollments())
+                .droppedEnrollments(view.getDroppedEnrollments())
+                .submissionCount(view.getSubmissionCount())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public Double getAverageRating(Long courseId) {
+        return statsRepository.findViewByCourseId(courseId)
+                .map(CourseStatsService::averageOf)
+                .orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Double> getAverageRatings(Collection<Long> courseIds) {
+        Map<Long, Double> ratings = new HashMap<>();
+        for (CourseStatsView view : statsRepository.findViewsByCourseIds(courseIds)) {
+            Double average = averageOf(view);
+            if (average != null) {
+                ratings.put(view.getCourseId(), average);
+            }
+        }
+        return ratings;
+    }
+
+    @Transactional
+    public void rebuild(Long courseId) {
+        rebuildBatch(List.of(courseId));
+    }
+
+    // Recomputes every course in batches, one transaction per batch, so the job
+    // never holds a long transaction over the base tables.
+    @Scheduled(cron = "${learning-platform.course-stats.rebuild-cron:-}")
+    public int rebuildAll() {
+        int rebuilt = 0;
+        long afterId = 0L;
+        while (true) {
+            long from = afterId;
+            List<Long> courseIds = transactionTemplate.execute(status -> {
+                List<Long> batch = courseRepository.findIdsAfter(from, PageRequest.ofSize(REBUILD_BATCH_SIZE));
+                rebuildBatch(batch);
+                return batch;
+            });
+            if (courseIds == null || courseIds.isEmpty()) {
+                break;
+            }
+            rebuilt += courseIds.size();
+            afterId = courseIds.get(courseIds.size() - 1);
+        }
+        log.info("Rebuilt course statistics for {} courses", rebuilt);
+        return rebuilt;
+    }
+
+    // Fills the read model after an upgrade, when courses exist without stats rows
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfIncomplete() {
+        if (statsRepository.count() < courseRepository.count()) {
+            rebuildAll();
+        }
+    }
+
+    private void rebuildBatch(List<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        // Counted only after the rows are locked, so no delta committed in
+        // between can be overwritten by the absolute counts
+        statsRepository.insertMissing(courseIds);
+        Map<Long, CourseStats> stats = statsRepository.lockAllByCourseIds(courseIds).stream()
+                .collect(Collectors.toMap(CourseStats::getCourseId, Function.identity()));
+        stats.values().forEach(CourseStatsService::resetCounters);
+
+        for (RatingCountRow row : reviewRepository.countRatingsByCourseIds(courseIds)) {
+            CourseStats current = stats.get(row.getCourseId());
+            current.setRatingSum(current.getRatingSum() + (long) row.getRating() * row.getTotal());
+            current.setRatingCount(current.getRatingCount() + row.getTotal());
+            switch (row.getRating()) {
+                case 1 -> current.setRating1(row.getTotal());
+                case 2 -> current.setRating2(row.getTotal());
+                case 3 -> current.setRating3(row.getTotal());
+                case 4 -> current.setRating4(row.getTotal());
+                case 5 -> current.setRating5(row.getTotal());
+                default -> log.warn("Ignoring out-of-range rating {} for course {}", row.getRating(), row.getCourseId());
+            }
+        }
+        for (EnrollmentStatusCountRow row : enrollmentRepository.countStatusesByCourseIds(courseIds)) {
+            CourseStats current = stats.get(row.getCourseId());
+            switch (row.getStatus()) {
+                case ACTIVE -> current.setActiveEnrollments(row.getTotal());
+                case COMPLETED -> current.setCompletedEnrollments(row.getTotal());
+                case DROPPED -> current.setDroppedEnrollments(row.getTotal());
+            }
+        }
+        for (CourseCountRow row : submissionRepository.countByCourseIds(courseIds)) {
+            stats.get(row.getCourseId()).setSubmissionCount(row.getTotal());
+        }
+        statsRepository.saveAll(stats.values());
+    }
+
+    private static void resetCounters(CourseStats stats) {
+        stats.setRatingSum(0L);
+        stats.setRatingCount(0L);
+        stats.setRating1(0L);
+        stats.setRating2(0L);
+        stats.setRating3(0L);
+        stats.setRating4(0L);
+        stats.setRating5(0L);
+        stats.setActiveEnrollments(0L);
+        stats.setCompletedEnrollments(0L);
+        stats.setDroppedEnrollments(0L);
+        stats.setSubmissionCount(0L);
+    }
+
+    private static Double averageOf(CourseStatsView view) {
+        if (view.getRatingCount() == 0) {
+            return null;
+        }
+        return (double) view.getRatingSum() / view.getRatingCount();
+    }
+}
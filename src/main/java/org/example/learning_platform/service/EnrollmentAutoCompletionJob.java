@@ -0,0 +1,39 @@
+package org.example.learning_platform.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.model.Enrollment;
+import org.example.learning_platform.model.Submission;
+import org.example.learning_platform.repository.EnrollmentRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Completes ACTIVE enrollments once the student has passed every quiz and has
+// every assignment of the course graded.
+@Component
+@RequiredArgsConstructor
+public class EnrollmentAutoCompletionJob implements ChunkedJob {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentService enrollmentService;
+
+    @Override
+    public String name() {
+        return "enrollment-auto-completion";
+    }
+
+    @Override
+    public List<Long> nextChunk(long afterId, int limit) {
+        return enrollmentRepository.findIdsByStatusAfterId(
+                Enrollment.EnrollmentStatus.ACTIVE, afterId, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public long process(List<Long> ids) {
+        return enrollmentService.transitionEnrollments(
+                enrollmentRepository.findFinishedAmong(ids, Enrollment.EnrollmentStatus.ACTIVE,
+                        Submission.SubmissionStatus.GRADED),
+                Enrollment.EnrollmentStatus.ACTIVE, Enrollment.EnrollmentStatus.COMPLETED);
+    }
+}
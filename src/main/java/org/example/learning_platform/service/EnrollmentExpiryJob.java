@@ -0,0 +1,49 @@
+package org.example.learning_platform.service;
+
+import org.example.learning_platform.config.LearningPlatformProperties;
+import org.example.learning_platform.model.Enrollment;
+import org.example.learning_platform.repository.EnrollmentRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Drops ACTIVE enrollments without a submission or quiz attempt in the course
+// for learning-platform.jobs.enrollment-expire-after; the seats they free go
+// to the waitlist. Courses with nothing to submit are left alone.
+@Component
+public class EnrollmentExpiryJob implements ChunkedJob {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentService enrollmentService;
+    private final Duration expireAfter;
+
+    public EnrollmentExpiryJob(EnrollmentRepository enrollmentRepository,
+                               EnrollmentService enrollmentService,
+                               LearningPlatformProperties properties) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.enrollmentService = enrollmentService;
+        this.expireAfter = properties.getJobs().getEnrollmentExpireAfter();
+    }
+
+    @Override
+    public String name() {
+        return "enrollment-expiry";
+    }
+
+    @Override
+    public List<Long> nextChunk(long afterId, int limit) {
+        return enrollmentRepository.findIdsByStatusAfterId(
+                Enrollment.EnrollmentStatus.ACTIVE, afterId, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public long process(List<Long> ids) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(expireAfter);
+        return enrollmentService.transitionEnrollments(
+                enrollmentRepository.findInactiveAmong(ids, Enrollment.EnrollmentStatus.ACTIVE, cutoff),
+                Enrollment.EnrollmentStatus.ACTIVE, Enrollment.EnrollmentStatus.DROPPED);
+    }
+}
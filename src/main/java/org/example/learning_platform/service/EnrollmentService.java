@@ -1,50 +1,204 @@
 package org.example.learning_platform.service;
 
 import lombok.RequiredArgsConstructor;
-import org.example.learning_platform.model.Course;
+import org.example.learning_platform.dto.BulkEnrollmentResultDTO;
+import org.example.learning_platform.dto.EnrollmentOutcomeDTO;
+import org.example.learning_platform.dto.EnrollmentTransitionDTO;
 import org.example.learning_platform.model.Enrollment;
 import org.example.learning_platform.model.User;
 import org.example.learning_platform.repository.CourseRepository;
 import org.example.learning_platform.repository.EnrollmentRepository;
+import org.example.learning_platform.repository.SqlDialect;
 import org.example.learning_platform.repository.UserRepository;
+import org.example.learning_platform.repository.projection.EnrollmentCourseRow;
+import org.example.learning_platform.repository.projection.UserRoleRow;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
 public class EnrollmentService {
 
+    public static final int MAX_BULK_SIZE = 10_000;
+    // Bounds the IN list of the role lookup and the size of each insert
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    private enum Outcome {
+        ENROLLED, ALREADY_ENROLLED, STUDENT_NOT_FOUND, NOT_A_STUDENT, COURSE_FULL
+    }
+
     private final EnrollmentRepository enrollmentRepository;
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
+    private final CourseStatsService statsService;
+    private final CourseSeatService seatService;
+    private final CourseCatalogService catalogService;
+    private final UserRoleCache userRoleCache;
+
+    // Either the new enrollment or, for a full course, the student's place in the waitlist
+    public record EnrollmentRequest(Enrollment enrollment, Long waitlistPosition) {
+        public boolean isWaitlisted() {
+            return enrollment == null;
+        }
+    }
 
+    // Fails when the course is full
     @Transactional
     public Enrollment enrollStudent(Long studentId, Long courseId) {
-        User student = userRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new IllegalArgumentException("Course not found"));
+        return enroll(studentId, courseId, false).enrollment();
+    }
 
-        if (student.getRole() != User.UserRole.STUDENT) {
-            throw new IllegalArgumentException("User is not a student");
-        }
+    @Transactional
+    public EnrollmentRequest enrollOrWaitlist(Long studentId, Long courseId) {
+        return enroll(studentId, courseId, true);
+    }
+
+    // The role comes from the role cache and the course check from the catalog
+    // cache; both are linked by reference, so an enrollment costs the seat
+    // update and a single INSERT.
+    private EnrollmentRequest enroll(Long studentId, Long courseId, boolean waitlistWhenFull) {
+        userRoleCache.requireStudent(studentId);
+        catalogService.getCourse(courseId);
 
-        // Check if already enrolled
-        if (enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId).isPresent()) {
-            throw new IllegalArgumentException("Student is already enrolled in this course");
+        if (!seatService.tryReserve(courseId)) {
+            if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+                throw new IllegalArgumentException("Student is already enrolled in this course");
+            }
+            if (!waitlistWhenFull) {
+                throw new IllegalArgumentException("Course is full");
+            }
+            return new EnrollmentRequest(null, seatService.joinWaitlist(courseId, studentId));
         }
 
         Enrollment enrollment = Enrollment.builder()
-                .student(student)
-                .course(course)
+                .student(userRepository.getReferenceById(studentId))
+                .course(courseRepository.getReferenceById(courseId))
                 .enrollDate(LocalDateTime.now())
                 .status(Enrollment.EnrollmentStatus.ACTIVE)
                 .build();
+        // The unique constraint catches duplicates, including concurrent ones;
+        // the transaction, and with it the seat, is rolled back
+        try {
+            enrollment = enrollmentRepository.save(enrollment);
+        } catch (DataIntegrityViolationException e) {
+            if (SqlDialect.isUniqueViolation(e)) {
+                throw new IllegalArgumentException("Student is already enrolled in this course");
+            }
+            // The student or the course was deleted after the cache checks
+            throw new IllegalArgumentException("Student or course not found");
+        }
+        statsService.recordEnrollmentTransition(courseId, null, Enrollment.EnrollmentStatus.ACTIVE);
+        return new EnrollmentRequest(enrollment, null);
+    }
+
+    // Roles are checked with one query per chunk and duplicates are left to the
+    // (student_id, course_id) unique constraint, so a large roster costs a few
+    // statements instead of four per student.
+    @Transactional
+    public BulkEnrollmentResultDTO enrollStudents(Long courseId, List<Long> studentIds) {
+        if (studentIds.isEmpty() || studentIds.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BULK_SIZE + " student IDs are required");
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new IllegalArgumentException("Course not found");
+        }
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        LocalDateTime enrollDate = LocalDateTime.now();
+        // Holds the seats row for the whole import, so seats are counted exactly
+        long available = seatService.lockAvailableSeats(courseId);
+        long enrolled = 0;
+        Map<Long, Outcome> outcomes = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinct.size()));
+            Map<Long, User.UserRole> roles = new HashMap<>();
+            for (UserRoleRow row : userRepository.findRolesByIdIn(chunk)) {
+                roles.put(row.getId(), row.getRole());
+            }
+            List<Long> students = new ArrayList<>();
+            for (Long studentId : chunk) {
+                User.UserRole role = roles.get(studentId);
+                if (role == null) {
+                    outcomes.put(studentId, Outcome.STUDENT_NOT_FOUND);
+                } else if (role != User.UserRole.STUDENT) {
+                    outcomes.put(studentId, Outcome.NOT_A_STUDENT);
+                } else {
+                    students.add(studentId);
+                }
+            }
+            // Duplicates take no seat, so the next students are tried until the seats run out
+            int next = 0;
+            while (next < students.size() && available > enrolled) {
+                List<Long> attempt = students.subList(next,
+                        (int) Math.min(students.size(), next + Math.min(available - enrolled, BULK_CHUNK_SIZE)));
+                Set<Long> inserted = new HashSet<>(enrollmentRepository.insertMissing(courseId, attempt, enrollDate));
+                attempt.forEach(studentId -> outcomes.put(studentId,
+                        inserted.contains(studentId) ? Outcome.ENROLLED : Outcome.ALREADY_ENROLLED));
+                enrolled += inserted.size();
+                next += attempt.size();
+            }
+            students.subList(next, students.size()).forEach(studentId -> outcomes.put(studentId, Outcome.COURSE_FULL));
+        }
 
-        return enrollmentRepository.save(enrollment);
+        if (available != Long.MAX_VALUE) {
+            seatService.take(courseId, enrolled);
+        }
+        statsService.recordEnrollmentTransitions(courseId, null, Enrollment.EnrollmentStatus.ACTIVE, enrolled);
+        return BulkEnrollmentResultDTO.builder()
+                .courseId(courseId)
+                .enrolled(enrolled)
+                .skipped(distinct.size() - enrolled)
+                .results(distinct.stream()
+                        .map(studentId -> EnrollmentOutcomeDTO.builder()
+                                .studentId(studentId)
+                                .outcome(outcomes.get(studentId).name())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    // One student ID per line, optionally followed by other columns; a
+    // non-numeric first line is taken as a header
+    @Transactional
+    public BulkEnrollmentResultDTO enrollStudentsFromCsv(Long courseId, String csv) {
+        List<Long> studentIds = new ArrayList<>();
+        String[] lines = csv.split("\\R");
+        boolean firstLine = true;
+        for (int i = 0; i < lines.length; i++) {
+            String value = lines[i].split("[,;]", 2)[0].trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            try {
+                studentIds.add(Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                if (!firstLine) {
+                    throw new IllegalArgumentException("Invalid student ID on line " + (i + 1) + ": " + value);
+                }
+            }
+            firstLine = false;
+        }
+        return enrollStudents(courseId, studentIds);
+    }
+
+    @Transactional
+    public EnrollmentTransitionDTO completeEnrollments(Long courseId, Enrollment.EnrollmentStatus from) {
+        return transitionAll(courseId, from, Enrollment.EnrollmentStatus.COMPLETED);
+    }
+
+    @Transactional
+    public EnrollmentTransitionDTO dropEnrollments(Long courseId, Enrollment.EnrollmentStatus from) {
+        return transitionAll(courseId, from, Enrollment.EnrollmentStatus.DROPPED);
     }
 
     @Transactional
@@ -52,10 +206,15 @@ public class EnrollmentService {
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Enrollment not found"));
 
+        Enrollment.EnrollmentStatus previousStatus = enrollment.getStatus();
         enrollment.setStatus(Enrollment.EnrollmentStatus.COMPLETED);
         enrollment.setCompletedDate(LocalDateTime.now());
 
-        return enrollmentRepository.save(enrollment);
+        Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        statsService.recordEnrollmentTransition(
+                enrollment.getCourse().getId(), previousStatus, Enrollment.EnrollmentStatus.COMPLETED);
+        releaseSeat(enrollment.getCourse().getId(), previousStatus);
+        return savedEnrollment;
     }
 
     @Transactional(readOnly = true)
@@ -65,15 +224,79 @@ public class EnrollmentService {
 
     @Transactional(readOnly = true)
     public List<Enrollment> getCourseEnrollments(Long courseId) {
-        return enrollmentRepository.findByCourseId(courseId);
+        return enrollmentRepository.findWithStudentByCourseId(courseId);
     }
 
     @Transactional
     public void dropEnrollment(Long enrollmentId) {
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Enrollment not found"));
+        Enrollment.EnrollmentStatus previousStatus = enrollment.getStatus();
         enrollment.setStatus(Enrollment.EnrollmentStatus.DROPPED);
         enrollmentRepository.save(enrollment);
+        statsService.recordEnrollmentTransition(
+                enrollment.getCourse().getId(), previousStatus, Enrollment.EnrollmentStatus.DROPPED);
+        releaseSeat(enrollment.getCourse().getId(), previousStatus);
+    }
+
+    // Seats are held by ACTIVE enrollments only; a freed seat goes to the waitlist
+    private void releaseSeat(Long courseId, Enrollment.EnrollmentStatus previousStatus) {
+        if (previousStatus == Enrollment.EnrollmentStatus.ACTIVE) {
+            seatService.release(courseId, 1);
+        }
     }
-}
 
+    // Moves enrollments picked by a batch job with one statement per course.
+    // Rows whose status changed since they were picked are not counted, so
+    // stats and seats follow what the statements actually updated. Courses go
+    // in ID order, so concurrent chunks lock the stats and seats rows in the
+    // same order.
+    @Transactional
+    public long transitionEnrollments(List<EnrollmentCourseRow> enrollments,
+                                      Enrollment.EnrollmentStatus from,
+                                      Enrollment.EnrollmentStatus to) {
+        Map<Long, List<Long>> idsByCourse = new TreeMap<>();
+        for (EnrollmentCourseRow row : enrollments) {
+            idsByCourse.computeIfAbsent(row.getCourseId(), id -> new ArrayList<>()).add(row.getId());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        for (Map.Entry<Long, List<Long>> course : idsByCourse.entrySet()) {
+            Long courseId = course.getKey();
+            int updated = to == Enrollment.EnrollmentStatus.COMPLETED
+                    ? enrollmentRepository.updateStatusAndCompletedDateByIds(courseId, course.getValue(), from, to, now)
+                    : enrollmentRepository.updateStatusByIds(courseId, course.getValue(), from, to);
+            statsService.recordEnrollmentTransitions(courseId, from, to, updated);
+            if (from == Enrollment.EnrollmentStatus.ACTIVE) {
+                seatService.release(courseId, updated);
+            }
+            total += updated;
+        }
+        return total;
+    }
+
+    // A single UPDATE for every enrollment of the course in the given status
+    private EnrollmentTransitionDTO transitionAll(Long courseId,
+                                                  Enrollment.EnrollmentStatus from,
+                                                  Enrollment.EnrollmentStatus to) {
+        if (from == to) {
+            throw new IllegalArgumentException("Enrollments are already " + to);
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new IllegalArgumentException("Course not found");
+        }
+        int updated = to == Enrollment.EnrollmentStatus.COMPLETED
+                ? enrollmentRepository.updateStatusAndCompletedDateByCourseId(courseId, from, to, LocalDateTime.now())
+                : enrollmentRepository.updateStatusByCourseId(courseId, from, to);
+        statsService.recordEnrollmentTransitions(courseId, from, to, updated);
+        if (from == Enrollment.EnrollmentStatus.ACTIVE) {
+            seatService.release(courseId, updated);
+        }
+        return EnrollmentTransitionDTO.builder()
+                .courseId(courseId)
+                .fromStatus(from.name())
+                .toStatus(to.name())
+                .updated((long) updated)
+                .build();
+    }
+}
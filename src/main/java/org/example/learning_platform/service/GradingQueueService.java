@@ -0,0 +1,104 @@
+package org.example.learning_platform.service;
+
+import org.example.learning_platform.config.LearningPlatformProperties;
+import org.example.learning_platform.dto.GradingTaskDTO;
+import org.example.learning_platform.model.User;
+import org.example.learning_platform.repository.SqlDialect;
+import org.example.learning_platform.repository.SubmissionRepository;
+import org.example.learning_platform.repository.projection.GradingTaskRow;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Hands out ungraded submissions of a teacher's courses to graders under
+// short leases, so graders working in parallel never get the same item. A
+// lease ends when the submission is graded, released, or expires; expired
+// leases are simply claimable again.
+@Service
+public class GradingQueueService {
+
+    public static final int MAX_CLAIM = 100;
+
+    private final SubmissionRepository submissionRepository;
+    private final UserRoleCache userRoleCache;
+    private final SqlDialect sqlDialect;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration leaseDuration;
+    private final Object claimLock = new Object();
+
+    public GradingQueueService(SubmissionRepository submissionRepository,
+                               UserRoleCache userRoleCache,
+                               SqlDialect sqlDialect,
+                               TransactionTemplate transactionTemplate,
+                               LearningPlatformProperties properties) {
+        this.submissionRepository = submissionRepository;
+        this.userRoleCache = userRoleCache;
+        this.sqlDialect = sqlDialect;
+        this.transactionTemplate = transactionTemplate;
+        this.leaseDuration = properties.getGrading().getLeaseDuration();
+    }
+
+    public List<GradingTaskDTO> claim(Long teacherId, Long graderId, int limit) {
+        if (limit < 1 || limit > MAX_CLAIM) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_CLAIM);
+        }
+        requireStaff(teacherId, "Teacher");
+        requireStaff(graderId, "Grader");
+        if (sqlDialect.isPostgres()) {
+            return transactionTemplate.execute(status -> claimInTransaction(teacherId, graderId, limit));
+        }
+        // Without SKIP LOCKED, claims in this process take turns, each
+        // committed before the next one looks for free submissions
+        synchronized (claimLock) {
+            return transactionTemplate.execute(status -> claimInTransaction(teacherId, graderId, limit));
+        }
+    }
+
+    // Gives submissions back to the queue; only the grader's own leases are released
+    @Transactional
+    public int release(Long graderId, List<Long> submissionIds) {
+        if (submissionIds.isEmpty()) {
+            return 0;
+        }
+        return submissionRepository.releaseLeases(graderId, submissionIds);
+    }
+
+    private List<GradingTaskDTO> claimInTransaction(Long teacherId, Long graderId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = submissionRepository.claimUngraded(teacherId, graderId, limit, now, now.plus(leaseDuration));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return submissionRepository.findGradingTasks(ids).stream()
+                .map(this::toGradingTaskDTO)
+                .toList();
+    }
+
+    private void requireStaff(Long userId, String label) {
+        UserRoleCache.UserRef user = userRoleCache.get(userId);
+        if (user == null) {
+            throw new IllegalArgumentException(label + " not found");
+        }
+        if (user.role() != User.UserRole.TEACHER && user.role() != User.UserRole.ADMIN) {
+            throw new IllegalArgumentException(label + " must be a teacher or an admin");
+        }
+    }
+
+    private GradingTaskDTO toGradingTaskDTO(GradingTaskRow row) {
+        return GradingTaskDTO.builder()
+                .submissionId(row.getSubmissionId())
+                .assignmentId(row.getAssignmentId())
+                .assignmentTitle(row.getAssignmentTitle())
+                .dueDate(row.getDueDate() != null ? row.getDueDate().toString() : null)
+                .courseId(row.getCourseId())
+                .studentId(row.getStudentId())
+                .studentName(userRoleCache.nameOf(row.getStudentId()))
+                .submittedAt(row.getSubmittedAt().toString())
+                .leaseExpiresAt(row.getLeaseExpiresAt().toString())
+                .build();
+    }
+}
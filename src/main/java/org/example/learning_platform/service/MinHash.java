@@ -0,0 +1,184 @@
+package org.example.learning_platform.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// MinHash signatures over word shingles, and LSH banding to find groups of
+// near-identical texts without comparing every pair. The share of equal
+// signature positions estimates the Jaccard similarity of two shingle sets;
+// texts become candidates when all rows of at least one band match, and only
+// candidates are compared.
+public final class MinHash {
+
+    public static final int SIGNATURE_LENGTH = 128;
+    public static final int SIGNATURE_BYTES = SIGNATURE_LENGTH * Integer.BYTES;
+    static final int SHINGLE_WORDS = 3;
+    // 32 bands of 4 rows: pairs at 0.5 similarity are candidates with 87%
+    // probability, pairs at 0.8 with all but certainty
+    static final int BANDS = 32;
+    static final int ROWS = SIGNATURE_LENGTH / BANDS;
+
+    private static final long[] SEEDS = new SplittableRandom(0x5EEDL).longs(SIGNATURE_LENGTH).toArray();
+
+    // Indexes into the input list of texts whose signatures are similar, with
+    // the lowest similarity of the pairs that joined them
+    public record Cluster(List<Integer> members, double similarity) {
+    }
+
+    private MinHash() {
+    }
+
+    public static int[] signature(String text) {
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        List<String> tokens = new ArrayList<>(words.length);
+        for (String word : words) {
+            if (!word.isEmpty()) {
+                tokens.add(word);
+            }
+        }
+
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        // A text shorter than a shingle is one shingle
+        int shingles = Math.max(1, tokens.size() - SHINGLE_WORDS + 1);
+        for (int start = 0; start < shingles; start++) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = start; i < Math.min(start + SHINGLE_WORDS, tokens.size()); i++) {
+                hash = fnv(hash, tokens.get(i));
+            }
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                int value = (int) (mix(hash ^ SEEDS[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_LENGTH;
+    }
+
+    // Clusters are the connected components of the candidate pairs whose
+    // similarity reaches the threshold; texts without a match are left out.
+    public static List<Cluster> cluster(List<int[]> signatures, double threshold) {
+        UnionFind groups = new UnionFind(signatures.size());
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int band = 0; band < BANDS; band++) {
+            buckets.clear();
+            for (int i = 0; i < signatures.size(); i++) {
+                buckets.computeIfAbsent(bandKey(signatures.get(i), band), key -> new ArrayList<>(2)).add(i);
+            }
+            for (List<Integer> bucket : buckets.values()) {
+                for (int x = 0; x < bucket.size(); x++) {
+                    for (int y = x + 1; y < bucket.size(); y++) {
+                        int a = bucket.get(x);
+                        int b = bucket.get(y);
+                        // Pairs already connected need no comparison, which keeps
+                        // a bucket full of copies of one answer cheap
+                        if (groups.find(a) != groups.find(b)) {
+                            double similarity = similarity(signatures.get(a), signatures.get(b));
+                            if (similarity >= threshold) {
+                                groups.union(a, b, similarity);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return groups.clusters();
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIGNATURE_BYTES);
+        for (int value : signature) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[SIGNATURE_LENGTH];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = 1;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[i];
+        }
+        return key;
+    }
+
+    private static long fnv(long hash, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            hash = (hash ^ word.charAt(i)) * 0x100000001b3L;
+        }
+        // Word separator, so "ab c" and "a bc" differ
+        return (hash ^ ' ') * 0x100000001b3L;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class UnionFind {
+        private final int[] parent;
+        private final double[] similarity;
+
+        UnionFind(int size) {
+            parent = new int[size];
+            similarity = new double[size];
+            for (int i = 0; i < size; i++) {
+                parent[i] = i;
+                similarity[i] = 1.0;
+            }
+        }
+
+        int find(int i) {
+            while (parent[i] != i) {
+                parent[i] = parent[parent[i]];
+                i = parent[i];
+            }
+            return i;
+        }
+
+        void union(int a, int b, double edge) {
+            int rootA = find(a);
+            int rootB = find(b);
+            parent[rootB] = rootA;
+            similarity[rootA] = Math.min(edge, Math.min(similarity[rootA], similarity[rootB]));
+        }
+
+        List<Cluster> clusters() {
+            Map<Integer, List<Integer>> members = new HashMap<>();
+            for (int i = 0; i < parent.length; i++) {
+                members.computeIfAbsent(find(i), root -> new ArrayList<>()).add(i);
+            }
+            List<Cluster> clusters = new ArrayList<>();
+            members.forEach((root, group) -> {
+                if (group.size() > 1) {
+                    clusters.add(new Cluster(group, similarity[root]));
+                }
+            });
+            return clusters;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package org.example.learning_platform.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Word-prefix trie for type-ahead. Every word of an entry's text is a key, and
+// every node caches the best CACHE_SIZE entries of its subtree, so a lookup
+// only walks the typed prefix and reads that cache.
+final class PrefixIndex<K> {
+
+    static final int CACHE_SIZE = 32;
+
+    record Entry<K>(K key, String text, long weight) {
+    }
+
+    // Heavier first, then shorter and alphabetical
+    private final Comparator<Entry<K>> ranking = Comparator.<Entry<K>>comparingLong(Entry::weight).reversed()
+            .thenComparingInt(entry -> entry.text().length())
+            .thenComparing(Entry::text);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node<K> root = new Node<>();
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+
+    Entry<K> get(K key) {
+        lock.readLock().lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(K key, String text, long weight) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(key);
+            Entry<K> entry = new Entry<>(key, text, weight);
+            entries.put(key, entry);
+            // Words sharing a prefix share nodes; each node is offered the entry once
+            Set<Node<K>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (String word : words(text)) {
+                Node<K> node = root;
+                visited.add(node);
+                for (int i = 0; i < word.length(); i++) {
+                    node = node.childOrCreate(word.charAt(i));
+                    visited.add(node);
+                }
+                node.addTerminal(key);
+            }
+            visited.forEach(node -> offer(node, entry));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Entries with a word starting with the last query word and, for every
+    // earlier query word, a word starting with it. Earlier words only filter
+    // the cached candidates of the last one, which is enough for type-ahead.
+    List<Entry<K>> lookup(List<String> queryWords, int limit) {
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+        String prefix = queryWords.get(queryWords.size() - 1);
+        List<String> filters = queryWords.subList(0, queryWords.size() - 1);
+        Entry<K>[] candidates;
+        lock.readLock().lock();
+        try {
+            Node<K> node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            candidates = node.top;
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Entry<K>> result = new ArrayList<>(Math.min(limit, candidates.length));
+        for (Entry<K> candidate : candidates) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (filters.isEmpty() || matchesAll(words(candidate.text()), filters)) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    private static boolean matchesAll(List<String> words, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (words.stream().noneMatch(word -> word.startsWith(prefix))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> words(String text) {
+        return List.copyOf(new HashSet<>(CourseSearchIndex.tokenize(text)));
+    }
+
+    private void removeEntry(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        // Deepest nodes first, since a node's cache is rebuilt from its children's
+        Map<Node<K>, Integer> depths = new IdentityHashMap<>();
+        depths.put(root, 0);
+        for (String word : words(entry.text())) {
+            Node<K> node = root;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.child(word.charAt(i));
+                depths.put(node, i + 1);
+            }
+            node.removeTerminal(key);
+        }
+        depths.entrySet().stream()
+                .sorted(Map.Entry.<Node<K>, Integer>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .filter(node -> node.contains(key))
+                .forEach(this::recompute);
+    }
+
+    private void offer(Node<K> node, Entry<K> entry) {
+        Entry<K>[] top = node.top;
+        if (top.length == CACHE_SIZE && ranking.compare(entry, top[CACHE_SIZE - 1]) >= 0) {
+            return;
+        }
+        int position = Arrays.binarySearch(top, entry, ranking);
+        position = position >= 0 ? position : -(position + 1);
+        Entry<K>[] updated = Arrays.copyOf(top, Math.min(top.length + 1, CACHE_SIZE));
+        System.arraycopy(top, position, updated, position + 1, updated.length - position - 1);
+        updated[position] = entry;
+        node.top = updated;
+    }
+
+    private void recompute(Node<K> node) {
+        List<Entry<K>> candidates = new ArrayList<>();
+        if (node.terminals != null) {
+            node.terminals.forEach(key -> candidates.add(entries.get(key)));
+        }
+        for (int i = 0; i < node.size; i++) {
+            candidates.addAll(Arrays.asList(node.children[i].top));
+        }
+        // A child's cache may hold an entry that also ends at this node
+        List<Entry<K>> distinct = candidates.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted(ranking)
+                .limit(CACHE_SIZE)
+                .toList();
+        node.top = distinct.toArray(Node.emptyTop());
+    }
+
+    private static final class Node<K> {
+
+        private static final Entry<?>[] EMPTY = new Entry<?>[0];
+
+        // Children sorted by character; arrays keep small nodes compact
+        private char[] characters = new char[0];
+        @SuppressWarnings("unchecked")
+        private Node<K>[] children = new Node[0];
+        private int size;
+        private Set<K> terminals;
+        private Entry<K>[] top = emptyTop();
+
+        @SuppressWarnings("unchecked")
+        static <K> Entry<K>[] emptyTop() {
+            return (Entry<K>[]) EMPTY;
+        }
+
+        Node<K> child(char c) {
+            int position = Arrays.binarySearch(characters, 0, size, c);
+            return position >= 0 ? children[position] : null;
+        }
+
+        Node<K> childOrCreate(char c) {
+            int position = Arrays.binarySearch(characters, 0, size, c);
+            if (position >= 0) {
+                return children[position];
+            }
+            position = -(position + 1);
+            if (size == characters.length) {
+                int capacity = Math.max(2, size * 2);
+                characters = Arrays.copyOf(characters, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(characters, position, characters, position + 1, size - position);
+            System.arraycopy(children, position, children, position + 1, size - position);
+            Node<K> child = new Node<>();
+            characters[position] = c;
+            children[position] = child;
+            size++;
+            return child;
+        }
+
+        void addTerminal(K key) {
+            if (terminals == null) {
+                terminals = new HashSet<>(2);
+            }
+            terminals.add(key);
+        }
+
+        void removeTerminal(K key) {
+            if (terminals != null && terminals.remove(key) && terminals.isEmpty()) {
+                terminals = null;
+            }
+        }
+
+        boolean contains(K key) {
+            for (Entry<K> entry : top) {
+                if (entry.key().equals(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.learning_platform.service;
+
+import org.example.learning_platform.model.Question;
+import org.example.learning_platform.repository.projection.AnswerKeyRow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Correct answers of a quiz compiled for grading. Each question's options are
+// bits of a long in option ID order, so a question is graded by comparing the
+// selected bits with the correct ones. Immutable once built.
+final class QuizAnswerKey {
+
+    static final int MAX_OPTIONS = Long.SIZE;
+
+    private final Map<Long, Integer> questionIndexes;
+    // Question index * MAX_OPTIONS + bit of the option
+    private final Map<Long, Integer> optionSlots;
+    private final Question.QuestionType[] types;
+    private final int[] points;
+    private final long[] correct;
+    private final int maxPoints;
+
+    private QuizAnswerKey(Map<Long, Integer> questionIndexes, Map<Long, Integer> optionSlots,
+                          Question.QuestionType[] types, int[] points, long[] correct) {
+        this.questionIndexes = questionIndexes;
+        this.optionSlots = optionSlots;
+        this.types = types;
+        this.points = points;
+        this.correct = correct;
+        int total = 0;
+        for (int value : points) {
+            total += value;
+        }
+        this.maxPoints = total;
+    }
+
+    // Rows ordered by question ID, then option ID
+    static QuizAnswerKey compile(List<AnswerKeyRow> rows) {
+        Map<Long, Integer> questionIndexes = new HashMap<>();
+        Map<Long, Integer> optionSlots = new HashMap<>();
+        List<Question.QuestionType> types = new ArrayList<>();
+        List<Integer> points = new ArrayList<>();
+        List<Long> correct = new ArrayList<>();
+        int bit = 0;
+        for (AnswerKeyRow row : rows) {
+            Integer question = questionIndexes.get(row.getQuestionId());
+            if (question == null) {
+                question = types.size();
+                questionIndexes.put(row.getQuestionId(), question);
+                types.add(row.getType());
+                points.add(row.getPoints() != null ? row.getPoints() : 0);
+                correct.add(0L);
+                bit = 0;
+            }
+            if (row.getOptionId() == null) {
+                continue;
+            }
+            if (bit == MAX_OPTIONS) {
+                throw new IllegalStateException("Question " + row.getQuestionId() + " has more than " + MAX_OPTIONS + " options");
+            }
+            optionSlots.put(row.getOptionId(), question * MAX_OPTIONS + bit);
+            if (Boolean.TRUE.equals(row.getCorrect())) {
+                correct.set(question, correct.get(question) | 1L << bit);
+            }
+            bit++;
+        }
+        return new QuizAnswerKey(
+                Map.copyOf(questionIndexes),
+                Map.copyOf(optionSlots),
+                types.toArray(new Question.QuestionType[0]),
+                points.stream().mapToInt(Integer::intValue).toArray(),
+                correct.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    boolean isEmpty() {
+        return types.length == 0;
+    }
+
+    int maxPoints() {
+        return maxPoints;
+    }
+
+    // Points earned for the selected option IDs per question ID. Single-choice
+    // and true/false questions need exactly one correct option; multiple-choice
+    // questions need exactly the correct set. Unanswered questions earn nothing.
+    int grade(Map<Long, List<Long>> answers) {
+        int earned = 0;
+        for (Map.Entry<Long, List<Long>> answer : answers.entrySet()) {
+            Integer question = questionIndexes.get(answer.getKey());
+            if (question == null) {
+                throw new IllegalArgumentException("Question " + answer.getKey() + " is not part of this quiz");
+            }
+            long selected = 0;
+            for (Long optionId : answer.getValue() != null ? answer.getValue() : List.<Long>of()) {
+                Integer slot = optionId != null ? optionSlots.get(optionId) : null;
+                if (slot == null || slot / MAX_OPTIONS != question) {
+                    throw new IllegalArgumentException(
+                            "Option " + optionId + " does not belong to question " + answer.getKey());
+                }
+                selected |= 1L << (slot % MAX_OPTIONS);
+            }
+            boolean right = types[question] == Question.QuestionType.MULTIPLE_CHOICE
+                    ? selected != 0 && selected == correct[question]
+                    : Long.bitCount(selected) == 1 && (selected & correct[question]) != 0;
+            if (right) {
+                earned += points[question];
+            }
+        }
+        return earned;
+    }
+}
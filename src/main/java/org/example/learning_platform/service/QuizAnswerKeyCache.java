@@ -0,0 +1,56 @@
+package org.example.learning_platform.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.learning_platform.config.LearningPlatformProperties;
+import org.example.learning_platform.event.QuizChangedEvent;
+import org.example.learning_platform.repository.QuestionRepository;
+import org.example.learning_platform.repository.QuizRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Compiled answer keys by quiz ID, so grading an attempt reads no questions or
+// options. A key is dropped when its quiz's questions or options change.
+@Component
+class QuizAnswerKeyCache {
+
+    private final QuestionRepository questionRepository;
+    private final QuizRepository quizRepository;
+    private final Cache<Long, QuizAnswerKey> keys;
+    // Bumped on every invalidation; loads that overlap one are not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    QuizAnswerKeyCache(QuestionRepository questionRepository, QuizRepository quizRepository,
+                       LearningPlatformProperties properties) {
+        this.questionRepository = questionRepository;
+        this.quizRepository = quizRepository;
+        this.keys = Caffeine.newBuilder()
+                .maximumSize(properties.getAnswerKeyCache().getMaximumSize())
+                .build();
+    }
+
+    QuizAnswerKey get(Long quizId) {
+        QuizAnswerKey key = keys.getIfPresent(quizId);
+        if (key == null) {
+            long loadedAtGeneration = generation.get();
+            key = QuizAnswerKey.compile(questionRepository.findAnswerKeyRows(quizId));
+            if (key.isEmpty() && !quizRepository.existsById(quizId)) {
+                throw new IllegalArgumentException("Quiz not found");
+            }
+            keys.put(quizId, key);
+            if (generation.get() != loadedAtGeneration) {
+                keys.invalidate(quizId);
+            }
+        }
+        return key;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        generation.incrementAndGet();
+        keys.invalidate(event.getQuizId());
+    }
+}
@@ -1,13 +1,23 @@
 package org.example.learning_platform.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.dto.AnswerOptionDTO;
+import org.example.learning_platform.dto.QuestionDTO;
+import org.example.learning_platform.dto.QuizDeliveryDTO;
+import org.example.learning_platform.event.QuizChangedEvent;
 import org.example.learning_platform.model.*;
 import org.example.learning_platform.repository.*;
+import org.example.learning_platform.repository.projection.AnswerOptionRow;
+import org.example.learning_platform.repository.projection.QuestionRow;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -16,8 +26,12 @@ public class QuizService {
     private final QuestionRepository questionRepository;
     private final AnswerOptionRepository answerOptionRepository;
     private final QuizSubmissionRepository quizSubmissionRepository;
+    private final QuizAttemptCounterRepository attemptCounterRepository;
     private final ModuleRepository moduleRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserRoleCache userRoleCache;
+    private final QuizAnswerKeyCache answerKeyCache;
 
     @Transactional
     public Quiz createQuiz(Long moduleId, Quiz quiz) {
@@ -32,33 +46,65 @@ public class QuizService {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new IllegalArgumentException("Quiz not found"));
         question.setQuiz(quiz);
-        return questionRepository.save(question);
+        Question savedQuestion = questionRepository.save(question);
+        markChanged(quizId);
+        return savedQuestion;
     }
 
     @Transactional
     public AnswerOption addAnswerOption(Long questionId, AnswerOption option) {
         Question question = questionRepository.findById(questionId)
                 .orElseThrow(() -> new IllegalArgumentException("Question not found"));
+        // Answer keys hold a question's options as the bits of a long
+        if (answerOptionRepository.countByQuestionId(questionId) >= QuizAnswerKey.MAX_OPTIONS) {
+            throw new IllegalArgumentException("A question can have at most " + QuizAnswerKey.MAX_OPTIONS + " options");
+        }
         option.setQuestion(question);
-        return answerOptionRepository.save(option);
+        AnswerOption savedOption = answerOptionRepository.save(option);
+        markChanged(question.getQuiz().getId());
+        return savedOption;
     }
 
     @Transactional
     public QuizSubmission submitQuiz(Long quizId, Long studentId, Integer score) {
+        return saveAttempt(quizId, studentId, score, null, null);
+    }
+
+    // Grades the selected option IDs per question ID against the cached answer
+    // key; the score is the percentage of the quiz's points earned.
+    @Transactional
+    public QuizSubmission submitQuizAnswers(Long quizId, Long studentId, Map<Long, List<Long>> answers) {
+        QuizAnswerKey key = answerKeyCache.get(quizId);
+        if (key.isEmpty() || key.maxPoints() <= 0) {
+            throw new IllegalArgumentException("Quiz has no gradable questions");
+        }
+        int earned = key.grade(answers);
+        return saveAttempt(quizId, studentId, earned * 100 / key.maxPoints(), earned, key.maxPoints());
+    }
+
+    // A score from the client is only taken for quizzes without questions,
+    // such as exams held outside the platform
+    @Transactional
+    public QuizSubmission submitExternallyScoredQuiz(Long quizId, Long studentId, Integer score) {
+        if (!answerKeyCache.get(quizId).isEmpty()) {
+            throw new IllegalArgumentException("This quiz is graded from the submitted answers");
+        }
+        return saveAttempt(quizId, studentId, score, null, null);
+    }
+
+    private QuizSubmission saveAttempt(Long quizId, Long studentId, Integer score, Integer pointsEarned, Integer maxPoints) {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new IllegalArgumentException("Quiz not found"));
-        User student = userRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
-        if (student.getRole() != User.UserRole.STUDENT) {
-            throw new IllegalArgumentException("User is not a student");
-        }
-        List<QuizSubmission> previousAttempts = quizSubmissionRepository.findByQuizIdAndStudentId(quizId, studentId);
-        int attemptNumber = previousAttempts.size() + 1;
+        // Role from the cache and the student linked by reference: no user read
+        userRoleCache.requireStudent(studentId);
+        int attemptNumber = nextAttemptNumber(quiz, studentId);
         boolean passed = quiz.getPassingScore() != null && score >= quiz.getPassingScore();
         QuizSubmission submission = QuizSubmission.builder()
                 .quiz(quiz)
-                .student(student)
+                .student(userRepository.getReferenceById(studentId))
                 .score(score)
+                .pointsEarned(pointsEarned)
+                .maxPoints(maxPoints)
                 .takenAt(LocalDateTime.now())
                 .passed(passed)
                 .attemptNumber(attemptNumber)
@@ -66,15 +112,75 @@ public class QuizService {
         return quizSubmissionRepository.save(submission);
     }
 
+    // Two single-row statements however many attempts there are. The counter
+    // stays locked until commit, so concurrent takes by a student are numbered
+    // one after the other and cannot both slip under the limit.
+    private int nextAttemptNumber(Quiz quiz, Long studentId) {
+        int limit = quiz.getMaxAttempts() != null ? quiz.getMaxAttempts() : Integer.MAX_VALUE;
+        if (attemptCounterRepository.increment(quiz.getId(), studentId, limit) == 0) {
+            if (attemptCounterRepository.findAttempts(quiz.getId(), studentId).isPresent()) {
+                throw new IllegalArgumentException("Maximum number of attempts reached");
+            }
+            // No counter yet: it starts from the attempts recorded before counters existed
+            attemptCounterRepository.insertIfMissing(quiz.getId(), studentId,
+                    quizSubmissionRepository.findMaxAttemptNumber(quiz.getId(), studentId));
+            if (attemptCounterRepository.increment(quiz.getId(), studentId, limit) == 0) {
+                throw new IllegalArgumentException("Maximum number of attempts reached");
+            }
+        }
+        return attemptCounterRepository.findAttempts(quiz.getId(), studentId).orElseThrow();
+    }
+
     @Transactional(readOnly = true)
     public Quiz getQuizById(Long id) {
-        return quizRepository.findById(id)
+        return quizRepository.findWithModuleById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Quiz not found"));
     }
 
     @Transactional(readOnly = true)
-    public List<Question> getQuizQuestions(Long quizId) {
-        return questionRepository.findByQuizId(quizId);
+    public List<QuestionDTO> getQuizQuestions(Long quizId) {
+        if (!quizRepository.existsById(quizId)) {
+            throw new IllegalArgumentException("Quiz not found");
+        }
+        return loadQuestions(quizId);
+    }
+
+    @Transactional(readOnly = true)
+    public QuizDeliveryDTO getQuizDelivery(Long quizId) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new IllegalArgumentException("Quiz not found"));
+        return QuizDeliveryDTO.builder()
+                .id(quiz.getId())
+                .title(quiz.getTitle())
+                .timeLimit(quiz.getTimeLimit())
+                .passingScore(quiz.getPassingScore())
+                .maxAttempts(quiz.getMaxAttempts())
+                .questions(loadQuestions(quizId))
+                .build();
+    }
+
+    // Two queries whatever the number of questions: the questions, then all
+    // of their options. Correct flags are left out.
+    private List<QuestionDTO> loadQuestions(Long quizId) {
+        List<QuestionRow> questions = questionRepository.findRowsByQuizId(quizId);
+        if (questions.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<AnswerOptionDTO>> options = new HashMap<>();
+        for (AnswerOptionRow option : answerOptionRepository.findRowsByQuestionIds(
+                questions.stream().map(QuestionRow::getId).toList())) {
+            options.computeIfAbsent(option.getQuestionId(), id -> new ArrayList<>())
+                    .add(AnswerOptionDTO.builder().id(option.getId()).text(option.getText()).build());
+        }
+        return questions.stream()
+                .map(question -> QuestionDTO.builder()
+                        .id(question.getId())
+                        .text(question.getText())
+                        .type(question.getType().name())
+                        .points(question.getPoints())
+                        .options(options.getOrDefault(question.getId(), List.of()))
+                        .build())
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -91,4 +197,9 @@ public class QuizService {
     public List<QuizSubmission> getStudentQuizSubmissions(Long studentId) {
         return quizSubmissionRepository.findByStudentId(studentId);
     }
+
+    // Questions and options are part of the quiz content, so cached quiz responses are dropped
+    private void markChanged(Long quizId) {
+        eventPublisher.publishEvent(QuizChangedEvent.builder().quizId(quizId).build());
+    }
 }
@@ -0,0 +1,63 @@
+package org.example.learning_platform.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Free seats of one course split over a few stripes, so concurrent enrollments
+// mostly CAS different atomics. A seat may be taken from any stripe, so the
+// counter only reports "full" once every stripe is empty.
+final class SeatCounter {
+
+    static final SeatCounter UNLIMITED = new SeatCounter();
+
+    private final AtomicLong[] stripes;
+
+    private SeatCounter() {
+        this.stripes = null;
+    }
+
+    SeatCounter(long available, int stripeCount) {
+        stripes = new AtomicLong[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLong(available / stripeCount + (i < available % stripeCount ? 1 : 0));
+        }
+    }
+
+    boolean isUnlimited() {
+        return stripes == null;
+    }
+
+    boolean tryAcquire() {
+        if (stripes == null) {
+            return true;
+        }
+        int start = ThreadLocalRandom.current().nextInt(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            AtomicLong stripe = stripes[(start + i) % stripes.length];
+            long free;
+            while ((free = stripe.get()) > 0) {
+                if (stripe.compareAndSet(free, free - 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    void release() {
+        if (stripes != null) {
+            stripes[ThreadLocalRandom.current().nextInt(stripes.length)].incrementAndGet();
+        }
+    }
+
+    long available() {
+        if (stripes == null) {
+            return Long.MAX_VALUE;
+        }
+        long sum = 0;
+        for (AtomicLong stripe : stripes) {
+            sum += stripe.get();
+        }
+        return sum;
+    }
+}
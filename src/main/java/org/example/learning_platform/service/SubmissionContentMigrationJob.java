@@ -0,0 +1,54 @@
+package org.example.learning_platform.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.repository.SubmissionRepository;
+import org.example.learning_platform.repository.projection.SubmissionContentRow;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Moves bodies of submissions stored inline before the content store existed
+// into the store and clears the old column.
+@Component
+@RequiredArgsConstructor
+public class SubmissionContentMigrationJob implements ChunkedJob {
+
+    private final SubmissionRepository submissionRepository;
+    private final ContentStore contentStore;
+    private final SubmissionSimilarityService similarityService;
+
+    @Override
+    public String name() {
+        return "submission-content-migration";
+    }
+
+    @Override
+    public List<Long> nextChunk(long afterId, int limit) {
+        return submissionRepository.findIdsWithLegacyContentAfterId(afterId, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public long process(List<Long> ids) {
+        List<SubmissionContentRow> rows = submissionRepository.findLegacyContents(ids);
+        List<ContentStore.StoredContent> stored = rows.stream()
+                .map(row -> row.getLegacyContent() != null ? contentStore.put(row.getLegacyContent()) : null)
+                .toList();
+        contentStore.sync();
+
+        long moved = 0;
+        Map<String, byte[]> signatures = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            SubmissionContentRow row = rows.get(i);
+            ContentStore.StoredContent content = stored.get(i);
+            if (content != null) {
+                moved += submissionRepository.moveContent(row.getId(), content.hash(), content.size());
+                signatures.computeIfAbsent(content.hash(), hash -> similarityService.signatureOf(row.getLegacyContent()));
+            }
+        }
+        similarityService.index(signatures);
+        return moved;
+    }
+}
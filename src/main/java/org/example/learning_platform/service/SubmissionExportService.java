@@ -0,0 +1,154 @@
+package org.example.learning_platform.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.dto.SubmissionDTO;
+import org.example.learning_platform.repository.AssignmentRepository;
+import org.example.learning_platform.repository.SubmissionRepository;
+import org.example.learning_platform.repository.projection.SubmissionExportRow;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+// Exports all submissions of an assignment as NDJSON or CSV, optionally
+// gzipped. One projection query is scrolled with a fixed fetch size and each
+// row is written straight to the response, so memory use does not depend on
+// the number of submissions.
+@Service
+@RequiredArgsConstructor
+public class SubmissionExportService {
+
+    private static final int FLUSH_ROWS = 1000;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private final SubmissionRepository submissionRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ContentStore contentStore;
+    private final ObjectMapper objectMapper;
+
+    // Throws before the response is committed, so an unknown assignment is still a 400
+    public void requireAssignment(Long assignmentId) {
+        if (!assignmentRepository.existsById(assignmentId)) {
+            throw new IllegalArgumentException("Assignment not found");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeExport(Long assignmentId, Format format, boolean includeContent, boolean gzip,
+                            OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : out;
+        try (Stream<SubmissionExportRow> rows = submissionRepository.streamExportRows(assignmentId)) {
+            if (format == Format.NDJSON) {
+                writeNdjson(rows.iterator(), includeContent, target);
+            } else {
+                writeCsv(rows.iterator(), includeContent, target);
+            }
+        }
+        if (target instanceof GZIPOutputStream compressed) {
+            compressed.finish();
+        }
+        out.flush();
+    }
+
+    private void writeNdjson(Iterator<SubmissionExportRow> rows, boolean includeContent,
+                             OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // The mapper would flush the response after every value
+        SequenceWriter lines = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(generator);
+        int written = 0;
+        while (rows.hasNext()) {
+            SubmissionExportRow row = rows.next();
+            lines.write(SubmissionDTO.builder()
+                    .id(row.getId())
+                    .assignmentId(row.getAssignmentId())
+                    .assignmentTitle(row.getAssignmentTitle())
+                    .studentId(row.getStudentId())
+                    .studentName(row.getStudentName())
+                    .content(includeContent ? contentOf(row) : null)
+                    .contentSize(row.getContentSize())
+                    .score(row.getScore())
+                    .feedback(row.getFeedback())
+                    .status(row.getStatus() != null ? row.getStatus().name() : null)
+                    .submittedAt(row.getSubmittedAt().toString())
+                    .build());
+            if (++written % FLUSH_ROWS == 0) {
+                lines.flush();
+            }
+        }
+        // The separator only goes between values; the last line is ended here
+        if (written > 0) {
+            generator.writeRaw('\n');
+        }
+        lines.close();
+        generator.close();
+    }
+
+    private void writeCsv(Iterator<SubmissionExportRow> rows, boolean includeContent,
+                          OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("submission_id,student_id,student_name,status,score,feedback,submitted_at,content_size");
+        writer.write(includeContent ? ",content\r\n" : "\r\n");
+        int written = 0;
+        while (rows.hasNext()) {
+            SubmissionExportRow row = rows.next();
+            writer.write(row.getId().toString());
+            writer.write(',');
+            writer.write(row.getStudentId().toString());
+            writer.write(',');
+            writer.write(CourseRosterService.csvField(row.getStudentName()));
+            writer.write(',');
+            writer.write(row.getStatus() != null ? row.getStatus().name() : "");
+            writer.write(',');
+            writer.write(row.getScore() != null ? row.getScore().toString() : "");
+            writer.write(',');
+            writer.write(CourseRosterService.csvField(row.getFeedback()));
+            writer.write(',');
+            writer.write(row.getSubmittedAt().toString());
+            writer.write(',');
+            writer.write(row.getContentSize() != null ? row.getContentSize().toString() : "");
+            if (includeContent) {
+                writer.write(',');
+                // Bodies are exported as submitted, without the formula guard
+                writer.write(CourseRosterService.csvQuoted(contentOf(row)));
+            }
+            writer.write("\r\n");
+            if (++written % FLUSH_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private String contentOf(SubmissionExportRow row) {
+        return row.getContentHash() != null ? contentStore.get(row.getContentHash()) : row.getLegacyContent();
+    }
+}
@@ -0,0 +1,328 @@
+package org.example.learning_platform.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.example.learning_platform.config.LearningPlatformProperties;
+import org.example.learning_platform.dto.SubmissionTicketDTO;
+import org.example.learning_platform.exception.QueueFullException;
+import org.example.learning_platform.repository.AssignmentRepository;
+import org.example.learning_platform.repository.SqlDialect;
+import org.example.learning_platform.repository.SubmissionRepository;
+import org.example.learning_platform.repository.SubmissionRepositoryCustom;
+import org.example.learning_platform.repository.projection.SubmissionKeyRow;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Write-behind intake for assignment submissions. Requests are validated
+// against the caches and put on a bounded queue; a single writer thread
+// group-commits them, one transaction and one JDBC batch per flush. A full
+// queue turns requests away with 503 instead of letting them pile up, and
+// stopping the context drains the queue before the data source goes away.
+@Slf4j
+@Service
+public class SubmissionIngestionService implements SmartLifecycle {
+
+    private static final String DUPLICATE_MESSAGE = "Assignment already submitted by this student";
+
+    private enum Status {
+        QUEUED, SAVED, REJECTED, FAILED
+    }
+
+    private record Pending(String trackingId, Long courseId, SubmissionRepositoryCustom.NewSubmission submission,
+                           byte[] signature) {
+        String key() {
+            return submission.assignmentId() + ":" + submission.studentId();
+        }
+    }
+
+    private final SubmissionRepository submissionRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final CourseStatsService statsService;
+    private final UserRoleCache userRoleCache;
+    private final ContentStore contentStore;
+    private final SubmissionSimilarityService similarityService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final BlockingQueue<Pending> queue;
+    private final Cache<String, SubmissionTicketDTO> tickets;
+    private final Cache<Long, Long> assignmentCourses;
+    // Assignment/student pairs queued or being written, so a resubmission is
+    // refused before it reaches the unique constraint
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // Offers hold the read lock; stop() takes the write lock, so once it has
+    // closed the intake no offer can still be on its way into the queue
+    private final ReadWriteLock intakeLock = new ReentrantReadWriteLock();
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread writer;
+
+    public SubmissionIngestionService(SubmissionRepository submissionRepository,
+                                      AssignmentRepository assignmentRepository,
+                                      CourseStatsService statsService,
+                                      UserRoleCache userRoleCache,
+                                      ContentStore contentStore,
+                                      SubmissionSimilarityService similarityService,
+                                      TransactionTemplate transactionTemplate,
+                                      LearningPlatformProperties properties) {
+        LearningPlatformProperties.Ingestion config = properties.getIngestion();
+        this.submissionRepository = submissionRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.statsService = statsService;
+        this.userRoleCache = userRoleCache;
+        this.contentStore = contentStore;
+        this.similarityService = similarityService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = config.isEnabled();
+        this.batchSize = config.getBatchSize();
+        this.flushIntervalNanos = config.getFlushInterval().toNanos();
+        this.offerTimeoutNanos = config.getOfferTimeout().toNanos();
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.tickets = Caffeine.newBuilder()
+                .maximumSize(config.getTrackingMaxSize())
+                .expireAfterWrite(config.getTrackingExpireAfter())
+                .build();
+        this.assignmentCourses = Caffeine.newBuilder()
+                .maximumSize(config.getAssignmentCacheMaxSize())
+                .expireAfterWrite(config.getAssignmentCacheExpireAfter())
+                .build();
+    }
+
+    // Whether the submit endpoint goes through the queue
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public SubmissionTicketDTO submit(Long assignmentId, Long studentId, String content) {
+        Long courseId = assignmentCourses.get(assignmentId, id -> assignmentRepository.findCourseIdById(id).orElse(null));
+        if (courseId == null) {
+            throw new IllegalArgumentException("Assignment not found");
+        }
+        userRoleCache.requireStudent(studentId);
+
+        // Stored and signed right away, so the writer only handles rows; it
+        // syncs the store once per batch
+        ContentStore.StoredContent stored = contentStore.put(content);
+        Pending pending = new Pending(UUID.randomUUID().toString(), courseId,
+                new SubmissionRepositoryCustom.NewSubmission(
+                        assignmentId, studentId, stored.hash(), stored.size(), LocalDateTime.now()),
+                similarityService.signatureOf(content));
+        if (!inFlight.add(pending.key())) {
+            throw new IllegalArgumentException(DUPLICATE_MESSAGE);
+        }
+        SubmissionTicketDTO ticket = ticket(pending, Status.QUEUED, null, null);
+        boolean queued = false;
+        intakeLock.readLock().lock();
+        try {
+            if (!accepting) {
+                throw new QueueFullException("Submission intake is stopped");
+            }
+            // The ticket exists before the writer can pick the submission up
+            tickets.put(pending.trackingId(), ticket);
+            queued = queue.offer(pending, offerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            intakeLock.readLock().unlock();
+            if (!queued) {
+                inFlight.remove(pending.key());
+                tickets.invalidate(pending.trackingId());
+            }
+        }
+        if (!queued) {
+            throw new QueueFullException("Submission queue is full, retry shortly");
+        }
+        return ticket;
+    }
+
+    public SubmissionTicketDTO getTicket(String trackingId) {
+        SubmissionTicketDTO ticket = tickets.getIfPresent(trackingId);
+        if (ticket == null) {
+            throw new IllegalArgumentException("Unknown tracking ID: " + trackingId);
+        }
+        return ticket;
+    }
+
+    // The writer thread only starts with the context when the queue is in use
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        accepting = true;
+        running = true;
+        writer = new Thread(this::drain, "submission-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Closes the intake, then waits until the writer has flushed everything
+    // that was accepted
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        intakeLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            intakeLock.writeLock().unlock();
+        }
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while flushing {} queued submissions", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stops after the web server has stopped taking requests and before the
+    // data source is closed
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Pending> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                // Waits up to the flush interval for the batch to fill
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // Only stop() ends the loop, once the queue is empty
+                log.warn("Submission writer interrupted; {} submissions still queued", queue.size());
+            } catch (RuntimeException e) {
+                log.error("Submission writer failed to flush a batch", e);
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        try {
+            try {
+                contentStore.sync();
+                publish(transactionTemplate.execute(status -> write(batch)));
+            } catch (RuntimeException e) {
+                // A concurrent synchronous submit or a deleted assignment fails the
+                // whole batch; written one by one, only the offending rows fail
+                for (Pending pending : batch) {
+                    try {
+                        publish(transactionTemplate.execute(status -> write(List.of(pending))));
+                    } catch (DataIntegrityViolationException violation) {
+                        String message = SqlDialect.isUniqueViolation(violation)
+                                ? DUPLICATE_MESSAGE : "Assignment or student not found";
+                        tickets.put(pending.trackingId(), ticket(pending, Status.REJECTED, null, message));
+                    } catch (RuntimeException failure) {
+                        log.error("Could not save submission {}", pending.trackingId(), failure);
+                        tickets.put(pending.trackingId(),
+                                ticket(pending, Status.FAILED, null, "Submission could not be saved"));
+                    }
+                }
+            }
+        } finally {
+            batch.forEach(pending -> inFlight.remove(pending.key()));
+        }
+    }
+
+    // Returns the tickets to publish once the transaction has committed
+    private Map<Pending, SubmissionTicketDTO> write(List<Pending> batch) {
+        Set<Long> assignmentIds = new HashSet<>();
+        Set<Long> studentIds = new HashSet<>();
+        for (Pending pending : batch) {
+            assignmentIds.add(pending.submission().assignmentId());
+            studentIds.add(pending.submission().studentId());
+        }
+        Set<String> existing = new HashSet<>();
+        for (SubmissionKeyRow row : submissionRepository.findKeysAmong(assignmentIds, studentIds)) {
+            existing.add(row.getAssignmentId() + ":" + row.getStudentId());
+        }
+
+        Map<Pending, SubmissionTicketDTO> results = new HashMap<>();
+        List<Pending> fresh = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            if (existing.contains(pending.key())) {
+                results.put(pending, ticket(pending, Status.REJECTED, null, DUPLICATE_MESSAGE));
+            } else {
+                fresh.add(pending);
+            }
+        }
+        List<Long> ids = submissionRepository.insertSubmissions(
+                fresh.stream().map(Pending::submission).toList());
+        // Courses in ID order, so concurrent writers lock stats rows in the same order
+        Map<Long, Long> countsByCourse = new TreeMap<>();
+        Map<String, byte[]> signatures = new HashMap<>();
+        for (int i = 0; i < fresh.size(); i++) {
+            results.put(fresh.get(i), ticket(fresh.get(i), Status.SAVED, ids.get(i), null));
+            countsByCourse.merge(fresh.get(i).courseId(), 1L, Long::sum);
+            signatures.putIfAbsent(fresh.get(i).submission().contentHash(), fresh.get(i).signature());
+        }
+        countsByCourse.forEach(statsService::recordSubmissions);
+        similarityService.index(signatures);
+        return results;
+    }
+
+    private void publish(Map<Pending, SubmissionTicketDTO> results) {
+        results.forEach((pending, ticket) -> tickets.put(pending.trackingId(), ticket));
+    }
+
+    private static SubmissionTicketDTO ticket(Pending pending, Status status, Long submissionId, String message) {
+        return SubmissionTicketDTO.builder()
+                .trackingId(pending.trackingId())
+                .status(status.name())
+                .submissionId(submissionId)
+                .message(message)
+                .build();
+    }
+}
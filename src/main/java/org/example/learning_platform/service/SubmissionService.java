@@ -1,51 +1,85 @@
 package org.example.learning_platform.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.dto.BulkGradeResultDTO;
+import org.example.learning_platform.dto.GradeItemRequest;
+import org.example.learning_platform.dto.GradeOutcomeDTO;
+import org.example.learning_platform.dto.SubmissionDTO;
 import org.example.learning_platform.model.Assignment;
 import org.example.learning_platform.model.Submission;
-import org.example.learning_platform.model.User;
 import org.example.learning_platform.repository.AssignmentRepository;
+import org.example.learning_platform.repository.SqlDialect;
 import org.example.learning_platform.repository.SubmissionRepository;
+import org.example.learning_platform.repository.SubmissionRepositoryCustom;
 import org.example.learning_platform.repository.UserRepository;
+import org.example.learning_platform.repository.projection.SubmissionContentRow;
+import org.example.learning_platform.repository.projection.SubmissionRow;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class SubmissionService {
 
+    public static final int MAX_BULK_SIZE = 5000;
+    // Score limit of assignments without a max score, as for single grades
+    private static final int DEFAULT_MAX_SCORE = 100;
+
+    private enum Outcome {
+        GRADED, SUBMISSION_NOT_FOUND, SCORE_OUT_OF_RANGE, DUPLICATE
+    }
+
     private final SubmissionRepository submissionRepository;
     private final AssignmentRepository assignmentRepository;
     private final UserRepository userRepository;
-
+    private final CourseStatsService statsService;
+    private final UserRoleCache userRoleCache;
+    private final ContentStore contentStore;
+    private final SubmissionSimilarityService similarityService;
+
+    // One read for the assignment (its title is part of the response and its
+    // course feeds the stats); the student is checked against the role cache
+    // and linked by reference, and duplicates are left to the unique constraint.
     @Transactional
     public Submission submitAssignment(Long assignmentId, Long studentId, String content) {
-        Assignment assignment = assignmentRepository.findById(assignmentId)
+        Assignment assignment = assignmentRepository.findWithModuleById(assignmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
-        User student = userRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
-
-        if (student.getRole() != User.UserRole.STUDENT) {
-            throw new IllegalArgumentException("User is not a student");
-        }
-
-        // Check if already submitted
-        if (submissionRepository.findByAssignmentIdAndStudentId(assignmentId, studentId).isPresent()) {
-            throw new IllegalArgumentException("Assignment already submitted by this student");
-        }
+        userRoleCache.requireStudent(studentId);
+        // The body is on disk before the row that references it commits
+        ContentStore.StoredContent stored = contentStore.put(content);
+        contentStore.sync();
+        similarityService.index(stored.hash(), content);
 
         Submission submission = Submission.builder()
                 .assignment(assignment)
-                .student(student)
-                .content(content)
+                .student(userRepository.getReferenceById(studentId))
+                .contentHash(stored.hash())
+                .contentSize(stored.size())
                 .submittedAt(LocalDateTime.now())
                 .status(Submission.SubmissionStatus.SUBMITTED)
                 .build();
 
-        return submissionRepository.save(submission);
+        Submission savedSubmission;
+        try {
+            savedSubmission = submissionRepository.save(submission);
+        } catch (DataIntegrityViolationException e) {
+            if (SqlDialect.isUniqueViolation(e)) {
+                throw new IllegalArgumentException("Assignment already submitted by this student");
+            }
+            // The student was deleted after the role cache check
+            throw new IllegalArgumentException("Student not found");
+        }
+        statsService.recordSubmission(assignment.getLesson().getModule().getCourse().getId());
+        return savedSubmission;
     }
 
     @Transactional
@@ -56,18 +90,81 @@ public class SubmissionService {
         submission.setScore(score);
         submission.setFeedback(feedback);
         submission.setStatus(Submission.SubmissionStatus.GRADED);
+        submission.setLeasedBy(null);
+        submission.setLeaseExpiresAt(null);
 
         return submissionRepository.save(submission);
     }
 
+    // Applies a whole grading session in one transaction as batched UPDATEs.
+    // Invalid items are reported per item instead of failing the request; the
+    // first grade for a submission wins.
+    @Transactional
+    public BulkGradeResultDTO gradeSubmissions(Long assignmentId, List<GradeItemRequest> items) {
+        if (items.isEmpty() || items.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BULK_SIZE + " grades are required");
+        }
+        Assignment assignment = assignmentRepository.findById(assignmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
+        int maxScore = assignment.getMaxScore() != null ? assignment.getMaxScore() : DEFAULT_MAX_SCORE;
+
+        Outcome[] outcomes = new Outcome[items.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<SubmissionRepositoryCustom.Grade> grades = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            GradeItemRequest item = items.get(i);
+            if (!seen.add(item.getSubmissionId())) {
+                outcomes[i] = Outcome.DUPLICATE;
+            } else if (item.getScore() < 0 || item.getScore() > maxScore) {
+                outcomes[i] = Outcome.SCORE_OUT_OF_RANGE;
+            } else {
+                positions.add(i);
+                grades.add(new SubmissionRepositoryCustom.Grade(
+                        item.getSubmissionId(), item.getScore(), item.getFeedback()));
+            }
+        }
+
+        boolean[] updated = submissionRepository.updateGrades(assignmentId, grades);
+        long graded = 0;
+        for (int i = 0; i < updated.length; i++) {
+            outcomes[positions.get(i)] = updated[i] ? Outcome.GRADED : Outcome.SUBMISSION_NOT_FOUND;
+            graded += updated[i] ? 1 : 0;
+        }
+
+        List<GradeOutcomeDTO> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            results.add(GradeOutcomeDTO.builder()
+                    .submissionId(items.get(i).getSubmissionId())
+                    .outcome(outcomes[i].name())
+                    .build());
+        }
+        return BulkGradeResultDTO.builder()
+                .assignmentId(assignmentId)
+                .graded(graded)
+                .skipped(items.size() - graded)
+                .results(results)
+                .build();
+    }
+
+    // Listings read the columns without the body; bodies are only loaded when
+    // includeContent is set
+    @Transactional(readOnly = true)
+    public List<SubmissionDTO> getAssignmentSubmissions(Long assignmentId, boolean includeContent) {
+        return toSubmissionDTOs(submissionRepository.findRowsByAssignmentId(assignmentId), includeContent);
+    }
+
     @Transactional(readOnly = true)
-    public List<Submission> getAssignmentSubmissions(Long assignmentId) {
-        return submissionRepository.findByAssignmentId(assignmentId);
+    public List<SubmissionDTO> getStudentSubmissions(Long studentId, boolean includeContent) {
+        return toSubmissionDTOs(submissionRepository.findRowsByStudentId(studentId), includeContent);
     }
 
     @Transactional(readOnly = true)
-    public List<Submission> getStudentSubmissions(Long studentId) {
-        return submissionRepository.findByStudentId(studentId);
+    public String getSubmissionContent(Long submissionId) {
+        Submission submission = getSubmission(submissionId);
+        return submission.getContentHash() != null
+                ? contentStore.get(submission.getContentHash())
+                : submission.getLegacyContent();
     }
 
     @Transactional(readOnly = true)
@@ -75,5 +172,45 @@ public class SubmissionService {
         return submissionRepository.findById(submissionId)
                 .orElseThrow(() -> new IllegalArgumentException("Submission not found"));
     }
-}
 
+    private List<SubmissionDTO> toSubmissionDTOs(List<SubmissionRow> rows, boolean includeContent) {
+        Map<Long, String> legacyContents = new HashMap<>();
+        if (includeContent) {
+            List<Long> legacyIds = rows.stream()
+                    .filter(row -> row.getContentHash() == null)
+                    .map(SubmissionRow::getId)
+                    .toList();
+            if (!legacyIds.isEmpty()) {
+                for (SubmissionContentRow row : submissionRepository.findLegacyContents(legacyIds)) {
+                    if (row.getLegacyContent() != null) {
+                        legacyContents.put(row.getId(), row.getLegacyContent());
+                    }
+                }
+            }
+        }
+
+        List<SubmissionDTO> submissions = new ArrayList<>(rows.size());
+        for (SubmissionRow row : rows) {
+            String content = null;
+            if (includeContent) {
+                content = row.getContentHash() != null
+                        ? contentStore.get(row.getContentHash())
+                        : legacyContents.get(row.getId());
+            }
+            submissions.add(SubmissionDTO.builder()
+                    .id(row.getId())
+                    .assignmentId(row.getAssignmentId())
+                    .assignmentTitle(row.getAssignmentTitle())
+                    .studentId(row.getStudentId())
+                    .studentName(userRoleCache.nameOf(row.getStudentId()))
+                    .content(content)
+                    .contentSize(row.getContentSize())
+                    .score(row.getScore())
+                    .feedback(row.getFeedback())
+                    .status(row.getStatus() != null ? row.getStatus().name() : null)
+                    .submittedAt(row.getSubmittedAt().toString())
+                    .build());
+        }
+        return submissions;
+    }
+}
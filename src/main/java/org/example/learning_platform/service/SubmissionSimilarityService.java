@@ -0,0 +1,120 @@
+package org.example.learning_platform.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.dto.SimilarityClusterDTO;
+import org.example.learning_platform.model.ContentSignature;
+import org.example.learning_platform.repository.AssignmentRepository;
+import org.example.learning_platform.repository.ContentSignatureRepository;
+import org.example.learning_platform.repository.SubmissionRepository;
+import org.example.learning_platform.repository.projection.SubmissionRow;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Flags copied answers within an assignment. Signatures are computed when a
+// body is stored and kept per content hash; a query loads the assignment's
+// signatures and clusters them with MinHash LSH instead of comparing every
+// pair of submissions. Submissions with the same hash are exact copies.
+@Service
+@RequiredArgsConstructor
+public class SubmissionSimilarityService {
+
+    public static final double DEFAULT_THRESHOLD = 0.8;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final SubmissionRepository submissionRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ContentSignatureRepository signatureRepository;
+    private final ContentStore contentStore;
+
+    public byte[] signatureOf(String content) {
+        return MinHash.toBytes(MinHash.signature(content));
+    }
+
+    public void index(Map<String, byte[]> signaturesByHash) {
+        signatureRepository.insertMissing(signaturesByHash);
+    }
+
+    public void index(String contentHash, String content) {
+        index(Map.of(contentHash, signatureOf(content)));
+    }
+
+    @Transactional
+    public List<SimilarityClusterDTO> findSimilarSubmissions(Long assignmentId, double threshold) {
+        if (!(threshold > 0 && threshold <= 1)) {
+            throw new IllegalArgumentException("Threshold must be greater than 0 and at most 1");
+        }
+        if (!assignmentRepository.existsById(assignmentId)) {
+            throw new IllegalArgumentException("Assignment not found");
+        }
+
+        // Bodies not yet moved to the content store are left out until migrated
+        Map<String, List<SubmissionRow>> byHash = new LinkedHashMap<>();
+        for (SubmissionRow row : submissionRepository.findRowsByAssignmentId(assignmentId)) {
+            if (row.getContentHash() != null) {
+                byHash.computeIfAbsent(row.getContentHash(), hash -> new ArrayList<>()).add(row);
+            }
+        }
+        List<String> hashes = new ArrayList<>(byHash.keySet());
+        Map<String, int[]> signatures = loadSignatures(hashes);
+
+        List<int[]> ordered = new ArrayList<>(hashes.size());
+        hashes.forEach(hash -> ordered.add(signatures.get(hash)));
+        List<SimilarityClusterDTO> clusters = new ArrayList<>();
+        boolean[] clustered = new boolean[hashes.size()];
+        for (MinHash.Cluster cluster : MinHash.cluster(ordered, threshold)) {
+            List<SubmissionRow> rows = new ArrayList<>();
+            for (int member : cluster.members()) {
+                clustered[member] = true;
+                rows.addAll(byHash.get(hashes.get(member)));
+            }
+            clusters.add(toClusterDTO(rows, cluster.similarity()));
+        }
+        for (int i = 0; i < hashes.size(); i++) {
+            List<SubmissionRow> copies = byHash.get(hashes.get(i));
+            if (!clustered[i] && copies.size() > 1) {
+                clusters.add(toClusterDTO(copies, 1.0));
+            }
+        }
+        clusters.sort(Comparator.comparingInt((SimilarityClusterDTO cluster) -> cluster.getSubmissionIds().size()).reversed()
+                .thenComparing(SimilarityClusterDTO::getSimilarity, Comparator.reverseOrder())
+                .thenComparing(cluster -> cluster.getSubmissionIds().get(0)));
+        return clusters;
+    }
+
+    // Bodies stored before signatures existed get theirs computed and saved here
+    private Map<String, int[]> loadSignatures(List<String> hashes) {
+        Map<String, int[]> signatures = new HashMap<>();
+        for (int from = 0; from < hashes.size(); from += LOAD_BATCH_SIZE) {
+            List<String> batch = hashes.subList(from, Math.min(from + LOAD_BATCH_SIZE, hashes.size()));
+            for (ContentSignature row : signatureRepository.findAllById(batch)) {
+                signatures.put(row.getContentHash(), MinHash.fromBytes(row.getSignature()));
+            }
+        }
+        Map<String, byte[]> missing = new HashMap<>();
+        for (String hash : hashes) {
+            if (!signatures.containsKey(hash)) {
+                int[] signature = MinHash.signature(contentStore.get(hash));
+                signatures.put(hash, signature);
+                missing.put(hash, MinHash.toBytes(signature));
+            }
+        }
+        index(missing);
+        return signatures;
+    }
+
+    private static SimilarityClusterDTO toClusterDTO(List<SubmissionRow> rows, double similarity) {
+        List<SubmissionRow> sorted = rows.stream().sorted(Comparator.comparing(SubmissionRow::getId)).toList();
+        return SimilarityClusterDTO.builder()
+                .similarity(similarity)
+                .submissionIds(sorted.stream().map(SubmissionRow::getId).toList())
+                .studentIds(sorted.stream().map(SubmissionRow::getStudentId).toList())
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.learning_platform.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.learning_platform.event.CourseChangedEvent;
+import org.example.learning_platform.repository.CourseRepository;
+import org.example.learning_platform.repository.projection.CourseTagRow;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// In-memory inverted index from tag name to the bitmap of course IDs carrying it.
+// Bitmaps are copy-on-write: a published BitSet is never modified, so readers
+// combine them without locking.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagIndex {
+
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object writeLock = new Object();
+    private volatile Map<String, BitSet> postings = new ConcurrentHashMap<>();
+    // Changes that arrive while a rebuild is scanning the database; guarded by writeLock
+    private List<CourseChangedEvent> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (writeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        Map<String, BitSet> built = new HashMap<>();
+        transactionTemplate.execute(status -> {
+            try (Stream<CourseTagRow> rows = courseRepository.streamAllCourseTags()) {
+                rows.forEach(row -> built.computeIfAbsent(row.getTagName(), tag -> new BitSet())
+                        .set(toIndex(row.getCourseId())));
+            }
+            return null;
+        });
+        synchronized (writeLock) {
+            Map<String, BitSet> rebuilt = new ConcurrentHashMap<>(built);
+            pendingChanges.forEach(event -> apply(rebuilt, event));
+            postings = rebuilt;
+            pendingChanges = null;
+        }
+        log.info("Tag index built for {} tags", built.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        synchronized (writeLock) {
+            apply(postings, event);
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+        }
+    }
+
+    // Returns a private copy that the caller may modify
+    public BitSet resolve(Collection<String> tagNames, boolean matchAll) {
+        Map<String, BitSet> current = postings;
+        BitSet result = null;
+        for (String tagName : tagNames) {
+            BitSet courses = current.get(tagName);
+            if (courses == null) {
+                if (matchAll) {
+                    return new BitSet();
+                }
+                continue;
+            }
+            if (result == null) {
+                result = (BitSet) courses.clone();
+            } else if (matchAll) {
+                result.and(courses);
+            } else {
+                result.or(courses);
+            }
+        }
+        return result != null ? result : new BitSet();
+    }
+
+    public List<Long> courseIds(String tagName) {
+        BitSet courses = postings.get(tagName);
+        return courses == null ? List.of() : page(courses, 0L, Integer.MAX_VALUE);
+    }
+
+    public static List<Long> page(BitSet courses, long afterId, int size) {
+        List<Long> courseIds = new ArrayList<>(Math.min(size, courses.cardinality()));
+        int start = afterId >= Integer.MAX_VALUE ? -1 : courses.nextSetBit(toIndex(afterId + 1));
+        for (int i = start; i >= 0 && courseIds.size() < size; i = courses.nextSetBit(i + 1)) {
+            courseIds.add((long) i);
+            if (i == Integer.MAX_VALUE) {
+                break;
+            }
+        }
+        return courseIds;
+    }
+
+    private static void apply(Map<String, BitSet> target, CourseChangedEvent event) {
+        boolean remove = event.getType() == CourseChangedEvent.Type.DELETED;
+        if (!remove && event.getType() != CourseChangedEvent.Type.CREATED
+                && event.getType() != CourseChangedEvent.Type.TAGS_ADDED) {
+            return;
+        }
+        int index = toIndex(event.getCourseId());
+        for (String tagName : event.getTagNames()) {
+            target.compute(tagName, (tag, current) -> {
+                BitSet copy = current == null ? new BitSet() : (BitSet) current.clone();
+                if (remove) {
+                    copy.clear(index);
+                } else {
+                    copy.set(index);
+                }
+                return copy.isEmpty() ? null : copy;
+            });
+        }
+    }
+
+    private static int toIndex(long courseId) {
+        return Math.toIntExact(courseId);
+    }
+}
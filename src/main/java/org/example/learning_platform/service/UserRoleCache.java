@@ -0,0 +1,68 @@
+package org.example.learning_platform.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.learning_platform.config.LearningPlatformProperties;
+import org.example.learning_platform.model.User;
+import org.example.learning_platform.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Role and display name by user ID, so write paths can check "is a student"
+// and link the user through a reference instead of loading the row first.
+@Component
+public class UserRoleCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserRef> users;
+
+    public UserRoleCache(UserRepository userRepository, LearningPlatformProperties properties) {
+        LearningPlatformProperties.UserCache config = properties.getUserCache();
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .build();
+    }
+
+    public record UserRef(Long id, String name, User.UserRole role) {
+    }
+
+    // Null for an unknown ID; misses are not cached
+    public UserRef get(Long userId) {
+        return users.get(userId, id -> userRepository.findRoleById(id)
+                .map(row -> new UserRef(row.getId(), row.getName(), row.getRole()))
+                .orElse(null));
+    }
+
+    public UserRef requireStudent(Long userId) {
+        UserRef user = get(userId);
+        if (user == null) {
+            throw new IllegalArgumentException("Student not found");
+        }
+        if (user.role() != User.UserRole.STUDENT) {
+            throw new IllegalArgumentException("User is not a student");
+        }
+        return user;
+    }
+
+    public String nameOf(Long userId) {
+        UserRef user = get(userId);
+        return user != null ? user.name() : null;
+    }
+
+    // Dropped once the change is committed, so a concurrent reader cannot put
+    // the old values back afterwards
+    public void invalidateAfterCommit(Long userId) {
+        users.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    users.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package org.example.learning_platform.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.learning_platform.event.CourseChangedEvent;
 import org.example.learning_platform.model.User;
 import org.example.learning_platform.model.Profile;
+import org.example.learning_platform.repository.CourseRepository;
 import org.example.learning_platform.repository.UserRepository;
 import org.example.learning_platform.repository.ProfileRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -16,6 +20,9 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final ProfileRepository profileRepository;
+    private final UserRoleCache userRoleCache;
+    private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public User createUser(User user) {
@@ -58,16 +65,30 @@ public class UserService {
     @Transactional
     public User updateUser(Long id, User updatedUser) {
         User user = getUserById(id);
+        boolean renamed = !Objects.equals(user.getName(), updatedUser.getName());
         user.setName(updatedUser.getName());
         user.setEmail(updatedUser.getEmail());
         user.setRole(updatedUser.getRole());
         user.setPhoneNumber(updatedUser.getPhoneNumber());
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userRoleCache.invalidateAfterCommit(id);
+        if (renamed) {
+            // Course DTOs carry the teacher's name
+            for (Long courseId : courseRepository.findIdsByTeacherId(id)) {
+                eventPublisher.publishEvent(CourseChangedEvent.builder()
+                        .courseId(courseId)
+                        .type(CourseChangedEvent.Type.TEACHER_RENAMED)
+                        .teacherId(id)
+                        .build());
+            }
+        }
+        return savedUser;
     }
 
     @Transactional
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        userRoleCache.invalidateAfterCommit(id);
     }
 }
 
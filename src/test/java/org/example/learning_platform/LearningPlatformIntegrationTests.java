@@ -1,20 +1,79 @@
 package org.example.learning_platform;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.learning_platform.controller.AssignmentController;
+import org.example.learning_platform.controller.CourseController;
+import org.example.learning_platform.controller.QuizController;
+import org.example.learning_platform.controller.ETagResponseCache;
+import org.example.learning_platform.dto.AnswerOptionCreateRequest;
+import org.example.learning_platform.dto.AnswerOptionDTO;
+import org.example.learning_platform.dto.AutocompleteDTO;
+import org.example.learning_platform.dto.BulkEnrollmentResultDTO;
+import org.example.learning_platform.dto.BulkGradeResultDTO;
+import org.example.learning_platform.dto.CourseDTO;
+import org.example.learning_platform.dto.CourseOutlineDTO;
+import org.example.learning_platform.dto.CourseSeatsDTO;
+import org.example.learning_platform.dto.CourseStatsDTO;
+import org.example.learning_platform.dto.CourseSuggestionDTO;
+import org.example.learning_platform.dto.CursorPageDTO;
+import org.example.learning_platform.dto.EnrollmentDTO;
+import org.example.learning_platform.dto.EnrollmentOutcomeDTO;
+import org.example.learning_platform.dto.GradeItemRequest;
+import org.example.learning_platform.dto.GradeOutcomeDTO;
+import org.example.learning_platform.dto.GradingTaskDTO;
+import org.example.learning_platform.dto.ImportErrorDTO;
+import org.example.learning_platform.dto.ImportResultDTO;
+import org.example.learning_platform.dto.JobRunDTO;
+import org.example.learning_platform.dto.LessonOutlineDTO;
+import org.example.learning_platform.dto.ModuleOutlineDTO;
+import org.example.learning_platform.dto.QuestionCreateRequest;
+import org.example.learning_platform.dto.QuestionDTO;
+import org.example.learning_platform.dto.QuizCreateRequest;
+import org.example.learning_platform.dto.QuizDTO;
+import org.example.learning_platform.dto.QuizDeliveryDTO;
+import org.example.learning_platform.dto.QuizSubmissionDTO;
+import org.example.learning_platform.dto.QuizTakeRequest;
+import org.example.learning_platform.dto.RosterEntryDTO;
+import org.example.learning_platform.dto.SearchPageDTO;
+import org.example.learning_platform.dto.SimilarityClusterDTO;
+import org.example.learning_platform.dto.SubmissionCreateRequest;
+import org.example.learning_platform.dto.SubmissionDTO;
+import org.example.learning_platform.dto.SubmissionTicketDTO;
+import org.example.learning_platform.dto.TagSuggestionDTO;
+import org.example.learning_platform.dto.UserDTO;
+import org.example.learning_platform.exception.QueueFullException;
 import org.example.learning_platform.model.*;
 import org.example.learning_platform.repository.*;
 import org.example.learning_platform.service.*;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -31,6 +90,32 @@ class LearningPlatformIntegrationTests {
     @Autowired private UserRepository userRepository;
     @Autowired private CourseRepository courseRepository;
     @Autowired private ProfileRepository profileRepository;
+    @Autowired private CourseCatalogService catalogService;
+    @Autowired private CourseStatsService statsService;
+    @Autowired private CourseCache courseCache;
+    @Autowired private TagRepository tagRepository;
+    @Autowired private AutocompleteService autocompleteService;
+    @Autowired private CourseImportService importService;
+    @Autowired private CourseController courseController;
+    @Autowired private QuizController quizController;
+    @Autowired private ETagResponseCache responseCache;
+    @Autowired private EnrollmentRepository enrollmentRepository;
+    @Autowired private CourseSeatService seatService;
+    @Autowired private WaitlistRepository waitlistRepository;
+    @Autowired private AssignmentController assignmentController;
+    @Autowired private UserRoleCache userRoleCache;
+    @Autowired private CourseRosterService rosterService;
+    @Autowired private ChunkedJobRunner jobRunner;
+    @Autowired private JobCheckpointRepository jobCheckpointRepository;
+    @Autowired private SubmissionIngestionService ingestionService;
+    @Autowired private SubmissionRepository submissionRepository;
+    @Autowired private SubmissionSimilarityService similarityService;
+    @Autowired private ContentSignatureRepository contentSignatureRepository;
+    @Autowired private GradingQueueService gradingQueueService;
+    @Autowired private SubmissionExportService exportService;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private QuizSubmissionRepository quizSubmissionRepository;
+    @Autowired private QuizAttemptCounterRepository attemptCounterRepository;
 
     @Test
     void contextLoads() {
@@ -322,5 +407,1258 @@ class LearningPlatformIntegrationTests {
         assertThat(teachers).hasSize(2);
         assertThat(students).hasSize(1);
     }
-}
 
+    @Test
+    @Transactional
+    void testCourseCatalog() {
+        Category category = categoryService.createCategory(Category.builder().name("Catalog").build());
+        User teacher = userService.createUser(
+                User.builder().name("Catalog Teacher").email("catalog@test.com").role(User.UserRole.TEACHER).build());
+        User student = userService.createUser(
+                User.builder().name("Reviewer").email("reviewer@test.com").role(User.UserRole.STUDENT).build());
+        Course first = courseService.createCourse(
+                Course.builder().title("First").build(), category.getId(), teacher.getId());
+        courseService.createCourse(Course.builder().title("Second").build(), category.getId(), teacher.getId());
+        courseService.addTagsToCourse(first.getId(), java.util.Set.of("Java", "Spring"));
+        reviewService.createReview(first.getId(), student.getId(), 4, "Good");
+
+        List<CourseDTO> catalog = catalogService.getCatalog();
+
+        assertThat(catalog).extracting(CourseDTO::getTitle).containsExactly("First", "Second");
+        assertThat(catalog.get(0).getCategoryName()).isEqualTo("Catalog");
+        assertThat(catalog.get(0).getTeacherName()).isEqualTo("Catalog Teacher");
+        assertThat(catalog.get(0).getTags()).containsExactlyInAnyOrder("Java", "Spring");
+        assertThat(catalog.get(0).getAverageRating()).isEqualTo(4.0);
+        assertThat(catalog.get(1).getTags()).isEmpty();
+        assertThat(catalog.get(1).getAverageRating()).isNull();
+    }
+
+    @Test
+    @Transactional
+    void testCourseCatalogKeysetPaging() throws Exception {
+        Category category = categoryService.createCategory(Category.builder().name("Paging").build());
+        User teacher = userService.createUser(
+                User.builder().name("Pager").email("pager@test.com").role(User.UserRole.TEACHER).build());
+        for (int i = 1; i <= 3; i++) {
+            courseService.createCourse(Course.builder().title("Course " + i)
+                    .startDate(LocalDate.of(2030, 1, 4 - i)).build(), category.getId(), teacher.getId());
+        }
+
+        CursorPageDTO<CourseDTO> first = catalogService.getCatalogPage(null, 2, CourseCatalogService.CatalogOrder.ID);
+        assertThat(first.getItems()).extracting(CourseDTO::getTitle).containsExactly("Course 1", "Course 2");
+        assertThat(first.getNextCursor()).isNotNull();
+
+        CursorPageDTO<CourseDTO> second = catalogService.getCatalogPage(
+                first.getNextCursor(), 2, CourseCatalogService.CatalogOrder.ID);
+        assertThat(second.getItems()).extracting(CourseDTO::getTitle).containsExactly("Course 3");
+        assertThat(second.getNextCursor()).isNull();
+
+        CursorPageDTO<CourseDTO> byDate = catalogService.getCatalogPage(
+                null, 2, CourseCatalogService.CatalogOrder.START_DATE);
+        assertThat(byDate.getItems()).extracting(CourseDTO::getTitle).containsExactly("Course 3", "Course 2");
+        assertThatThrownBy(() -> catalogService.getCatalogPage(
+                byDate.getNextCursor(), 2, CourseCatalogService.CatalogOrder.ID))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
+        catalogService.writeCatalog(out);
+        assertThat(out.toString(java.nio.charset.StandardCharsets.UTF_8))
+                .startsWith("[").endsWith("]").contains("\"title\":\"Course 3\"");
+    }
+
+    @Test
+    @Transactional
+    void testCourseStatsReadModel() {
+        Category category = categoryService.createCategory(Category.builder().name("Stats").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("stats-teacher@test.com").role(User.UserRole.TEACHER).build());
+        User first = userService.createUser(
+                User.builder().name("First").email("stats1@test.com").role(User.UserRole.STUDENT).build());
+        User second = userService.createUser(
+                User.builder().name("Second").email("stats2@test.com").role(User.UserRole.STUDENT).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Statistics").build(), category.getId(), teacher.getId());
+        org.example.learning_platform.model.Module module = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Module").orderIndex(1).build());
+        Lesson lesson = contentService.createLesson(module.getId(),
+                Lesson.builder().title("Lesson").orderIndex(1).build());
+        Assignment assignment = contentService.createAssignment(lesson.getId(),
+                Assignment.builder().title("Homework").maxScore(100).build());
+
+        reviewService.createReview(course.getId(), first.getId(), 5, "Great");
+        reviewService.createReview(course.getId(), second.getId(), 3, "Fine");
+        Enrollment completed = enrollmentService.enrollStudent(first.getId(), course.getId());
+        Enrollment dropped = enrollmentService.enrollStudent(second.getId(), course.getId());
+        enrollmentService.completeCourse(completed.getId());
+        enrollmentService.dropEnrollment(dropped.getId());
+        submissionService.submitAssignment(assignment.getId(), first.getId(), "Solution");
+
+        CourseStatsDTO stats = statsService.getStats(course.getId());
+        assertThat(stats.getAverageRating()).isEqualTo(4.0);
+        assertThat(stats.getRatingCount()).isEqualTo(2);
+        assertThat(stats.getRatingHistogram()).containsEntry(5, 1L).containsEntry(3, 1L).containsEntry(1, 0L);
+        assertThat(stats.getActiveEnrollments()).isZero();
+        assertThat(stats.getCompletedEnrollments()).isEqualTo(1);
+        assertThat(stats.getDroppedEnrollments()).isEqualTo(1);
+        assertThat(stats.getSubmissionCount()).isEqualTo(1);
+
+        statsService.rebuild(course.getId());
+        assertThat(statsService.getStats(course.getId())).isEqualTo(stats);
+    }
+
+    @Test
+    void testCourseCacheInvalidation() {
+        Category category = categoryService.createCategory(Category.builder().name("Cached").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("cache@test.com").role(User.UserRole.TEACHER).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Cached Course").build(), category.getId(), teacher.getId());
+
+        CourseDTO cached = catalogService.getCourse(course.getId());
+        assertThat(catalogService.getCourse(course.getId())).isSameAs(cached);
+        assertThat(catalogService.getCoursesByCategory(category.getId()))
+                .extracting(CourseDTO::getId).containsExactly(course.getId());
+        assertThat(catalogService.getCoursesByTag("Caching")).isEmpty();
+
+        courseService.addTagsToCourse(course.getId(), java.util.Set.of("Caching"));
+
+        assertThat(catalogService.getCourse(course.getId()).getTags()).containsExactly("Caching");
+        assertThat(catalogService.getCoursesByTag("Caching"))
+                .extracting(CourseDTO::getId).containsExactly(course.getId());
+        assertThat(courseCache.stats().get(0).getHitCount()).isPositive();
+
+        courseService.deleteCourse(course.getId());
+        assertThat(catalogService.getCoursesByCategory(category.getId())).isEmpty();
+        assertThatThrownBy(() -> catalogService.getCourse(course.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testCourseTagQueries() {
+        Category category = categoryService.createCategory(Category.builder().name("Tagged").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("tags@test.com").role(User.UserRole.TEACHER).build());
+        Course java = courseService.createCourse(
+                Course.builder().title("Java").build(), category.getId(), teacher.getId());
+        Course kotlin = courseService.createCourse(
+                Course.builder().title("Kotlin").build(), category.getId(), teacher.getId());
+        Course sql = courseService.createCourse(
+                Course.builder().title("SQL").build(), category.getId(), teacher.getId());
+        courseService.addTagsToCourse(java.getId(), java.util.Set.of("JVM", "Backend"));
+        courseService.addTagsToCourse(kotlin.getId(), java.util.Set.of("JVM", "Mobile"));
+        courseService.addTagsToCourse(sql.getId(), java.util.Set.of("Backend"));
+
+        assertThat(catalogService.getCoursesByTags(List.of("JVM", "Backend"), true, null, 10).getItems())
+                .extracting(CourseDTO::getId).containsExactly(java.getId());
+        assertThat(catalogService.getCoursesByTags(List.of("JVM", "Missing"), true, null, 10).getItems())
+                .isEmpty();
+
+        CursorPageDTO<CourseDTO> first = catalogService.getCoursesByTags(List.of("Mobile", "Backend"), false, null, 2);
+        assertThat(first.getItems()).extracting(CourseDTO::getId).containsExactly(java.getId(), kotlin.getId());
+        CursorPageDTO<CourseDTO> second = catalogService.getCoursesByTags(
+                List.of("Mobile", "Backend"), false, first.getNextCursor(), 2);
+        assertThat(second.getItems()).extracting(CourseDTO::getId).containsExactly(sql.getId());
+        assertThat(second.getNextCursor()).isNull();
+
+        courseService.deleteCourse(java.getId());
+        assertThat(catalogService.getCoursesByTags(List.of("JVM"), true, null, 10).getItems())
+                .extracting(CourseDTO::getId).containsExactly(kotlin.getId());
+    }
+
+    @Test
+    void testCourseSearch() {
+        Category category = categoryService.createCategory(Category.builder().name("Search").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("search@test.com").role(User.UserRole.TEACHER).build());
+        Course spring = courseService.createCourse(Course.builder().title("Spring Boot in Depth")
+                .description("Web services with Java").build(), category.getId(), teacher.getId());
+        Course java = courseService.createCourse(Course.builder().title("Java Basics")
+                .description("Syntax, collections and a first look at Spring").build(), category.getId(), teacher.getId());
+        Course sql = courseService.createCourse(Course.builder().title("SQL")
+                .description("Relational databases").build(), category.getId(), teacher.getId());
+
+        SearchPageDTO<CourseDTO> result = catalogService.search("spring ", 0, 10);
+        assertThat(result.getTotalHits()).isEqualTo(2);
+        assertThat(result.getItems()).extracting(CourseDTO::getId).containsExactly(spring.getId(), java.getId());
+
+        assertThat(catalogService.search("Relat", 0, 10).getItems())
+                .extracting(CourseDTO::getId).containsExactly(sql.getId());
+        assertThat(catalogService.search("Relat ", 0, 10).getItems()).isEmpty();
+
+        SearchPageDTO<CourseDTO> second = catalogService.search("java spring", 1, 1);
+        assertThat(second.getTotalHits()).isEqualTo(2);
+        assertThat(second.getItems()).hasSize(1);
+
+        courseService.deleteCourse(spring.getId());
+        assertThat(catalogService.search("spring", 0, 10).getItems())
+                .extracting(CourseDTO::getId).containsExactly(java.getId());
+        assertThatThrownBy(() -> catalogService.search(" ", 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> catalogService.search("spring", Integer.MAX_VALUE, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Transactional
+    void testCreateCourseWithTags() {
+        Category category = categoryService.createCategory(Category.builder().name("Ops").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("ops@test.com").role(User.UserRole.TEACHER).build());
+        Course docker = courseService.createCourse(Course.builder().title("Docker").build(),
+                category.getId(), teacher.getId(), java.util.Set.of("Containers", "DevOps"));
+        Course kubernetes = courseService.createCourse(Course.builder().title("Kubernetes").build(),
+                category.getId(), teacher.getId(), java.util.Set.of("Containers", "DevOps", "Cloud"));
+        courseService.addTagsToCourse(docker.getId(), java.util.Set.of("Cloud", "DevOps"));
+
+        assertThat(tagRepository.findByNameIn(List.of("Containers", "DevOps", "Cloud"))).hasSize(3);
+        assertThat(courseRepository.findTagNamesByCourseIds(List.of(docker.getId(), kubernetes.getId())))
+                .extracting(row -> row.getCourseId() + ":" + row.getTagName())
+                .containsExactlyInAnyOrder(
+                        docker.getId() + ":Containers", docker.getId() + ":DevOps", docker.getId() + ":Cloud",
+                        kubernetes.getId() + ":Containers", kubernetes.getId() + ":DevOps",
+                        kubernetes.getId() + ":Cloud");
+    }
+
+    @Test
+    void testAutocomplete() {
+        Category category = categoryService.createCategory(Category.builder().name("Suggest").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("suggest@test.com").role(User.UserRole.TEACHER).build());
+        Course python = courseService.createCourse(Course.builder().title("Python for Data Science").build(),
+                category.getId(), teacher.getId(), java.util.Set.of("Python", "Data"));
+        Course pandas = courseService.createCourse(Course.builder().title("Pandas Deep Dive").build(),
+                category.getId(), teacher.getId(), java.util.Set.of("Python", "Pandas"));
+        courseService.createCourse(Course.builder().title("Physics").build(),
+                category.getId(), teacher.getId(), java.util.Set.of("Pandas"));
+
+        AutocompleteDTO suggestions = autocompleteService.suggest("P", 10);
+        assertThat(suggestions.getTags()).extracting(TagSuggestionDTO::getName)
+                .containsExactly("Pandas", "Python");
+        assertThat(suggestions.getTags()).extracting(TagSuggestionDTO::getCourseCount).containsExactly(2L, 2L);
+        assertThat(suggestions.getCourses()).extracting(CourseSuggestionDTO::getTitle)
+                .containsExactly("Physics", "Pandas Deep Dive", "Python for Data Science");
+
+        assertThat(autocompleteService.suggest("data sci", 10).getCourses())
+                .extracting(CourseSuggestionDTO::getId).containsExactly(python.getId());
+
+        courseService.deleteCourse(pandas.getId());
+        suggestions = autocompleteService.suggest("pa", 10);
+        assertThat(suggestions.getTags()).extracting(TagSuggestionDTO::getCourseCount).containsExactly(1L);
+        assertThat(suggestions.getCourses()).isEmpty();
+    }
+
+    @Test
+    void testCourseImport() throws Exception {
+        Category category = categoryService.createCategory(Category.builder().name("Imported").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("import@test.com").role(User.UserRole.TEACHER).build());
+        userService.createUser(
+                User.builder().name("Student").email("student-import@test.com").role(User.UserRole.STUDENT).build());
+        String ndjson = String.join("\n",
+                "{\"title\":\"Go\",\"categoryName\":\"Imported\",\"teacherEmail\":\"import@test.com\"," +
+                "\"tags\":[\"Go\",\"Backend\"],\"modules\":[{\"title\":\"Basics\",\"lessons\":" +
+                "[{\"title\":\"Syntax\"},{\"title\":\"Types\"}]},{\"title\":\"Concurrency\"}]}",
+                "{not json",
+                "",
+                "{\"title\":\"Rust\",\"categoryName\":\"Missing\",\"teacherEmail\":\"import@test.com\"}",
+                "{\"categoryName\":\"Imported\",\"teacherEmail\":\"import@test.com\"}",
+                "{\"title\":\"C\",\"categoryName\":\"Imported\",\"teacherEmail\":\"student-import@test.com\"}",
+                "{\"title\":\"Zig\",\"categoryName\":\"Imported\",\"teacherEmail\":\"import@test.com\",\"tags\":[\"Backend\"]}");
+
+        ImportResultDTO result = importService.importCourses(
+                new java.io.ByteArrayInputStream(ndjson.getBytes(java.nio.charset.StandardCharsets.UTF_8)));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(4);
+        assertThat(result.getErrors()).extracting(ImportErrorDTO::getLine).containsExactly(2L, 4L, 5L, 6L);
+        assertThat(result.getErrors().get(1).getMessage()).isEqualTo("Category not found: Missing");
+        assertThat(result.getErrors().get(2).getMessage()).isEqualTo("Title is required");
+
+        List<CourseDTO> imported = catalogService.getCoursesByCategory(category.getId());
+        assertThat(imported).extracting(CourseDTO::getTitle).containsExactly("Go", "Zig");
+        assertThat(imported.get(0).getTags()).containsExactlyInAnyOrder("Go", "Backend");
+        assertThat(imported.get(0).getTeacherName()).isEqualTo(teacher.getName());
+        List<org.example.learning_platform.model.Module> modules = contentService.getCourseModules(imported.get(0).getId());
+        assertThat(modules).extracting(org.example.learning_platform.model.Module::getTitle)
+                .containsExactly("Basics", "Concurrency");
+        assertThat(contentService.getModuleLessons(modules.get(0).getId()))
+                .extracting(Lesson::getTitle).containsExactly("Syntax", "Types");
+        assertThat(statsService.getStats(imported.get(1).getId()).getRatingCount()).isZero();
+        assertThat(catalogService.getCoursesByTags(List.of("Backend"), true, null, 10).getItems())
+                .extracting(CourseDTO::getTitle).containsExactly("Go", "Zig");
+    }
+
+    @Test
+    @Transactional
+    void testCourseOutline() {
+        Category category = categoryService.createCategory(Category.builder().name("Outline").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("outline@test.com").role(User.UserRole.TEACHER).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Algorithms").build(), category.getId(), teacher.getId());
+        org.example.learning_platform.model.Module sorting = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Sorting").orderIndex(1).build());
+        org.example.learning_platform.model.Module graphs = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Graphs").orderIndex(2).build());
+        Lesson quicksort = contentService.createLesson(sorting.getId(),
+                Lesson.builder().title("Quicksort").orderIndex(2).build());
+        contentService.createLesson(sorting.getId(), Lesson.builder().title("Merge sort").orderIndex(1).build());
+        contentService.createAssignment(quicksort.getId(),
+                Assignment.builder().title("Implement quicksort").maxScore(10).build());
+        quizService.createQuiz(graphs.getId(), Quiz.builder().title("Graphs quiz").passingScore(70).build());
+
+        CourseOutlineDTO outline = contentService.getCourseOutline(course.getId());
+
+        assertThat(outline.getCourse().getTitle()).isEqualTo("Algorithms");
+        assertThat(outline.getModules()).extracting(ModuleOutlineDTO::getTitle).containsExactly("Sorting", "Graphs");
+        ModuleOutlineDTO first = outline.getModules().get(0);
+        assertThat(first.getQuiz()).isNull();
+        assertThat(first.getLessons()).extracting(LessonOutlineDTO::getTitle).containsExactly("Merge sort", "Quicksort");
+        assertThat(first.getLessons().get(1).getAssignments()).singleElement()
+                .satisfies(assignment -> {
+                    assertThat(assignment.getTitle()).isEqualTo("Implement quicksort");
+                    assertThat(assignment.getLessonTitle()).isEqualTo("Quicksort");
+                });
+        ModuleOutlineDTO second = outline.getModules().get(1);
+        assertThat(second.getLessons()).isEmpty();
+        assertThat(second.getQuiz().getTitle()).isEqualTo("Graphs quiz");
+        assertThat(second.getQuiz().getModuleTitle()).isEqualTo("Graphs");
+
+        assertThatThrownBy(() -> contentService.getCourseOutline(-1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testConditionalGetWithEtags() {
+        Category category = categoryService.createCategory(Category.builder().name("Etags").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("etag-teacher@test.com").role(User.UserRole.TEACHER).build());
+        User student = userService.createUser(
+                User.builder().name("Student").email("etag-student@test.com").role(User.UserRole.STUDENT).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Caching").build(), category.getId(), teacher.getId());
+
+        ResponseEntity<byte[]> first = courseController.getCourseById(course.getId(), null);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(new String(first.getBody(), StandardCharsets.UTF_8)).contains("\"title\":\"Caching\"");
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotNull();
+
+        ResponseEntity<byte[]> notModified = courseController.getCourseById(course.getId(), etag);
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getBody()).isNull();
+        assertThat(courseController.getCourseById(course.getId(), "W/" + etag).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        // Hits are served from the cached bytes without calling the loader
+        AtomicInteger loads = new AtomicInteger();
+        String key = ETagResponseCache.courseKey(course.getId());
+        Supplier<CourseDTO> loader = () -> {
+            loads.incrementAndGet();
+            return catalogService.loadCourse(course.getId());
+        };
+        assertThat(responseCache.respond(key, etag, loader).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(loads).hasValue(0);
+
+        courseService.addTagsToCourse(course.getId(), Set.of("http"));
+        ResponseEntity<byte[]> tagged = courseController.getCourseById(course.getId(), etag);
+        assertThat(tagged.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(new String(tagged.getBody(), StandardCharsets.UTF_8)).contains("http");
+        String taggedEtag = tagged.getHeaders().getETag();
+        assertThat(taggedEtag).isNotEqualTo(etag);
+
+        reviewService.createReview(course.getId(), student.getId(), 4, "Good");
+        ResponseEntity<byte[]> reviewed = courseController.getCourseById(course.getId(), taggedEtag);
+        assertThat(reviewed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(reviewed.getHeaders().getETag()).isNotEqualTo(taggedEtag);
+        // Reviews no longer touch the course row, so an entity update right after still succeeds
+        courseService.addTagsToCourse(course.getId(), Set.of("etag"));
+
+        org.example.learning_platform.model.Module module = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Headers").orderIndex(1).build());
+        Quiz quiz = quizService.createQuiz(module.getId(), Quiz.builder().title("Etag quiz").passingScore(50).build());
+        ResponseEntity<byte[]> quizResponse = quizController.getQuizQuestions(quiz.getId(), null);
+        assertThat(new String(quizResponse.getBody(), StandardCharsets.UTF_8)).isEqualTo("[]");
+        String quizEtag = quizResponse.getHeaders().getETag();
+        assertThat(quizController.getQuizQuestions(quiz.getId(), quizEtag).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        quizService.addQuestion(quiz.getId(),
+                Question.builder().text("Is 304 a success?").type(Question.QuestionType.SINGLE_CHOICE).points(1).build());
+        ResponseEntity<byte[]> changed = quizController.getQuizQuestions(quiz.getId(), quizEtag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(quizEtag);
+        assertThat(quizController.getQuiz(quiz.getId(), null).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // Course DTOs carry the teacher's name, so a rename drops them from both caches
+        assertThat(catalogService.getCourse(course.getId()).getTeacherName()).isEqualTo("Teacher");
+        String beforeRename = courseController.getCourseById(course.getId(), null).getHeaders().getETag();
+        userService.updateUser(teacher.getId(), User.builder().name("Renamed teacher")
+                .email("etag-teacher@test.com").role(User.UserRole.TEACHER).build());
+        assertThat(catalogService.getCourse(course.getId()).getTeacherName()).isEqualTo("Renamed teacher");
+        ResponseEntity<byte[]> renamed = courseController.getCourseById(course.getId(), beforeRename);
+        assertThat(renamed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(new String(renamed.getBody(), StandardCharsets.UTF_8)).contains("Renamed teacher");
+
+        assertThatThrownBy(() -> courseController.getCourseById(-1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> quizController.getQuizQuestions(-1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Transactional
+    void testBulkEnrollment() {
+        Category category = categoryService.createCategory(Category.builder().name("Bulk").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("bulk-teacher@test.com").role(User.UserRole.TEACHER).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Onboarding").build(), category.getId(), teacher.getId());
+        List<Long> studentIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            studentIds.add(userService.createUser(User.builder().name("Student " + i)
+                    .email("bulk-" + i + "@test.com").role(User.UserRole.STUDENT).build()).getId());
+        }
+        enrollmentService.enrollStudent(studentIds.get(0), course.getId());
+
+        List<Long> request = List.of(studentIds.get(0), studentIds.get(1), studentIds.get(2),
+                studentIds.get(1), teacher.getId(), -1L);
+        BulkEnrollmentResultDTO result = enrollmentService.enrollStudents(course.getId(), request);
+
+        assertThat(result.getEnrolled()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(3);
+        assertThat(result.getResults()).extracting(EnrollmentOutcomeDTO::getStudentId, EnrollmentOutcomeDTO::getOutcome)
+                .containsExactly(
+                        tuple(studentIds.get(0), "ALREADY_ENROLLED"),
+                        tuple(studentIds.get(1), "ENROLLED"),
+                        tuple(studentIds.get(2), "ENROLLED"),
+                        tuple(teacher.getId(), "NOT_A_STUDENT"),
+                        tuple(-1L, "STUDENT_NOT_FOUND"));
+
+        String csv = "student_id,name\n" + studentIds.get(3) + ",Student 3\n\n" + studentIds.get(4) + "\n";
+        assertThat(enrollmentService.enrollStudentsFromCsv(course.getId(), csv).getEnrolled()).isEqualTo(2);
+        assertThatThrownBy(() -> enrollmentService.enrollStudentsFromCsv(course.getId(), "1\nabc\n"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(statsService.getStats(course.getId()).getActiveEnrollments()).isEqualTo(5);
+
+        assertThat(enrollmentService.dropEnrollments(course.getId(), Enrollment.EnrollmentStatus.ACTIVE).getUpdated())
+                .isEqualTo(5);
+        assertThat(enrollmentService.completeEnrollments(course.getId(), Enrollment.EnrollmentStatus.ACTIVE).getUpdated())
+                .isZero();
+        assertThat(enrollmentService.completeEnrollments(course.getId(), Enrollment.EnrollmentStatus.DROPPED).getUpdated())
+                .isEqualTo(5);
+        CourseStatsDTO stats = statsService.getStats(course.getId());
+        assertThat(stats.getActiveEnrollments()).isZero();
+        assertThat(stats.getDroppedEnrollments()).isZero();
+        assertThat(stats.getCompletedEnrollments()).isEqualTo(5);
+        assertThat(enrollmentRepository.countStatusesByCourseIds(List.of(course.getId())))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getStatus()).isEqualTo(Enrollment.EnrollmentStatus.COMPLETED);
+                    assertThat(row.getTotal()).isEqualTo(5);
+                });
+        assertThatThrownBy(() -> enrollmentService.completeEnrollments(course.getId(), Enrollment.EnrollmentStatus.COMPLETED))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testSeatLimitedEnrollmentWithWaitlist() throws Exception {
+        Category category = categoryService.createCategory(Category.builder().name("Seats").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("seats-teacher@test.com").role(User.UserRole.TEACHER).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Flash opening").build(), category.getId(), teacher.getId());
+        seatService.setCapacity(course.getId(), 5);
+        List<Long> studentIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            studentIds.add(userService.createUser(User.builder().name("Student " + i)
+                    .email("seats-" + i + "@test.com").role(User.UserRole.STUDENT).build()).getId());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<EnrollmentService.EnrollmentRequest> requests = new ArrayList<>();
+        try {
+            List<Future<EnrollmentService.EnrollmentRequest>> futures = new ArrayList<>();
+            for (Long studentId : studentIds) {
+                futures.add(pool.submit(() -> enrollmentService.enrollOrWaitlist(studentId, course.getId())));
+            }
+            for (Future<EnrollmentService.EnrollmentRequest> future : futures) {
+                requests.add(future.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // No overselling under concurrent requests
+        assertThat(requests).filteredOn(request -> !request.isWaitlisted()).hasSize(5);
+        assertThat(requests).filteredOn(EnrollmentService.EnrollmentRequest::isWaitlisted).hasSize(15);
+        CourseSeatsDTO seats = seatService.getSeats(course.getId());
+        assertThat(seats.getTaken()).isEqualTo(5);
+        assertThat(seats.getAvailable()).isZero();
+        assertThat(seats.getWaitlisted()).isEqualTo(15);
+        assertThat(statsService.getStats(course.getId()).getActiveEnrollments()).isEqualTo(5);
+        Long waitlisted = studentIds.get(requests.indexOf(requests.stream()
+                .filter(EnrollmentService.EnrollmentRequest::isWaitlisted).findFirst().orElseThrow()));
+        assertThatThrownBy(() -> enrollmentService.enrollStudent(waitlisted, course.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Course is full");
+
+        // Dropping an enrollment promotes the head of the waitlist
+        Long head = waitlistRepository.findFirstByCourseIdOrderByIdAsc(course.getId()).orElseThrow().getStudent().getId();
+        Enrollment dropped = requests.stream().filter(request -> !request.isWaitlisted())
+                .findFirst().orElseThrow().enrollment();
+        enrollmentService.dropEnrollment(dropped.getId());
+        assertThat(enrollmentRepository.findByStudentIdAndCourseId(head, course.getId()))
+                .hasValueSatisfying(enrollment ->
+                        assertThat(enrollment.getStatus()).isEqualTo(Enrollment.EnrollmentStatus.ACTIVE));
+        seats = seatService.getSeats(course.getId());
+        assertThat(seats.getTaken()).isEqualTo(5);
+        assertThat(seats.getWaitlisted()).isEqualTo(14);
+
+        // Raising the capacity fills the new seats from the waitlist
+        seats = seatService.setCapacity(course.getId(), 8);
+        assertThat(seats.getTaken()).isEqualTo(8);
+        assertThat(seats.getWaitlisted()).isEqualTo(11);
+        assertThat(statsService.getStats(course.getId()).getActiveEnrollments()).isEqualTo(8);
+
+        User late = userService.createUser(
+                User.builder().name("Late").email("seats-late@test.com").role(User.UserRole.STUDENT).build());
+        BulkEnrollmentResultDTO bulk = enrollmentService.enrollStudents(course.getId(), List.of(late.getId()));
+        assertThat(bulk.getResults()).extracting(EnrollmentOutcomeDTO::getOutcome).containsExactly("COURSE_FULL");
+    }
+
+    @Test
+    void testReferenceWritesWithRoleCache() {
+        Category category = categoryService.createCategory(Category.builder().name("References").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("ref-teacher@test.com").role(User.UserRole.TEACHER).build());
+        User student = userService.createUser(
+                User.builder().name("Student").email("ref-student@test.com").role(User.UserRole.STUDENT).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Proxies").build(), category.getId(), teacher.getId());
+        org.example.learning_platform.model.Module module = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Writes").orderIndex(1).build());
+        Lesson lesson = contentService.createLesson(module.getId(), Lesson.builder().title("Inserts").orderIndex(1).build());
+        Assignment assignment = contentService.createAssignment(lesson.getId(),
+                Assignment.builder().title("Single insert").maxScore(10).build());
+        Quiz quiz = quizService.createQuiz(module.getId(), Quiz.builder().title("References quiz").passingScore(50).build());
+
+        // Responses are mapped outside the transaction, so names must not need the proxies
+        SubmissionDTO submission = (SubmissionDTO) assignmentController.submitAssignment(assignment.getId(),
+                SubmissionCreateRequest.builder().studentId(student.getId()).content("Done").build()).getBody();
+        assertThat(submission.getStudentName()).isEqualTo("Student");
+        assertThat(submission.getAssignmentTitle()).isEqualTo("Single insert");
+        assertThatThrownBy(() -> submissionService.submitAssignment(assignment.getId(), student.getId(), "Again"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already submitted");
+        assertThat(statsService.getStats(course.getId()).getSubmissionCount()).isEqualTo(1);
+
+        QuizSubmissionDTO first = quizController.takeQuiz(quiz.getId(),
+                QuizTakeRequest.builder().studentId(student.getId()).score(40).build()).getBody();
+        assertThat(first.getStudentName()).isEqualTo("Student");
+        assertThat(first.getQuizTitle()).isEqualTo("References quiz");
+        assertThat(quizService.submitQuiz(quiz.getId(), student.getId(), 80).getAttemptNumber()).isEqualTo(2);
+
+        EnrollmentDTO enrollment = courseController.enrollStudent(course.getId(), student.getId()).getBody();
+        assertThat(enrollment.getStudentName()).isEqualTo("Student");
+        assertThat(enrollment.getCourseTitle()).isEqualTo("Proxies");
+        assertThatThrownBy(() -> enrollmentService.enrollStudent(student.getId(), course.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already enrolled");
+
+        reviewService.createReview(course.getId(), student.getId(), 5, "Great");
+        assertThatThrownBy(() -> reviewService.createReview(course.getId(), student.getId(), 4, "Twice"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already reviewed");
+        assertThatThrownBy(() -> reviewService.createReview(-1L, student.getId(), 4, "Nowhere"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // A role change is seen by the next write
+        userService.updateUser(student.getId(), User.builder().name("Former student")
+                .email("ref-student@test.com").role(User.UserRole.TEACHER).build());
+        assertThatThrownBy(() -> quizService.submitQuiz(quiz.getId(), student.getId(), 90))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not a student");
+        assertThat(userRoleCache.nameOf(student.getId())).isEqualTo("Former student");
+
+        // A student deleted behind the role cache fails the foreign key, which is not a duplicate
+        User leaver = userService.createUser(
+                User.builder().name("Leaver").email("ref-leaver@test.com").role(User.UserRole.STUDENT).build());
+        userRoleCache.requireStudent(leaver.getId());
+        userRepository.deleteById(leaver.getId());
+        assertThatThrownBy(() -> enrollmentService.enrollStudent(leaver.getId(), course.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not found");
+        assertThatThrownBy(() -> submissionService.submitAssignment(assignment.getId(), leaver.getId(), "Gone"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not found");
+    }
+
+    @Test
+    void testCourseRosterPagingAndCsvExport() throws Exception {
+        Category category = categoryService.createCategory(Category.builder().name("Roster").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("roster-teacher@test.com").role(User.UserRole.TEACHER).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Big class").build(), category.getId(), teacher.getId());
+        List<Long> studentIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String name = i == 0 ? "Doe, \"Jane\"" : "Student " + i;
+            studentIds.add(userService.createUser(User.builder().name(name)
+                    .email("roster-" + i + "@test.com").role(User.UserRole.STUDENT).build()).getId());
+        }
+        enrollmentService.enrollStudents(course.getId(), studentIds);
+        Long droppedId = enrollmentRepository.findByStudentIdAndCourseId(studentIds.get(4), course.getId())
+                .orElseThrow().getId();
+        enrollmentService.dropEnrollment(droppedId);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<RosterEntryDTO> page = rosterService.getRosterPage(course.getId(), null, cursor, 2);
+            page.getItems().forEach(entry -> seen.add(entry.getStudentId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        assertThat(seen).containsExactlyElementsOf(studentIds);
+        assertThat(pages).isEqualTo(3);
+
+        CursorPageDTO<RosterEntryDTO> active = rosterService.getRosterPage(
+                course.getId(), Enrollment.EnrollmentStatus.ACTIVE, null, 10);
+        assertThat(active.getItems()).hasSize(4);
+        assertThat(active.getItems().get(0).getEmail()).isEqualTo("roster-0@test.com");
+        assertThat(active.getNextCursor()).isNull();
+        assertThatThrownBy(() -> rosterService.getRosterPage(course.getId(), null, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> rosterService.getRosterPage(-1L, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        rosterService.writeRosterCsv(course.getId(), Enrollment.EnrollmentStatus.DROPPED, out);
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\r\n")).hasSize(2)
+                .startsWith("student_id,name,email,status,enroll_date")
+                .anySatisfy(line -> assertThat(line).startsWith(studentIds.get(4) + ",Student 4,roster-4@test.com,DROPPED,"));
+
+        out.reset();
+        rosterService.writeRosterCsv(course.getId(), null, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(6);
+        assertThat(lines[1]).startsWith(studentIds.get(0) + ",\"Doe, \"\"Jane\"\"\",roster-0@test.com,ACTIVE,");
+
+        assertThat(courseController.getCourseStudents(course.getId()).getBody())
+                .extracting(UserDTO::getId).containsExactlyInAnyOrderElementsOf(studentIds);
+    }
+
+    @Test
+    void testChunkedEnrollmentJobs() {
+        Category category = categoryService.createCategory(Category.builder().name("Jobs").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("jobs-teacher@test.com").role(User.UserRole.TEACHER).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Batch").build(), category.getId(), teacher.getId());
+        org.example.learning_platform.model.Module module = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Only module").orderIndex(1).build());
+        Lesson lesson = contentService.createLesson(module.getId(), Lesson.builder().title("Only lesson").orderIndex(1).build());
+        Assignment assignment = contentService.createAssignment(lesson.getId(),
+                Assignment.builder().title("Essay").maxScore(10).build());
+        Quiz quiz = quizService.createQuiz(module.getId(), Quiz.builder().title("Final").passingScore(50).build());
+
+        List<Long> students = new ArrayList<>();
+        List<Long> enrollmentIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Long studentId = userService.createUser(User.builder().name("Student " + i)
+                    .email("jobs-" + i + "@test.com").role(User.UserRole.STUDENT).build()).getId();
+            students.add(studentId);
+            enrollmentIds.add(enrollmentService.enrollStudent(studentId, course.getId()).getId());
+        }
+        // 0 finished everything, 1 only passed the quiz, 2 and 3 enrolled long ago
+        // but 3 attempted the quiz recently
+        quizService.submitQuiz(quiz.getId(), students.get(0), 90);
+        Submission essay = submissionService.submitAssignment(assignment.getId(), students.get(0), "Essay");
+        submissionService.gradeSubmission(essay.getId(), 8, "Good");
+        quizService.submitQuiz(quiz.getId(), students.get(1), 70);
+        quizService.submitQuiz(quiz.getId(), students.get(3), 10);
+        for (Long enrollmentId : enrollmentIds.subList(2, 4)) {
+            Enrollment enrollment = enrollmentRepository.findById(enrollmentId).orElseThrow();
+            enrollment.setEnrollDate(LocalDateTime.now().minusYears(1));
+            enrollmentRepository.save(enrollment);
+        }
+
+        // A run interrupted after the first enrollment resumes behind it
+        jobCheckpointRepository.save(JobCheckpoint.builder()
+                .jobName("enrollment-auto-completion").lastId(enrollmentIds.get(0)).build());
+        JobRunDTO resumed = jobRunner.run("enrollment-auto-completion");
+        assertThat(resumed.getResumedAfterId()).isEqualTo(enrollmentIds.get(0));
+        assertThat(resumed.getScanned()).isEqualTo(3);
+        assertThat(resumed.getUpdated()).isZero();
+        assertThat(jobCheckpointRepository.findById("enrollment-auto-completion").orElseThrow().getLastId()).isZero();
+
+        // A course without assignments or quizzes gives no activity signal, so it is never expired
+        Course reading = courseService.createCourse(
+                Course.builder().title("Reading list").build(), category.getId(), teacher.getId());
+        Enrollment reader = enrollmentService.enrollStudent(students.get(2), reading.getId());
+        reader.setEnrollDate(LocalDateTime.now().minusYears(1));
+        enrollmentRepository.save(reader);
+
+        JobRunDTO completion = jobRunner.run("enrollment-auto-completion");
+        assertThat(completion.getResumedAfterId()).isZero();
+        assertThat(completion.getUpdated()).isEqualTo(1);
+        JobRunDTO expiry = jobRunner.run("enrollment-expiry");
+        assertThat(expiry.getUpdated()).isEqualTo(1);
+
+        assertThat(enrollmentIds).extracting(id -> enrollmentRepository.findById(id).orElseThrow().getStatus())
+                .containsExactly(Enrollment.EnrollmentStatus.COMPLETED, Enrollment.EnrollmentStatus.ACTIVE,
+                        Enrollment.EnrollmentStatus.DROPPED, Enrollment.EnrollmentStatus.ACTIVE);
+        assertThat(enrollmentRepository.findById(enrollmentIds.get(0)).orElseThrow().getCompletedDate()).isNotNull();
+        assertThat(enrollmentRepository.findById(reader.getId()).orElseThrow().getStatus())
+                .isEqualTo(Enrollment.EnrollmentStatus.ACTIVE);
+        CourseStatsDTO stats = statsService.getStats(course.getId());
+        assertThat(stats.getActiveEnrollments()).isEqualTo(2);
+        assertThat(stats.getCompletedEnrollments()).isEqualTo(1);
+        assertThat(stats.getDroppedEnrollments()).isEqualTo(1);
+
+        assertThatThrownBy(() -> jobRunner.run("no-such-job"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testBulkGrading() {
+        Category category = categoryService.createCategory(Category.builder().name("Grading").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("grading-teacher@test.com").role(User.UserRole.TEACHER).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Graded").build(), category.getId(), teacher.getId());
+        org.example.learning_platform.model.Module module = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Module").orderIndex(1).build());
+        Lesson lesson = contentService.createLesson(module.getId(), Lesson.builder().title("Lesson").orderIndex(1).build());
+        Assignment essay = contentService.createAssignment(lesson.getId(),
+                Assignment.builder().title("Essay").maxScore(10).build());
+        Assignment other = contentService.createAssignment(lesson.getId(),
+                Assignment.builder().title("Other").maxScore(10).build());
+
+        List<Long> submissionIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Long studentId = userService.createUser(User.builder().name("Student " + i)
+                    .email("grading-" + i + "@test.com").role(User.UserRole.STUDENT).build()).getId();
+            submissionIds.add(submissionService.submitAssignment(essay.getId(), studentId, "Answer " + i).getId());
+        }
+        Long otherSubmission = submissionService.submitAssignment(other.getId(),
+                userService.createUser(User.builder().name("Other").email("grading-other@test.com")
+                        .role(User.UserRole.STUDENT).build()).getId(), "Other answer").getId();
+
+        List<GradeItemRequest> grades = List.of(
+                GradeItemRequest.builder().submissionId(submissionIds.get(0)).score(8).feedback("Good").build(),
+                GradeItemRequest.builder().submissionId(submissionIds.get(1)).score(11).build(),
+                GradeItemRequest.builder().submissionId(submissionIds.get(0)).score(2).build(),
+                GradeItemRequest.builder().submissionId(-1L).score(5).build(),
+                GradeItemRequest.builder().submissionId(otherSubmission).score(5).build(),
+                GradeItemRequest.builder().submissionId(submissionIds.get(2)).score(10).build());
+        BulkGradeResultDTO result = submissionService.gradeSubmissions(essay.getId(), grades);
+
+        assertThat(result.getGraded()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(4);
+        assertThat(result.getResults()).extracting(GradeOutcomeDTO::getOutcome).containsExactly(
+                "GRADED", "SCORE_OUT_OF_RANGE", "DUPLICATE", "SUBMISSION_NOT_FOUND", "SUBMISSION_NOT_FOUND", "GRADED");
+
+        Submission first = submissionService.getSubmission(submissionIds.get(0));
+        assertThat(first.getStatus()).isEqualTo(Submission.SubmissionStatus.GRADED);
+        assertThat(first.getScore()).isEqualTo(8);
+        assertThat(first.getFeedback()).isEqualTo("Good");
+        assertThat(submissionService.getSubmission(submissionIds.get(1)).getStatus())
+                .isEqualTo(Submission.SubmissionStatus.SUBMITTED);
+        assertThat(submissionService.getSubmission(otherSubmission).getScore()).isNull();
+
+        assertThatThrownBy(() -> submissionService.gradeSubmissions(-1L, grades))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> submissionService.gradeSubmissions(essay.getId(), List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testWriteBehindSubmissionIngestion() {
+        Category category = categoryService.createCategory(Category.builder().name("Ingestion").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("ingest-teacher@test.com").role(User.UserRole.TEACHER).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Deadline").build(), category.getId(), teacher.getId());
+        org.example.learning_platform.model.Module module = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Module").orderIndex(1).build());
+        Lesson lesson = contentService.createLesson(module.getId(), Lesson.builder().title("Lesson").orderIndex(1).build());
+        Assignment assignment = contentService.createAssignment(lesson.getId(),
+                Assignment.builder().title("Due tonight").maxScore(10).build());
+        List<Long> students = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            students.add(userService.createUser(User.builder().name("Student " + i)
+                    .email("ingest-" + i + "@test.com").role(User.UserRole.STUDENT).build()).getId());
+        }
+        // Saved through the synchronous path before the burst
+        submissionService.submitAssignment(assignment.getId(), students.get(0), "Early");
+
+        // Ingestion is disabled in the default configuration, so the writer is not running yet
+        assertThat(ingestionService.isRunning()).isFalse();
+        ingestionService.start();
+        List<SubmissionTicketDTO> tickets = new ArrayList<>();
+        for (Long studentId : students) {
+            tickets.add(ingestionService.submit(assignment.getId(), studentId, "Answer"));
+        }
+        assertThat(tickets).extracting(SubmissionTicketDTO::getStatus).containsOnly("QUEUED");
+        assertThatThrownBy(() -> ingestionService.submit(-1L, students.get(1), "Answer"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ingestionService.submit(assignment.getId(), teacher.getId(), "Answer"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Stopping flushes everything that was accepted
+        ingestionService.stop();
+        List<SubmissionTicketDTO> results = tickets.stream()
+                .map(ticket -> ingestionService.getTicket(ticket.getTrackingId()))
+                .toList();
+        assertThat(results.get(0).getStatus()).isEqualTo("REJECTED");
+        assertThat(results.subList(1, results.size())).allSatisfy(ticket -> {
+            assertThat(ticket.getStatus()).isEqualTo("SAVED");
+            assertThat(submissionService.getSubmissionContent(ticket.getSubmissionId())).isEqualTo("Answer");
+        });
+        assertThat(submissionService.getAssignmentSubmissions(assignment.getId(), false)).hasSize(30);
+        assertThat(statsService.getStats(course.getId()).getSubmissionCount()).isEqualTo(30);
+        assertThatThrownBy(() -> ingestionService.submit(assignment.getId(), students.get(1), "Late"))
+                .isInstanceOf(QueueFullException.class);
+
+        ingestionService.start();
+        String again = ingestionService.submit(assignment.getId(), students.get(1), "Again").getTrackingId();
+        ingestionService.stop();
+        assertThat(ingestionService.getTicket(again).getStatus()).isEqualTo("REJECTED");
+        assertThatThrownBy(() -> ingestionService.getTicket("unknown"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testContentAddressedSubmissionStorage() {
+        Category category = categoryService.createCategory(Category.builder().name("Storage").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("store-teacher@test.com").role(User.UserRole.TEACHER).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Essays").build(), category.getId(), teacher.getId());
+        org.example.learning_platform.model.Module module = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Module").orderIndex(1).build());
+        Lesson lesson = contentService.createLesson(module.getId(), Lesson.builder().title("Lesson").orderIndex(1).build());
+        Assignment assignment = contentService.createAssignment(lesson.getId(),
+                Assignment.builder().title("Essay").maxScore(10).build());
+        User first = userService.createUser(User.builder().name("First")
+                .email("store-1@test.com").role(User.UserRole.STUDENT).build());
+        User second = userService.createUser(User.builder().name("Second")
+                .email("store-2@test.com").role(User.UserRole.STUDENT).build());
+        User third = userService.createUser(User.builder().name("Third")
+                .email("store-3@test.com").role(User.UserRole.STUDENT).build());
+
+        // Identical bodies share one stored copy; bodies longer than the old column are accepted
+        String essay = "An essay paragraph. ".repeat(1000);
+        Submission a = submissionService.submitAssignment(assignment.getId(), first.getId(), essay);
+        Submission b = submissionService.submitAssignment(assignment.getId(), second.getId(), essay);
+        assertThat(a.getContentHash()).hasSize(64).isEqualTo(b.getContentHash());
+        assertThat(a.getContentSize()).isEqualTo(essay.length());
+        assertThat(submissionService.getSubmissionContent(b.getId())).isEqualTo(essay);
+
+        // A row written before the store existed, with the body inline
+        Submission legacy = submissionRepository.save(Submission.builder()
+                .assignment(assignment)
+                .student(third)
+                .legacyContent("Old answer")
+                .submittedAt(LocalDateTime.now())
+                .status(Submission.SubmissionStatus.SUBMITTED)
+                .build());
+
+        List<SubmissionDTO> listed = submissionService.getAssignmentSubmissions(assignment.getId(), false);
+        assertThat(listed).extracting(SubmissionDTO::getId).containsExactly(a.getId(), b.getId(), legacy.getId());
+        assertThat(listed).extracting(SubmissionDTO::getContent).containsOnlyNulls();
+        assertThat(listed.get(0).getContentSize()).isEqualTo(essay.length());
+        assertThat(submissionService.getAssignmentSubmissions(assignment.getId(), true))
+                .extracting(SubmissionDTO::getContent).containsExactly(essay, essay, "Old answer");
+
+        JobRunDTO migration = jobRunner.run("submission-content-migration");
+        assertThat(migration.getUpdated()).isEqualTo(1);
+        Submission migrated = submissionService.getSubmission(legacy.getId());
+        assertThat(migrated.getLegacyContent()).isNull();
+        assertThat(migrated.getContentSize()).isEqualTo("Old answer".length());
+        assertThat(submissionService.getSubmissionContent(legacy.getId())).isEqualTo("Old answer");
+        assertThat(submissionService.getStudentSubmissions(third.getId(), true))
+                .extracting(SubmissionDTO::getContent).containsExactly("Old answer");
+        assertThat(jobRunner.run("submission-content-migration").getUpdated()).isZero();
+
+        assertThat(assignmentController.getSubmissionContent(a.getId()).getBody()).isEqualTo(essay);
+        assertThatThrownBy(() -> submissionService.getSubmissionContent(-1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testSimilarSubmissionClusters() {
+        Category category = categoryService.createCategory(Category.builder().name("Similarity").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("similar-teacher@test.com").role(User.UserRole.TEACHER).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Writing").build(), category.getId(), teacher.getId());
+        org.example.learning_platform.model.Module module = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Module").orderIndex(1).build());
+        Lesson lesson = contentService.createLesson(module.getId(), Lesson.builder().title("Lesson").orderIndex(1).build());
+        Assignment assignment = contentService.createAssignment(lesson.getId(),
+                Assignment.builder().title("Essay").maxScore(10).build());
+        List<Long> students = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            students.add(userService.createUser(User.builder().name("Student " + i)
+                    .email("similar-" + i + "@test.com").role(User.UserRole.STUDENT).build()).getId());
+        }
+
+        String original = "The French Revolution began in 1789 when financial crisis, food shortages and "
+                + "Enlightenment ideas pushed the Third Estate to declare itself a National Assembly, "
+                + "which abolished feudal privileges and proclaimed the rights of man and of the citizen.";
+        List<Long> ids = new ArrayList<>();
+        ids.add(submissionService.submitAssignment(assignment.getId(), students.get(0), original).getId());
+        // Same words with different case and punctuation, and a one-word edit
+        ids.add(submissionService.submitAssignment(assignment.getId(), students.get(1),
+                original.toUpperCase().replace(",", " ;")).getId());
+        ids.add(submissionService.submitAssignment(assignment.getId(), students.get(2),
+                original.replace("1789", "1788")).getId());
+        ids.add(submissionService.submitAssignment(assignment.getId(), students.get(3),
+                "Photosynthesis turns light, water and carbon dioxide into glucose and oxygen.").getId());
+        ids.add(submissionService.submitAssignment(assignment.getId(), students.get(4), "I did not finish.").getId());
+        ids.add(submissionService.submitAssignment(assignment.getId(), students.get(5), "I did not finish.").getId());
+
+        List<SimilarityClusterDTO> clusters = assignmentController.getSimilarSubmissions(assignment.getId(), 0.8).getBody();
+        assertThat(clusters).hasSize(2);
+        assertThat(clusters.get(0).getSubmissionIds()).containsExactly(ids.get(0), ids.get(1), ids.get(2));
+        assertThat(clusters.get(0).getStudentIds()).containsExactly(students.get(0), students.get(1), students.get(2));
+        assertThat(clusters.get(0).getSimilarity()).isBetween(0.8, 1.0);
+        assertThat(clusters.get(1).getSubmissionIds()).containsExactly(ids.get(4), ids.get(5));
+        assertThat(clusters.get(1).getSimilarity()).isEqualTo(1.0);
+
+        // Signatures missing for stored bodies are computed on demand
+        contentSignatureRepository.deleteAll();
+        assertThat(similarityService.findSimilarSubmissions(assignment.getId(), 0.8)).hasSize(2);
+        assertThat(contentSignatureRepository.count()).isEqualTo(5);
+
+        assertThatThrownBy(() -> similarityService.findSimilarSubmissions(assignment.getId(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> similarityService.findSimilarSubmissions(-1L, 0.8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testGradingQueueLeases() throws Exception {
+        Category category = categoryService.createCategory(Category.builder().name("Grading").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("queue-teacher@test.com").role(User.UserRole.TEACHER).build());
+        User assistant = userService.createUser(
+                User.builder().name("Assistant").email("queue-ta@test.com").role(User.UserRole.TEACHER).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Graded").build(), category.getId(), teacher.getId());
+        Course otherCourse = courseService.createCourse(
+                Course.builder().title("Someone else's").build(), category.getId(), assistant.getId());
+        org.example.learning_platform.model.Module module = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Module").orderIndex(1).build());
+        Lesson lesson = contentService.createLesson(module.getId(), Lesson.builder().title("Lesson").orderIndex(1).build());
+        Assignment later = contentService.createAssignment(lesson.getId(), Assignment.builder()
+                .title("Later").maxScore(10).dueDate(LocalDateTime.now().plusDays(7)).build());
+        Assignment sooner = contentService.createAssignment(lesson.getId(), Assignment.builder()
+                .title("Sooner").maxScore(10).dueDate(LocalDateTime.now().plusDays(1)).build());
+        org.example.learning_platform.model.Module otherModule = contentService.createModule(otherCourse.getId(),
+                org.example.learning_platform.model.Module.builder().title("Module").orderIndex(1).build());
+        Lesson otherLesson = contentService.createLesson(otherModule.getId(),
+                Lesson.builder().title("Lesson").orderIndex(1).build());
+        Assignment otherAssignment = contentService.createAssignment(otherLesson.getId(),
+                Assignment.builder().title("Elsewhere").maxScore(10).build());
+
+        List<Long> laterIds = new ArrayList<>();
+        List<Long> soonerIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Long studentId = userService.createUser(User.builder().name("Student " + i)
+                    .email("queue-" + i + "@test.com").role(User.UserRole.STUDENT).build()).getId();
+            laterIds.add(submissionService.submitAssignment(later.getId(), studentId, "Later " + i).getId());
+            soonerIds.add(submissionService.submitAssignment(sooner.getId(), studentId, "Sooner " + i).getId());
+            submissionService.submitAssignment(otherAssignment.getId(), studentId, "Elsewhere " + i);
+        }
+        submissionService.gradeSubmission(laterIds.get(9), 5, null);
+
+        // The earliest due date comes first
+        List<GradingTaskDTO> first = gradingQueueService.claim(teacher.getId(), teacher.getId(), 3);
+        assertThat(first).extracting(GradingTaskDTO::getSubmissionId).containsExactlyElementsOf(soonerIds.subList(0, 3));
+        assertThat(first).allSatisfy(task -> {
+            assertThat(task.getCourseId()).isEqualTo(course.getId());
+            assertThat(task.getLeaseExpiresAt()).isNotNull();
+        });
+
+        // Concurrent graders share out the remaining 16 submissions without overlap
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<GradingTaskDTO>>> claims = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                Long graderId = i % 2 == 0 ? teacher.getId() : assistant.getId();
+                claims.add(executor.submit(() -> gradingQueueService.claim(teacher.getId(), graderId, 3)));
+            }
+            List<Long> claimed = new ArrayList<>();
+            for (Future<List<GradingTaskDTO>> claim : claims) {
+                claim.get().forEach(task -> claimed.add(task.getSubmissionId()));
+            }
+            assertThat(claimed).hasSize(16).doesNotHaveDuplicates().doesNotContainAnyElementsOf(
+                    first.stream().map(GradingTaskDTO::getSubmissionId).toList());
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(gradingQueueService.claim(teacher.getId(), assistant.getId(), 10)).isEmpty();
+
+        // Graded, released and expired submissions leave or rejoin the queue
+        submissionService.gradeSubmission(soonerIds.get(0), 8, "Good");
+        assertThat(gradingQueueService.release(assistant.getId(), List.of(soonerIds.get(1)))).isZero();
+        assertThat(gradingQueueService.release(teacher.getId(), List.of(soonerIds.get(1)))).isEqualTo(1);
+        Submission expired = submissionService.getSubmission(soonerIds.get(2));
+        expired.setLeaseExpiresAt(LocalDateTime.now().minusMinutes(1));
+        submissionRepository.save(expired);
+        assertThat(gradingQueueService.claim(teacher.getId(), assistant.getId(), 10))
+                .extracting(GradingTaskDTO::getSubmissionId)
+                .containsExactly(soonerIds.get(1), soonerIds.get(2));
+
+        Submission graded = submissionService.getSubmission(soonerIds.get(0));
+        assertThat(graded.getLeasedBy()).isNull();
+        assertThat(graded.getLeaseExpiresAt()).isNull();
+        assertThatThrownBy(() -> gradingQueueService.claim(teacher.getId(), teacher.getId(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> gradingQueueService.claim(teacher.getId(), userRepository
+                .findByEmail("queue-0@test.com").orElseThrow().getId(), 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testStreamingSubmissionExport() throws Exception {
+        Category category = categoryService.createCategory(Category.builder().name("Export").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("export-teacher@test.com").role(User.UserRole.TEACHER).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Large").build(), category.getId(), teacher.getId());
+        org.example.learning_platform.model.Module module = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Module").orderIndex(1).build());
+        Lesson lesson = contentService.createLesson(module.getId(), Lesson.builder().title("Lesson").orderIndex(1).build());
+        Assignment assignment = contentService.createAssignment(lesson.getId(),
+                Assignment.builder().title("Essay").maxScore(10).build());
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 1050; i++) {
+            User student = userService.createUser(User.builder().name(i == 0 ? "Doe, Jane" : "Student " + i)
+                    .email("export-" + i + "@test.com").role(User.UserRole.STUDENT).build());
+            ids.add(submissionService.submitAssignment(assignment.getId(), student.getId(),
+                    i == 0 ? "Line one\nsaid \"hi\"" : i == 2 ? "=1+1 is two" : "Answer " + i).getId());
+        }
+        submissionService.gradeSubmission(ids.get(1), 9, "Well done");
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        exportService.writeExport(assignment.getId(), SubmissionExportService.Format.NDJSON, true, false, ndjson);
+        assertThat(ndjson.toString(StandardCharsets.UTF_8)).endsWith("}\n");
+        List<String> lines = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(1050).allSatisfy(line -> assertThat(line).startsWith("{"));
+        SubmissionDTO first = objectMapper.readValue(lines.get(0), SubmissionDTO.class);
+        assertThat(first.getId()).isEqualTo(ids.get(0));
+        assertThat(first.getStudentName()).isEqualTo("Doe, Jane");
+        assertThat(first.getContent()).isEqualTo("Line one\nsaid \"hi\"");
+        SubmissionDTO graded = objectMapper.readValue(lines.get(1), SubmissionDTO.class);
+        assertThat(graded.getScore()).isEqualTo(9);
+        assertThat(graded.getStatus()).isEqualTo("GRADED");
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        exportService.writeExport(assignment.getId(), SubmissionExportService.Format.CSV, true, true, csv);
+        String text;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(csv.toByteArray()))) {
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(text).startsWith(
+                "submission_id,student_id,student_name,status,score,feedback,submitted_at,content_size,content\r\n");
+        assertThat(text).contains("\"Doe, Jane\"").contains("\"Line one\nsaid \"\"hi\"\"\"\r\n")
+                .contains(",GRADED,9,Well done,")
+                // Bodies are exported unchanged, without the spreadsheet formula guard
+                .contains(",=1+1 is two\r\n");
+        assertThat(text.split("\r\n")).hasSize(1051);
+
+        ByteArrayOutputStream withoutContent = new ByteArrayOutputStream();
+        exportService.writeExport(assignment.getId(), SubmissionExportService.Format.CSV, false, false, withoutContent);
+        assertThat(withoutContent.toString(StandardCharsets.UTF_8)).doesNotContain("Answer 5");
+
+        ResponseEntity<StreamingResponseBody> response =
+                assignmentController.exportSubmissions(assignment.getId(), "csv", true, true);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThatThrownBy(() -> assignmentController.exportSubmissions(assignment.getId(), "xml", true, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> assignmentController.exportSubmissions(-1L, "csv", true, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testServerSideQuizGrading() {
+        Category category = categoryService.createCategory(Category.builder().name("Quizzes").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("grading-teacher@test.com").role(User.UserRole.TEACHER).build());
+        User student = userService.createUser(
+                User.builder().name("Student").email("grading-student@test.com").role(User.UserRole.STUDENT).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Geography").build(), category.getId(), teacher.getId());
+        org.example.learning_platform.model.Module module = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Capitals").orderIndex(1).build());
+        Quiz quiz = quizService.createQuiz(module.getId(),
+                Quiz.builder().title("Capitals quiz").passingScore(50).build());
+
+        QuestionDTO single = quizController.addQuestion(quiz.getId(), QuestionCreateRequest.builder()
+                .text("Capital of France?").type("SINGLE_CHOICE").points(10).build()).getBody();
+        Long paris = quizController.addAnswerOption(single.getId(),
+                AnswerOptionCreateRequest.builder().text("Paris").isCorrect(true).build()).getBody().getId();
+        Long lyon = quizController.addAnswerOption(single.getId(),
+                AnswerOptionCreateRequest.builder().text("Lyon").isCorrect(false).build()).getBody().getId();
+        QuestionDTO multiple = quizController.addQuestion(quiz.getId(), QuestionCreateRequest.builder()
+                .text("Which are in Europe?").type("MULTIPLE_CHOICE").points(20).build()).getBody();
+        Long rome = quizController.addAnswerOption(multiple.getId(),
+                AnswerOptionCreateRequest.builder().text("Rome").isCorrect(true).build()).getBody().getId();
+        Long oslo = quizController.addAnswerOption(multiple.getId(),
+                AnswerOptionCreateRequest.builder().text("Oslo").isCorrect(true).build()).getBody().getId();
+        Long lima = quizController.addAnswerOption(multiple.getId(),
+                AnswerOptionCreateRequest.builder().text("Lima").isCorrect(false).build()).getBody().getId();
+        QuestionDTO trueFalse = quizController.addQuestion(quiz.getId(), QuestionCreateRequest.builder()
+                .text("Canberra is the capital of Australia").type("TRUE_FALSE").points(10).build()).getBody();
+        Long yes = quizController.addAnswerOption(trueFalse.getId(),
+                AnswerOptionCreateRequest.builder().text("True").isCorrect(true).build()).getBody().getId();
+        Long no = quizController.addAnswerOption(trueFalse.getId(),
+                AnswerOptionCreateRequest.builder().text("False").isCorrect(false).build()).getBody().getId();
+
+        // A partly right multiple-choice answer earns nothing; the client's score is ignored
+        QuizSubmissionDTO half = quizController.takeQuiz(quiz.getId(), QuizTakeRequest.builder()
+                .studentId(student.getId())
+                .answers(Map.of(single.getId(), List.of(paris), multiple.getId(), List.of(rome), trueFalse.getId(), List.of(yes)))
+                .score(100)
+                .build()).getBody();
+        assertThat(half.getPointsEarned()).isEqualTo(20);
+        assertThat(half.getMaxPoints()).isEqualTo(40);
+        assertThat(half.getScore()).isEqualTo(50);
+        assertThat(half.getPassed()).isTrue();
+        // Two options for a single-choice question are wrong
+        QuizSubmission wrong = quizService.submitQuizAnswers(quiz.getId(), student.getId(),
+                Map.of(single.getId(), List.of(paris, lyon), trueFalse.getId(), List.of(no)));
+        assertThat(wrong.getScore()).isZero();
+        assertThat(wrong.getPassed()).isFalse();
+        QuizSubmission full = quizService.submitQuizAnswers(quiz.getId(), student.getId(),
+                Map.of(single.getId(), List.of(paris), multiple.getId(), List.of(oslo, rome), trueFalse.getId(), List.of(yes)));
+        assertThat(full.getScore()).isEqualTo(100);
+        assertThat(full.getAttemptNumber()).isEqualTo(3);
+
+        // A new correct option changes the cached key
+        quizService.addAnswerOption(multiple.getId(), AnswerOption.builder().text("Bern").isCorrect(true).build());
+        assertThat(quizService.submitQuizAnswers(quiz.getId(), student.getId(),
+                Map.of(multiple.getId(), List.of(oslo, rome))).getPointsEarned()).isZero();
+
+        // Options are listed without their correct flags
+        String questions = new String(quizController.getQuizQuestions(quiz.getId(), null).getBody(), StandardCharsets.UTF_8);
+        assertThat(questions).contains("\"Lima\"").doesNotContain("orrect");
+
+        assertThatThrownBy(() -> quizService.submitQuizAnswers(quiz.getId(), student.getId(),
+                Map.of(single.getId(), List.of(lima))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not belong");
+        assertThatThrownBy(() -> quizService.submitQuizAnswers(quiz.getId(), student.getId(),
+                Map.of(-1L, List.of(paris))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> quizController.takeQuiz(quiz.getId(),
+                QuizTakeRequest.builder().studentId(student.getId()).score(100).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> quizService.submitQuizAnswers(-1L, student.getId(), Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testQuizDeliverySnapshot() throws Exception {
+        Category category = categoryService.createCategory(Category.builder().name("Delivery").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("delivery-teacher@test.com").role(User.UserRole.TEACHER).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Chemistry").build(), category.getId(), teacher.getId());
+        org.example.learning_platform.model.Module module = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Elements").orderIndex(1).build());
+        Quiz quiz = quizService.createQuiz(module.getId(),
+                Quiz.builder().title("Elements quiz").timeLimit(15).passingScore(60).build());
+
+        QuestionDTO symbol = quizController.addQuestion(quiz.getId(), QuestionCreateRequest.builder()
+                .text("Symbol of gold?").type("SINGLE_CHOICE").points(5).build()).getBody();
+        quizController.addAnswerOption(symbol.getId(),
+                AnswerOptionCreateRequest.builder().text("Au").isCorrect(true).build());
+        quizController.addAnswerOption(symbol.getId(),
+                AnswerOptionCreateRequest.builder().text("Ag").isCorrect(false).build());
+        QuestionDTO noble = quizController.addQuestion(quiz.getId(), QuestionCreateRequest.builder()
+                .text("Which are noble gases?").type("MULTIPLE_CHOICE").points(10).build()).getBody();
+
+        ResponseEntity<byte[]> first = quizController.getQuizDelivery(quiz.getId(), null);
+        QuizDeliveryDTO delivery = objectMapper.readValue(first.getBody(), QuizDeliveryDTO.class);
+        assertThat(delivery.getTitle()).isEqualTo("Elements quiz");
+        assertThat(delivery.getTimeLimit()).isEqualTo(15);
+        assertThat(delivery.getQuestions()).extracting(QuestionDTO::getId).containsExactly(symbol.getId(), noble.getId());
+        assertThat(delivery.getQuestions().get(0).getOptions()).extracting(AnswerOptionDTO::getText).containsExactly("Au", "Ag");
+        assertThat(delivery.getQuestions().get(1).getOptions()).isEmpty();
+        assertThat(new String(first.getBody(), StandardCharsets.UTF_8)).doesNotContain("orrect");
+
+        // The snapshot is served until the quiz changes
+        String etag = first.getHeaders().getETag();
+        assertThat(quizController.getQuizDelivery(quiz.getId(), etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        quizController.addAnswerOption(noble.getId(),
+                AnswerOptionCreateRequest.builder().text("Neon").isCorrect(true).build());
+        ResponseEntity<byte[]> changed = quizController.getQuizDelivery(quiz.getId(), etag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(objectMapper.readValue(changed.getBody(), QuizDeliveryDTO.class).getQuestions().get(1).getOptions())
+                .extracting(AnswerOptionDTO::getText).containsExactly("Neon");
+
+        assertThatThrownBy(() -> quizController.getQuizDelivery(-1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testQuizAttemptCounter() throws Exception {
+        Category category = categoryService.createCategory(Category.builder().name("Attempts").build());
+        User teacher = userService.createUser(
+                User.builder().name("Teacher").email("attempts-teacher@test.com").role(User.UserRole.TEACHER).build());
+        User student = userService.createUser(
+                User.builder().name("Student").email("attempts-student@test.com").role(User.UserRole.STUDENT).build());
+        Course course = courseService.createCourse(
+                Course.builder().title("Retries").build(), category.getId(), teacher.getId());
+        org.example.learning_platform.model.Module first = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Open").orderIndex(1).build());
+        org.example.learning_platform.model.Module second = contentService.createModule(course.getId(),
+                org.example.learning_platform.model.Module.builder().title("Limited").orderIndex(2).build());
+        Quiz open = quizService.createQuiz(first.getId(), Quiz.builder().title("Open quiz").passingScore(50).build());
+        QuizDTO limited = quizController.createQuiz(second.getId(), QuizCreateRequest.builder()
+                .title("Limited quiz").passingScore(50).maxAttempts(3).build()).getBody();
+        assertThat(limited.getMaxAttempts()).isEqualTo(3);
+
+        // Attempts saved before the counter existed are continued, not restarted
+        quizSubmissionRepository.save(QuizSubmission.builder().quiz(open)
+                .student(userRepository.getReferenceById(student.getId()))
+                .score(10).passed(false).takenAt(LocalDateTime.now()).attemptNumber(2).build());
+        assertThat(quizService.submitQuiz(open.getId(), student.getId(), 20).getAttemptNumber()).isEqualTo(3);
+
+        // Concurrent takes by one student get consecutive numbers
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Integer> numbers = new ArrayList<>();
+        try {
+            List<Future<QuizSubmission>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> quizService.submitQuiz(open.getId(), student.getId(), 60)));
+            }
+            for (Future<QuizSubmission> future : futures) {
+                numbers.add(future.get().getAttemptNumber());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(numbers).containsExactlyInAnyOrder(4, 5, 6, 7, 8, 9, 10, 11);
+
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            assertThat(quizService.submitQuiz(limited.getId(), student.getId(), 40).getAttemptNumber()).isEqualTo(attempt);
+        }
+        assertThatThrownBy(() -> quizService.submitQuiz(limited.getId(), student.getId(), 90))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Maximum number of attempts");
+        assertThat(quizService.getQuizSubmissions(limited.getId())).hasSize(3);
+        // A rejected attempt leaves the counter as it was
+        assertThat(attemptCounterRepository.findAttempts(limited.getId(), student.getId())).contains(3);
+
+        contentService.deleteModule(second.getId());
+        assertThat(attemptCounterRepository.findAttempts(limited.getId(), student.getId())).isEmpty();
+        assertThat(attemptCounterRepository.findAttempts(open.getId(), student.getId())).contains(11);
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.learning_platform.service;
+
+import org.example.learning_platform.config.LearningPlatformProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecoveryCutsSegmentAtCorruptRecord() throws Exception {
+        ContentStore store = open();
+        ContentStore.StoredContent first = store.put("First answer");
+        long firstEnd = Files.size(segment());
+        ContentStore.StoredContent second = store.put("Second answer, torn by a crash");
+        store.close();
+
+        // Garbage in the data of the last record, with its header intact
+        try (RandomAccessFile file = new RandomAccessFile(segment().toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            int last = file.read();
+            file.seek(file.length() - 1);
+            file.write(last ^ 0xFF);
+        }
+
+        ContentStore recovered = open();
+        assertThat(recovered.get(first.hash())).isEqualTo("First answer");
+        assertThat(Files.size(segment())).isEqualTo(firstEnd);
+        assertThatThrownBy(() -> recovered.get(second.hash())).isInstanceOf(IllegalStateException.class);
+        // The body is written again instead of pointing at the corrupt record
+        recovered.put("Second answer, torn by a crash");
+        assertThat(recovered.get(second.hash())).isEqualTo("Second answer, torn by a crash");
+        recovered.close();
+    }
+
+    @Test
+    void testDirectoryIsLockedWhileOpen() throws Exception {
+        ContentStore store = open();
+        assertThatThrownBy(this::open)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already open");
+        store.close();
+        open().close();
+    }
+
+    private ContentStore open() throws Exception {
+        LearningPlatformProperties properties = new LearningPlatformProperties();
+        properties.getContent().setDirectory(directory);
+        ContentStore store = new ContentStore(properties);
+        store.open();
+        return store;
+    }
+
+    private Path segment() {
+        return directory.resolve("segment-000001.dat");
+    }
+}
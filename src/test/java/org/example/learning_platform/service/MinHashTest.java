@@ -0,0 +1,53 @@
+package org.example.learning_platform.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHashTest {
+
+    // LSH clustering must find exactly the pairs that comparing every pair of
+    // signatures finds, on 10,000 synthetic submissions of which every 50th
+    // is a near copy
+    @Test
+    void testClusteringMatchesBruteForce() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 50 == 1) {
+                String[] words = texts.get(i - 1).split(" ");
+                words[random.nextInt(words.length)] = "copied";
+                texts.add(String.join(" ", words));
+                continue;
+            }
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < 80; w++) {
+                text.append("word").append(random.nextInt(5000)).append(' ');
+            }
+            texts.add(text.toString());
+        }
+        List<int[]> signatures = texts.stream().map(MinHash::signature).toList();
+
+        List<MinHash.Cluster> clusters = MinHash.cluster(signatures, 0.8);
+
+        Set<Set<Integer>> expected = new HashSet<>();
+        for (int i = 0; i < signatures.size(); i++) {
+            for (int j = i + 1; j < signatures.size(); j++) {
+                if (MinHash.similarity(signatures.get(i), signatures.get(j)) >= 0.8) {
+                    expected.add(Set.of(i, j));
+                }
+            }
+        }
+
+        assertThat(expected).hasSize(200);
+        assertThat(clusters.stream().map(cluster -> Set.copyOf(cluster.members())).collect(Collectors.toSet()))
+                .isEqualTo(expected);
+    }
+}